@@ -0,0 +1,117 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the exact sigmoid against the table sigmoid: the time of a single evaluation of each one, and the time per
+ * set of a training epoch with each one.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActivationBenchmark
+{
+   static final int SAMPLES = 1 << 16;
+   static final int[] NODES = {64, 128, 16};
+   static final int SETS = 20_000;
+   static final double LAMBDA = 0.3;
+
+   @Param({"exact", "table"})
+   public String activation;
+
+   private Activation f;
+   private double[] inputs;
+   private LayerState state;
+   private Weights W;
+   private double[][] trainInput;
+   private double[][] trainOutput;
+
+   /**
+    * Builds the activation, the inputs to evaluate and the training sets.
+    */
+   @Setup
+   public void setup()
+   {
+      f = Activation.forName(activation);
+
+      inputs = new double[SAMPLES];
+      for (int i = 0; i < inputs.length; i++)
+      {
+         inputs[i] = RandomGenerator.random(-8.0, 8.0);
+      }
+
+      trainInput = new double[SETS][NODES[0]];
+      trainOutput = new double[SETS][NODES[NODES.length - 1]];
+      for (int t = 0; t < SETS; t++)
+      {
+         for (int k = 0; k < trainInput[t].length; k++)
+         {
+            trainInput[t][k] = RandomGenerator.random(0.0, 1.0);
+         }
+         for (int i = 0; i < trainOutput[t].length; i++)
+         {
+            trainOutput[t][i] = RandomGenerator.random(0.0, 1.0) < 0.5 ? 0.0 : 1.0;
+         }
+      }
+
+      state = new LayerState(f, NODES);
+      W = WeightsHandler.randomizeWeights(NODES, -0.1, 0.1);
+   }  // public void setup()
+
+   /**
+    * Evaluates the activation on every input, so the score is the time of one evaluation.
+    *
+    * @return returns the sum of the activations.
+    */
+   @Benchmark
+   @OperationsPerInvocation(SAMPLES)
+   public double evaluate()
+   {
+      double sum = 0.0;
+      for (double x : inputs)
+      {
+         sum += f.f(x);
+      }
+
+      return sum;
+   }
+
+   /**
+    * Trains one epoch, updating the weights after every set, so the score is the time of one set.
+    *
+    * @return returns the total error of the epoch.
+    */
+   @Benchmark
+   @OperationsPerInvocation(SETS)
+   public double trainEpoch()
+   {
+      state.totalError = 0.0;
+      for (int t = 0; t < SETS; t++)
+      {
+         state.forward(W, trainInput[t]);
+         state.backward(W, trainOutput[t]);
+         state.update(W, LAMBDA);
+      }
+
+      return state.totalError;
+   }  // public double trainEpoch()
+}     // public class ActivationBenchmark
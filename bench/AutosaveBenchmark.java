@@ -0,0 +1,88 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long training pauses for an autosave of a large model, comparing a synchronous atomic write of the
+ * weights against handing a snapshot to Autosaver, for the text and binary formats.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AutosaveBenchmark
+{
+   static final int[] NODES = {1024, 4096, 256};
+
+   @Param({"bin", "txt"})
+   public String format;
+
+   private Perceptron perceptron;
+   private File file;
+   private Autosaver autosaver;
+
+   /**
+    * Builds the weights and the Autosaver.
+    */
+   @Setup
+   public void setup()
+   {
+      perceptron = new Perceptron(NODES);
+      perceptron.W = WeightsHandler.randomizeWeights(NODES, -0.1, 0.1);
+      file = new File(System.getProperty("java.io.tmpdir"), "autosaveBenchmark." + format);
+      autosaver = new Autosaver(NODES, file.getPath(), null);
+   }
+
+   /**
+    * Waits for the last autosave to finish and deletes the file.
+    */
+   @TearDown
+   public void tearDown()
+   {
+      autosaver.close();
+      file.delete();
+   }
+
+   /**
+    * Writes the weights on the training thread.
+    *
+    * @return returns the length of the written file.
+    */
+   @Benchmark
+   public long syncPause()
+   {
+      WeightsHandler.writeWeightsAtomically(perceptron.W, file.getPath());
+      return file.length();
+   }
+
+   /**
+    * Hands a snapshot of the weights to the Autosaver, which writes it on its own thread.
+    *
+    * @return returns the Autosaver.
+    */
+   @Benchmark
+   public Autosaver asyncPause()
+   {
+      autosaver.save(perceptron);
+      return autosaver;
+   }
+}  // public class AutosaveBenchmark
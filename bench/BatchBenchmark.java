@@ -0,0 +1,93 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mini-batch training throughput, in sets per second, on a synthetic 100k-set training set for several thread
+ * counts.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class BatchBenchmark
+{
+   static final int[] NODES = {64, 128, 16};
+   static final int SETS = 100_000;
+   static final int BATCH_SIZE = 256;
+   static final double LAMBDA = 0.1;
+
+   @Param({"1", "4", "16", "32"})
+   public int threads;
+
+   private PatternSource source;
+   private Weights W;
+   private BatchTrainer trainer;
+
+   /**
+    * Generates the training sets, the starting weights and the trainer.
+    */
+   @Setup
+   public void setup()
+   {
+      double[][] trainInput = new double[SETS][NODES[0]];
+      double[][] trainOutput = new double[SETS][NODES[NODES.length - 1]];
+
+      for (int t = 0; t < SETS; t++)
+      {
+         for (int k = 0; k < trainInput[t].length; k++)
+         {
+            trainInput[t][k] = RandomGenerator.random(0.0, 1.0);
+         }
+         for (int i = 0; i < trainOutput[t].length; i++)
+         {
+            trainOutput[t][i] = RandomGenerator.random(0.0, 1.0) < 0.5 ? 0.0 : 1.0;
+         }
+      }
+
+      source = new MemorySource(NODES[0], NODES[NODES.length - 1], trainInput, trainOutput);
+      W = WeightsHandler.randomizeWeights(NODES, -0.1, 0.1);
+      trainer = new BatchTrainer(NODES, BATCH_SIZE, threads);
+   }  // public void setup()
+
+   /**
+    * Stops the threads of the trainer.
+    */
+   @TearDown
+   public void tearDown()
+   {
+      trainer.shutdown();
+   }
+
+   /**
+    * Trains one epoch over every set, so the score counts sets per second.
+    *
+    * @return returns the trained weights.
+    */
+   @Benchmark
+   @OperationsPerInvocation(SETS)
+   public Weights trainEpoch()
+   {
+      trainer.trainEpoch(W, LAMBDA, source);
+      return W;
+   }
+}  // public class BatchBenchmark
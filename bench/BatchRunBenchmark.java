@@ -0,0 +1,103 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scoring sets one at a time through Perceptron.run against the tiled BatchRunner at several block sizes,
+ * reporting the time per set. The setup checks that both paths give identical outputs before anything is timed.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchRunBenchmark
+{
+   static final int[] NODES = {256, 1024, 64};
+   static final int SETS = 4096;
+
+   @Param({"1", "64", "4096"})
+   public int blockSize;
+
+   private Perceptron perceptron;
+   private BatchRunner runner;
+   private double[][] inputSets;
+
+   /**
+    * Builds the network, the runner and the sets, and checks that both paths agree.
+    */
+   @Setup
+   public void setup()
+   {
+      perceptron = new Perceptron(NODES);
+      perceptron.W = WeightsHandler.randomizeWeights(NODES, -0.1, 0.1);
+      runner = new BatchRunner(NODES, blockSize);
+
+      inputSets = new double[SETS][NODES[0]];
+      for (double[] inputSet : inputSets)
+      {
+         for (int k = 0; k < inputSet.length; k++)
+         {
+            inputSet[k] = RandomGenerator.random(0.0, 1.0);
+         }
+      }
+
+      double[][] expected = new double[SETS][];
+      for (int t = 0; t < SETS; t++)
+      {
+         expected[t] = perceptron.run(inputSets[t]).clone();
+      }
+      if (!Arrays.deepEquals(expected, runner.run(perceptron.W, inputSets)))
+      {
+         throw new IllegalStateException("batched outputs differ from Perceptron.run");
+      }
+   }  // public void setup()
+
+   /**
+    * Scores every set one at a time through Perceptron.run.
+    *
+    * @return returns the output activations of the last set.
+    */
+   @Benchmark
+   @OperationsPerInvocation(SETS)
+   public double[] perSet()
+   {
+      double[] F = null;
+      for (double[] inputSet : inputSets)
+      {
+         F = perceptron.run(inputSet);
+      }
+
+      return F;
+   }
+
+   /**
+    * Scores every set through the BatchRunner.
+    *
+    * @return returns the output activations of every set.
+    */
+   @Benchmark
+   @OperationsPerInvocation(SETS)
+   public double[][] batched()
+   {
+      return runner.run(perceptron.W, inputSets);
+   }
+}  // public class BatchRunBenchmark
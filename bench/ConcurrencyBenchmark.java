@@ -0,0 +1,104 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of scoring sets against a single shared Network from several threads at once, both through
+ * a LayerState owned by each thread and through Network.predict. JMH runs the benchmarks on four threads; pass -t to
+ * try other thread counts.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ConcurrencyBenchmark
+{
+   static final int[] NODES = {64, 256, 16};
+   static final int SETS = 2048;
+
+   private Network network;
+   private double[][] inputSets;
+
+   /**
+    * Holds the buffers and the position of one thread.
+    */
+   @State(Scope.Thread)
+   public static class ThreadState
+   {
+      LayerState state;
+      int t;
+
+      /**
+       * Allocates the buffers of the thread.
+       *
+       * @param shared the benchmark whose network is scored.
+       */
+      @Setup
+      public void setup(ConcurrencyBenchmark shared)
+      {
+         state = shared.network.newState();
+      }
+   }  // public static class ThreadState
+
+   /**
+    * Builds the shared network and the sets.
+    */
+   @Setup
+   public void setup()
+   {
+      network = new Network(WeightsHandler.randomizeWeights(NODES, -0.5, 0.5));
+
+      inputSets = new double[SETS][NODES[0]];
+      for (double[] inputSet : inputSets)
+      {
+         for (int k = 0; k < inputSet.length; k++)
+         {
+            inputSet[k] = RandomGenerator.random(0.0, 1.0);
+         }
+      }
+   }  // public void setup()
+
+   /**
+    * Scores the next set through the thread's own LayerState.
+    *
+    * @param thread the state of the calling thread.
+    * @return returns the output activations.
+    */
+   @Benchmark
+   public double[] runWithState(ThreadState thread)
+   {
+      thread.t = (thread.t + 1) % SETS;
+      return network.run(thread.state, inputSets[thread.t]);
+   }
+
+   /**
+    * Scores the next set through Network.predict, which allocates its own buffers.
+    *
+    * @param thread the state of the calling thread.
+    * @return returns the output activations.
+    */
+   @Benchmark
+   public double[] predict(ThreadState thread)
+   {
+      thread.t = (thread.t + 1) % SETS;
+      return network.predict(inputSets[thread.t]);
+   }
+}  // public class ConcurrencyBenchmark
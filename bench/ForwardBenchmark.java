@@ -0,0 +1,111 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the forward pass of the perceptron as the number of output nodes grows, comparing the layer-at-a-time
+ * evaluation in Perceptron.run against the previous nested evaluation, which recomputed the hidden layer for every
+ * output node.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForwardBenchmark
+{
+   static final int INPUT_NODES = 64;
+   static final int HIDDEN_NODES = 256;
+
+   @Param({"1", "4", "16", "64", "256"})
+   public int outputNodes;
+
+   private Perceptron p;
+   private double[] input;
+   private double[] theta1;
+   private double[] theta2;
+   private double[] h;
+   private double[] F;
+
+   /**
+    * Builds a network with random weights and a random input set.
+    */
+   @Setup
+   public void setup()
+   {
+      p = new Perceptron(INPUT_NODES, HIDDEN_NODES, outputNodes);
+      p.W = WeightsHandler.randomizeWeights(p.nodes, -1.0, 1.0);
+
+      theta1 = new double[HIDDEN_NODES];
+      theta2 = new double[outputNodes];
+      h = new double[HIDDEN_NODES];
+      F = new double[outputNodes];
+
+      input = new double[INPUT_NODES];
+      for (int k = 0; k < INPUT_NODES; k++)
+      {
+         input[k] = RandomGenerator.random(0.0, 1.0);
+      }
+   }  // public void setup()
+
+   /**
+    * Evaluates the network by nesting the hidden layer inside the output loop, as Perceptron.run used to.
+    *
+    * @return returns the output activations.
+    */
+   @Benchmark
+   public double[] nested()
+   {
+      double[] W0 = p.W.values[0];
+      double[] W1 = p.W.values[1];
+
+      for (int i = 0; i < p.outputNodes; i++)
+      {
+         theta2[i] = 0.0;
+
+         for (int j = 0; j < HIDDEN_NODES; j++)
+         {
+            theta1[j] = 0.0;
+
+            for (int k = 0; k < p.inputNodes; k++)
+            {
+               theta1[j] += W0[j * p.inputNodes + k] * input[k];
+            }
+
+            h[j] = 1.0 / (1.0 + Math.exp(-theta1[j]));
+            theta2[i] += W1[i * HIDDEN_NODES + j] * h[j];
+         }
+
+         F[i] = 1.0 / (1.0 + Math.exp(-theta2[i]));
+      }  // for (int i = 0; i < p.outputNodes; i++)
+
+      return F;
+   }     // public double[] nested()
+
+   /**
+    * Evaluates the network a layer at a time through Perceptron.run.
+    *
+    * @return returns the output activations.
+    */
+   @Benchmark
+   public double[] layered()
+   {
+      return p.run(input);
+   }
+}  // public class ForwardBenchmark
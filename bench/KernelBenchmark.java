@@ -0,0 +1,132 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the forward pass and one training step on hidden layers of 256 to 4096 nodes with the scalar kernels and with
+ * the vector kernels. The kernels are chosen once per process, so the vector benchmarks run in a forked JVM started
+ * with the jdk.incubator.vector module and -Dkernels=vector; running them without forking times the scalar kernels.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KernelBenchmark
+{
+   static final double LAMBDA = 0.1;
+
+   @Param({"256-256-16", "256-1024-16", "256-4096-16", "1024-4096-256"})
+   public String topology;
+
+   private Perceptron perceptron;
+   private double[] input;
+   private double[] output;
+
+   /**
+    * Builds a network with random weights and a random set.
+    */
+   @Setup
+   public void setup()
+   {
+      int[] nodes = SuiteBenchmark.parseTopology(topology);
+      perceptron = new Perceptron(nodes);
+      perceptron.W = WeightsHandler.randomizeWeights(nodes, -0.1, 0.1);
+
+      input = new double[nodes[0]];
+      output = new double[nodes[2]];
+      for (int k = 0; k < input.length; k++)
+      {
+         input[k] = RandomGenerator.random(-1.0, 1.0);
+      }
+      for (int i = 0; i < output.length; i++)
+      {
+         output[i] = RandomGenerator.random(0.0, 1.0) < 0.5 ? 0.0 : 1.0;
+      }
+   }  // public void setup()
+
+   /**
+    * Runs the set through the network.
+    *
+    * @return returns the output activations.
+    */
+   private double[] forward()
+   {
+      return perceptron.run(input);
+   }
+
+   /**
+    * Runs the set through the network and updates the weights from it.
+    *
+    * @return returns the total error of the step.
+    */
+   private double trainStep()
+   {
+      perceptron.runDetailed(input, output);
+      perceptron.state.update(perceptron.W, LAMBDA);
+      return perceptron.state.totalError;
+   }
+
+   /**
+    * Times the forward pass with the scalar kernels.
+    *
+    * @return returns the output activations.
+    */
+   @Benchmark
+   @Fork(1)
+   public double[] forwardScalar()
+   {
+      return forward();
+   }
+
+   /**
+    * Times the forward pass with the vector kernels.
+    *
+    * @return returns the output activations.
+    */
+   @Benchmark
+   @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Dkernels=vector"})
+   public double[] forwardVector()
+   {
+      return forward();
+   }
+
+   /**
+    * Times a training step with the scalar kernels.
+    *
+    * @return returns the total error of the step.
+    */
+   @Benchmark
+   @Fork(1)
+   public double trainStepScalar()
+   {
+      return trainStep();
+   }
+
+   /**
+    * Times a training step with the vector kernels.
+    *
+    * @return returns the total error of the step.
+    */
+   @Benchmark
+   @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Dkernels=vector"})
+   public double trainStepVector()
+   {
+      return trainStep();
+   }
+}  // public class KernelBenchmark
@@ -0,0 +1,218 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times a training step on wide hidden layers, comparing the flat weights in Weights against the jagged double[][][]
+ * layout the perceptron used to keep. The jagged layout also costs an array header for every row, about 16 bytes per
+ * input and hidden node on top of the weights themselves.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LayoutBenchmark
+{
+   static final int INPUT_NODES = 256;
+   static final int OUTPUT_NODES = 16;
+   static final double LAMBDA = 0.01;
+
+   @Param({"1024", "2048", "4096"})
+   public int hiddenNodes;
+
+   private Weights flat;
+   private double[][][] jagged;
+   private double[] input;
+
+   private double[] theta1;
+   private double[] theta2;
+   private double[] h;
+   private double[] F;
+   private double[] psi;
+   private double[] Psi;
+
+   /**
+    * Builds the flat weights, a jagged copy of them and a random input set.
+    */
+   @Setup
+   public void setup()
+   {
+      flat = WeightsHandler.randomizeWeights(new int[]{INPUT_NODES, hiddenNodes, OUTPUT_NODES}, -0.1, 0.1);
+      jagged = new double[][][]{new double[INPUT_NODES][hiddenNodes], new double[hiddenNodes][OUTPUT_NODES]};
+
+      for (int n = 0; n < jagged.length; n++)
+      {
+         for (int a = 0; a < jagged[n].length; a++)
+         {
+            for (int b = 0; b < jagged[n][a].length; b++)
+            {
+               jagged[n][a][b] = flat.get(n, a, b);
+            }
+         }
+      }
+
+      input = new double[INPUT_NODES];
+      for (int k = 0; k < INPUT_NODES; k++)
+      {
+         input[k] = RandomGenerator.random(0.0, 1.0);
+      }
+
+      theta1 = new double[hiddenNodes];
+      theta2 = new double[OUTPUT_NODES];
+      h = new double[hiddenNodes];
+      F = new double[OUTPUT_NODES];
+      psi = new double[OUTPUT_NODES];
+      Psi = new double[hiddenNodes];
+   }  // public void setup()
+
+   /**
+    * Times one training step over the jagged weights.
+    *
+    * @return returns the output activations.
+    */
+   @Benchmark
+   public double[] jaggedTrainStep()
+   {
+      jaggedStep(jagged, input);
+      return F;
+   }
+
+   /**
+    * Times one training step over the flat weights.
+    *
+    * @return returns the output activations.
+    */
+   @Benchmark
+   public double[] flatTrainStep()
+   {
+      flatStep(flat, input);
+      return F;
+   }
+
+   /**
+    * Runs one training step over jagged weights indexed as W[n][from][to], as Perceptron.train used to.
+    *
+    * @param W     the jagged weights.
+    * @param input the input activations.
+    */
+   private void jaggedStep(double[][][] W, double[] input)
+   {
+      for (int j = 0; j < hiddenNodes; j++)
+      {
+         theta1[j] = 0.0;
+
+         for (int k = 0; k < INPUT_NODES; k++)
+         {
+            theta1[j] += W[0][k][j] * input[k];
+         }
+
+         h[j] = 1.0 / (1.0 + Math.exp(-theta1[j]));
+      }  // for (int j = 0; j < hiddenNodes; j++)
+
+      for (int i = 0; i < OUTPUT_NODES; i++)
+      {
+         theta2[i] = 0.0;
+
+         for (int j = 0; j < hiddenNodes; j++)
+         {
+            theta2[i] += W[1][j][i] * h[j];
+         }
+
+         F[i] = 1.0 / (1.0 + Math.exp(-theta2[i]));
+         psi[i] = (0.5 - F[i]) * F[i] * (1.0 - F[i]);
+      }  // for (int i = 0; i < OUTPUT_NODES; i++)
+
+      for (int j = 0; j < hiddenNodes; j++)
+      {
+         Psi[j] = 0.0;
+
+         for (int i = 0; i < OUTPUT_NODES; i++)
+         {
+            Psi[j] += psi[i] * W[1][j][i];
+            W[1][j][i] += LAMBDA * h[j] * psi[i];
+         }
+
+         Psi[j] *= h[j] * (1.0 - h[j]);
+         for (int k = 0; k < INPUT_NODES; k++)
+         {
+            W[0][k][j] += LAMBDA * input[k] * Psi[j];
+         }
+      }  // for (int j = 0; j < hiddenNodes; j++)
+   }     // private void jaggedStep(double[][][] W, double[] input)
+
+   /**
+    * Runs one training step over the flat weights, using the same loop structure as Perceptron.train.
+    *
+    * @param W     the flat weights.
+    * @param input the input activations.
+    */
+   private void flatStep(Weights W, double[] input)
+   {
+      double[] W0 = W.values[0];
+      double[] W1 = W.values[1];
+
+      for (int j = 0; j < hiddenNodes; j++)
+      {
+         int row = j * INPUT_NODES;
+         theta1[j] = 0.0;
+
+         for (int k = 0; k < INPUT_NODES; k++)
+         {
+            theta1[j] += W0[row + k] * input[k];
+         }
+
+         h[j] = 1.0 / (1.0 + Math.exp(-theta1[j]));
+      }  // for (int j = 0; j < hiddenNodes; j++)
+
+      for (int i = 0; i < OUTPUT_NODES; i++)
+      {
+         int row = i * hiddenNodes;
+         theta2[i] = 0.0;
+
+         for (int j = 0; j < hiddenNodes; j++)
+         {
+            theta2[i] += W1[row + j] * h[j];
+         }
+
+         F[i] = 1.0 / (1.0 + Math.exp(-theta2[i]));
+         psi[i] = (0.5 - F[i]) * F[i] * (1.0 - F[i]);
+      }  // for (int i = 0; i < OUTPUT_NODES; i++)
+
+      for (int j = 0; j < hiddenNodes; j++)
+      {
+         Psi[j] = 0.0;
+
+         for (int i = 0; i < OUTPUT_NODES; i++)
+         {
+            int w = i * hiddenNodes + j;
+            Psi[j] += psi[i] * W1[w];
+            W1[w] += LAMBDA * h[j] * psi[i];
+         }
+
+         Psi[j] *= h[j] * (1.0 - h[j]);
+
+         int row = j * INPUT_NODES;
+         for (int k = 0; k < INPUT_NODES; k++)
+         {
+            W0[row + k] += LAMBDA * input[k] * Psi[j];
+         }
+      }  // for (int j = 0; j < hiddenNodes; j++)
+   }     // private void flatStep(Weights W, double[] input)
+}  // public class LayoutBenchmark
@@ -0,0 +1,162 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the wall-clock time each optimizer takes to bring the total error below a threshold, on the bundled
+ * training sets and on a larger synthetic set whose targets come from a random teacher network. Every optimizer starts
+ * from the same weights on each set, and every measurement trains from those weights again. The iterations taken and
+ * whether the threshold was met are reported as secondary results.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class OptimizerBenchmark
+{
+   static final String[] OPTIMIZERS = {"sgd", "momentum", "rmsprop", "adam"};
+   static final double[] LAMBDAS = {0.3, 0.1, 0.01, 0.01};
+   static final int MAX_ITERATIONS = 100_000;
+   static final long MAX_NANOS = 10_000_000_000L;
+   static final long SEED = 1;
+
+   static final String[] SET_NAMES = {"xor", "and", "or", "bool", "binary"};
+   static final int[][] SET_NODES = {{2, 5, 1}, {2, 5, 1}, {2, 5, 1}, {2, 5, 3}, {4, 10, 1}};
+   static final double SET_THRESHOLD = 0.001;
+
+   static final int[] SYNTHETIC_NODES = {16, 32, 4};
+   static final int SYNTHETIC_SETS = 2000;
+   static final double SYNTHETIC_THRESHOLD = 1.0;
+
+   @Param({"xor", "and", "or", "bool", "binary", "synthetic"})
+   public String sets;
+
+   @Param({"sgd", "momentum", "rmsprop", "adam"})
+   public String optimizer;
+
+   private int[] nodes;
+   private double lambda;
+   private double threshold;
+   private Weights initial;
+   private double[][] trainInput;
+   private double[][] trainOutput;
+
+   private Optimizer o;
+   private LayerState state;
+   private Weights W;
+
+   /**
+    * Counts the iterations of one training run and whether it met the threshold.
+    */
+   @State(Scope.Thread)
+   @AuxCounters(AuxCounters.Type.EVENTS)
+   public static class Counters
+   {
+      public long iterations;
+      public long met;
+   }
+
+   /**
+    * Reads or generates the training sets and the starting weights.
+    */
+   @Setup
+   public void setup()
+   {
+      RandomGenerator random = new RandomGenerator(SEED);
+      lambda = LAMBDAS[Arrays.asList(OPTIMIZERS).indexOf(optimizer)];
+
+      if (sets.equals("synthetic"))
+      {
+         nodes = SYNTHETIC_NODES;
+         threshold = SYNTHETIC_THRESHOLD;
+
+         Weights teacher = WeightsHandler.randomizeWeights(nodes, -2.0, 2.0, random);
+         LayerState teacherState = new LayerState(nodes);
+         trainInput = new double[SYNTHETIC_SETS][nodes[0]];
+         trainOutput = new double[SYNTHETIC_SETS][];
+         for (int t = 0; t < SYNTHETIC_SETS; t++)
+         {
+            for (int k = 0; k < trainInput[t].length; k++)
+            {
+               trainInput[t][k] = random.nextDouble(-1.0, 1.0);
+            }
+            trainOutput[t] = teacherState.forward(teacher, trainInput[t]).clone();
+         }
+
+         initial = WeightsHandler.randomizeWeights(nodes, -0.5, 0.5, random);
+      }  // if (sets.equals("synthetic"))
+      else
+      {
+         nodes = SET_NODES[Arrays.asList(SET_NAMES).indexOf(sets)];
+         threshold = SET_THRESHOLD;
+
+         Object[] read = SetsHandler.readTrainingSets(nodes[0], nodes[2], "src/trainingSets/" + sets + ".txt");
+         trainInput = (double[][]) read[0];
+         trainOutput = (double[][]) read[1];
+         initial = WeightsHandler.randomizeWeights(nodes, -1.0, 1.5, random);
+      }
+   }  // public void setup()
+
+   /**
+    * Starts each training run from the same weights with a fresh optimizer.
+    */
+   @Setup(Level.Invocation)
+   public void reset()
+   {
+      o = Optimizer.forName(optimizer, nodes, 0.9, 0.9, 0.9, 0.999, 1e-8);
+      state = new LayerState(nodes);
+      W = initial.copy();
+   }
+
+   /**
+    * Trains until the error threshold, the iteration limit or the time limit is reached.
+    *
+    * @param counters the counters the iterations and the result are added to.
+    * @return returns the total error of the last iteration.
+    */
+   @Benchmark
+   public double timeToThreshold(Counters counters)
+   {
+      long start = System.nanoTime();
+      int iteration = 0;
+      boolean met = false;
+
+      while (!met && iteration < MAX_ITERATIONS && System.nanoTime() - start < MAX_NANOS)
+      {
+         state.totalError = 0.0;
+         for (int t = 0; t < trainInput.length; t++)
+         {
+            state.forward(W, trainInput[t]);
+            state.backward(W, trainOutput[t]);
+            o.update(state, W, lambda);
+         }
+
+         iteration++;
+         met = state.totalError < threshold;
+      }
+
+      counters.iterations += iteration;
+      if (met) counters.met++;
+      return state.totalError;
+   }  // public double timeToThreshold(Counters counters)
+}     // public class OptimizerBenchmark
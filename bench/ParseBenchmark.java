@@ -0,0 +1,169 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time to parse a generated training file of 200k sets with the Scanner-based reader the sets files used
+ * to go through, with SetsHandler.readTrainingSets and with a streaming TextSource. The setup checks that the Scanner
+ * and SetsHandler read identical sets before anything is timed.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParseBenchmark
+{
+   static final int SETS = 200_000;
+   static final int INPUT_NODES = 16;
+   static final int OUTPUT_NODES = 4;
+   static final int CHUNK_SIZE = 4096;
+
+   private File file;
+
+   /**
+    * Reads the training file the way SetsHandler used to, with Scanner.
+    *
+    * @param filePath the file path of the training file.
+    * @return returns the input sets followed by the output sets.
+    * @throws IOException if the file cannot be read.
+    */
+   static double[][][] scannerRead(String filePath) throws IOException
+   {
+      try (Scanner scanner = new Scanner(new FileReader(filePath)))
+      {
+         int numSets = scanner.nextInt();
+         double[][] inputSets = new double[numSets][INPUT_NODES];
+         double[][] outputSets = new double[numSets][OUTPUT_NODES];
+
+         for (int t = 0; t < numSets; t++)
+         {
+            for (int k = 0; k < INPUT_NODES; k++)
+            {
+               inputSets[t][k] = scanner.nextDouble();
+            }
+            for (int i = 0; i < OUTPUT_NODES; i++)
+            {
+               outputSets[t][i] = scanner.nextDouble();
+            }
+         }
+
+         return new double[][][]{inputSets, outputSets};
+      }  // try (Scanner scanner = new Scanner(new FileReader(filePath)))
+   }     // static double[][][] scannerRead(String filePath)
+
+   /**
+    * Writes the training file and checks that the Scanner and SetsHandler agree on it.
+    *
+    * @throws IOException if the file cannot be written or read.
+    */
+   @Setup
+   public void setup() throws IOException
+   {
+      file = new File(System.getProperty("java.io.tmpdir"), "parseBenchmark.txt");
+
+      try (BufferedWriter writer = new BufferedWriter(new FileWriter(file)))
+      {
+         writer.write(SETS + "\n");
+         for (int t = 0; t < SETS; t++)
+         {
+            StringBuilder line = new StringBuilder();
+            for (int k = 0; k < INPUT_NODES; k++)
+            {
+               line.append(RandomGenerator.random(-1.0, 1.0)).append(' ');
+            }
+            for (int i = 0; i < OUTPUT_NODES; i++)
+            {
+               line.append(' ').append(RandomGenerator.random(0.0, 1.0) < 0.5 ? 0 : 1);
+            }
+            writer.write(line.append('\n').toString());
+         }
+      }  // try (BufferedWriter writer = new BufferedWriter(new FileWriter(file)))
+
+      double[][][] expected = scannerRead(file.getPath());
+      Object[] trainingSets = SetsHandler.readTrainingSets(INPUT_NODES, OUTPUT_NODES, file.getPath());
+      if (!Arrays.deepEquals(expected[0], (double[][]) trainingSets[0])
+            || !Arrays.deepEquals(expected[1], (double[][]) trainingSets[1]))
+      {
+         throw new IllegalStateException("SetsHandler read different sets than Scanner");
+      }
+   }  // public void setup()
+
+   /**
+    * Deletes the training file.
+    */
+   @TearDown
+   public void tearDown()
+   {
+      file.delete();
+   }
+
+   /**
+    * Reads the file with Scanner.
+    *
+    * @return returns the input sets followed by the output sets.
+    * @throws IOException if the file cannot be read.
+    */
+   @Benchmark
+   public double[][][] scanner() throws IOException
+   {
+      return scannerRead(file.getPath());
+   }
+
+   /**
+    * Reads the file with SetsHandler, which parses it through NumberReader.
+    *
+    * @return returns the input sets and the output sets.
+    */
+   @Benchmark
+   public Object[] numberReader()
+   {
+      return SetsHandler.readTrainingSets(INPUT_NODES, OUTPUT_NODES, file.getPath());
+   }
+
+   /**
+    * Streams the file through a TextSource a chunk at a time.
+    *
+    * @return returns the number of sets streamed.
+    * @throws IOException if the file cannot be read.
+    */
+   @Benchmark
+   public int textSource() throws IOException
+   {
+      try (TextSource source = new TextSource(INPUT_NODES, OUTPUT_NODES, file.getPath(), CHUNK_SIZE))
+      {
+         source.rewind();
+         int read = 0;
+         int count;
+         while ((count = source.next()) > 0)
+         {
+            read += count;
+         }
+
+         return read;
+      }
+   }  // public int textSource()
+}     // public class ParseBenchmark
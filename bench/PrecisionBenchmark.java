@@ -0,0 +1,79 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the forward pass of the double engine against the float32 engine on random networks of growing size.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrecisionBenchmark
+{
+   @Param({"64-256-16", "256-1024-64", "1024-4096-256"})
+   public String topology;
+
+   private Perceptron doubles;
+   private Perceptron floats;
+   private double[] input;
+
+   /**
+    * Builds both engines on the same random weights and a random input set.
+    */
+   @Setup
+   public void setup()
+   {
+      int[] nodes = SuiteBenchmark.parseTopology(topology);
+      doubles = new Perceptron(nodes);
+      doubles.W = WeightsHandler.randomizeWeights(nodes, -0.1, 0.1);
+      floats = new Perceptron(nodes);
+      floats.W = doubles.W;
+      floats.float32 = true;
+
+      input = new double[nodes[0]];
+      for (int k = 0; k < input.length; k++)
+      {
+         input[k] = RandomGenerator.random(-1.0, 1.0);
+      }
+   }  // public void setup()
+
+   /**
+    * Runs the set in double.
+    *
+    * @return returns the output activations.
+    */
+   @Benchmark
+   public double[] runDouble()
+   {
+      return doubles.run(input);
+   }
+
+   /**
+    * Runs the set in float32.
+    *
+    * @return returns the output activations.
+    */
+   @Benchmark
+   public double[] runFloat()
+   {
+      return floats.run(input);
+   }
+}  // public class PrecisionBenchmark
@@ -0,0 +1,182 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time and the number of iterations training takes to bring the total error below a threshold when the
+ * sets are seen in file order and when they are shuffled every iteration, on two datasets sorted by their outputs:
+ * binary.txt, whose outputs count up from 0 to 15 and are scaled into 0 to 1 here, and a synthetic set of every 0
+ * output followed by every 1 output. Each seed gives both orders the same starting weights, and the same seed always
+ * gives the same iteration counts, which are reported as a secondary result.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ShuffleBenchmark
+{
+   static final double LAMBDA = 0.3;
+   static final int MAX_ITERATIONS = 100_000;
+
+   static final int[] BINARY_NODES = {4, 10, 1};
+   static final double BINARY_THRESHOLD = 0.001;
+
+   static final int[] SORTED_NODES = {8, 16, 1};
+   static final int SORTED_SETS = 1000;
+   static final double SORTED_THRESHOLD = 1.0;
+
+   @Param({"binary", "sorted"})
+   public String sets;
+
+   @Param({"ordered", "shuffled"})
+   public String order;
+
+   @Param({"1", "2", "3", "4", "5"})
+   public long seed;
+
+   private int[] nodes;
+   private double threshold;
+   private MemorySource source;
+   private Weights initial;
+   private long shuffleState;
+
+   private PatternSource trainingSets;
+   private LayerState state;
+   private Optimizer optimizer;
+   private Weights W;
+
+   /**
+    * Counts the iterations of one training run.
+    */
+   @State(Scope.Thread)
+   @AuxCounters(AuxCounters.Type.EVENTS)
+   public static class Counters
+   {
+      public long iterations;
+   }
+
+   /**
+    * Reads or generates the training sets and the starting weights of the seed.
+    */
+   @Setup
+   public void setup()
+   {
+      double[][] trainInput;
+      double[][] trainOutput;
+
+      if (sets.equals("binary"))
+      {
+         nodes = BINARY_NODES;
+         threshold = BINARY_THRESHOLD;
+
+         Object[] binary = SetsHandler.readTrainingSets(nodes[0], nodes[2], "src/trainingSets/binary.txt");
+         trainInput = (double[][]) binary[0];
+         trainOutput = (double[][]) binary[1];
+         for (double[] row : trainOutput)
+         {
+            row[0] /= 15.0;
+         }
+      }  // if (sets.equals("binary"))
+      else
+      {
+         nodes = SORTED_NODES;
+         threshold = SORTED_THRESHOLD;
+
+         RandomGenerator random = new RandomGenerator(0);
+         Weights teacher = WeightsHandler.randomizeWeights(nodes, -1.0, 1.0, random);
+         LayerState teacherState = new LayerState(nodes);
+         trainInput = new double[SORTED_SETS][];
+         trainOutput = new double[SORTED_SETS][1];
+         int zeros = 0;
+         for (int t = 0; t < SORTED_SETS; t++)
+         {
+            double[] input = new double[nodes[0]];
+            for (int k = 0; k < input.length; k++)
+            {
+               input[k] = random.nextDouble(-1.0, 1.0);
+            }
+            boolean one = teacherState.forward(teacher, input)[0] >= 0.5;
+
+            // Every 0 output is placed before every 1 output
+            int row = one ? SORTED_SETS - 1 - (t - zeros) : zeros++;
+            trainInput[row] = input;
+            trainOutput[row][0] = one ? 1.0 : 0.0;
+         }
+      }  // else
+
+      source = new MemorySource(nodes[0], nodes[nodes.length - 1], trainInput, trainOutput);
+      RandomGenerator random = new RandomGenerator(seed);
+      initial = WeightsHandler.randomizeWeights(nodes, -1.0, 1.5, random);
+      shuffleState = random.state();
+   }  // public void setup()
+
+   /**
+    * Starts each training run from the same weights, shuffling with the same sequence as every other run of the seed.
+    */
+   @Setup(Level.Invocation)
+   public void reset()
+   {
+      RandomGenerator random = new RandomGenerator(seed);
+      random.setState(shuffleState);
+
+      trainingSets = order.equals("shuffled") ? new ShuffledSource(source, random) : source;
+      state = new LayerState(nodes);
+      optimizer = new Sgd();
+      W = initial.copy();
+   }
+
+   /**
+    * Trains until the error threshold or the iteration limit is reached.
+    *
+    * @param counters the counters the iterations are added to.
+    * @return returns the total error of the last iteration.
+    */
+   @Benchmark
+   public double timeToThreshold(Counters counters)
+   {
+      int iteration = 0;
+      boolean met = false;
+
+      while (!met && iteration < MAX_ITERATIONS)
+      {
+         state.totalError = 0.0;
+         trainingSets.rewind();
+         int count;
+
+         while ((count = trainingSets.next()) > 0)
+         {
+            for (int t = 0; t < count; t++)
+            {
+               state.forward(W, trainingSets.inputs()[t]);
+               state.backward(W, trainingSets.outputs()[t]);
+               optimizer.update(state, W, LAMBDA);
+            }
+         }
+
+         iteration++;
+         met = state.totalError < threshold;
+      }  // while (!met && iteration < MAX_ITERATIONS)
+
+      counters.iterations += iteration;
+      return state.totalError;
+   }  // public double timeToThreshold(Counters counters)
+}     // public class ShuffleBenchmark
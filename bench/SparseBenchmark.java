@@ -0,0 +1,169 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares training and scoring on wide, mostly zero input sets stored densely and stored sparsely. Every set has a
+ * fixed number of non-zero inputs at random positions, like a bag-of-words vector, and an output of 1 when more of
+ * them fall in the first half of the inputs than in the second. The setup trains a copy of the weights both ways and
+ * checks that they match bit for bit, as they must with the scalar kernels, before anything is timed.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SparseBenchmark
+{
+   static final int HIDDEN_NODES = 16;
+   static final int SETS = 1000;
+   static final double LAMBDA = 0.1;
+
+   @Param({"20000"})
+   public int inputNodes;
+
+   @Param({"100"})
+   public int nonZeros;
+
+   @Param({"dense", "sparse"})
+   public String layout;
+
+   private int[] nodes;
+   private PatternSource sets;
+   private Weights initial;
+   private LayerState state;
+   private Weights W;
+   private Evaluator evaluator;
+
+   /**
+    * Trains the weights for one epoch, updating after every set.
+    *
+    * @param state the buffers of the network.
+    * @param W     the weights to be trained.
+    * @param sets  the training sets.
+    */
+   private static void trainEpoch(LayerState state, Weights W, PatternSource sets)
+   {
+      sets.rewind();
+      int count;
+
+      while ((count = sets.next()) > 0)
+      {
+         for (int t = 0; t < count; t++)
+         {
+            if (sets.inputIndices() != null) state.forward(W, sets.inputIndices()[t], sets.inputValues()[t]);
+            else state.forward(W, sets.inputs()[t]);
+            state.backward(W, sets.outputs()[t]);
+            state.update(W, LAMBDA);
+         }
+      }
+   }  // private static void trainEpoch(LayerState state, Weights W, PatternSource sets)
+
+   /**
+    * Generates the sets in both layouts and checks that training on them gives identical weights.
+    */
+   @Setup
+   public void setup()
+   {
+      nodes = new int[]{inputNodes, HIDDEN_NODES, 1};
+
+      RandomGenerator random = new RandomGenerator(1);
+      double[][] inputSets = new double[SETS][inputNodes];
+      double[][] outputSets = new double[SETS][1];
+      for (int t = 0; t < SETS; t++)
+      {
+         int balance = 0;
+         for (int p = 0; p < nonZeros; p++)
+         {
+            int k = random.nextInt(inputNodes);
+            if (inputSets[t][k] == 0.0) balance += k < inputNodes / 2 ? 1 : -1;
+            inputSets[t][k] = 1.0;
+         }
+         outputSets[t][0] = balance > 0 ? 1.0 : 0.0;
+      }  // for (int t = 0; t < SETS; t++)
+
+      PatternSource dense = new MemorySource(inputNodes, 1, inputSets, outputSets);
+      PatternSource sparse = SparseSource.fromDense(1, inputSets, outputSets);
+      initial = WeightsHandler.randomizeWeights(nodes, -0.1, 0.1, random);
+
+      Weights denseW = initial.copy();
+      Weights sparseW = initial.copy();
+      trainEpoch(new LayerState(nodes), denseW, dense);
+      trainEpoch(new LayerState(nodes), sparseW, sparse);
+      for (int n = 0; n < denseW.values.length; n++)
+      {
+         for (int i = 0; i < denseW.values[n].length; i++)
+         {
+            if (Double.doubleToLongBits(denseW.values[n][i]) != Double.doubleToLongBits(sparseW.values[n][i]))
+            {
+               throw new IllegalStateException("sparse training gave different weights than dense training");
+            }
+         }
+      }
+
+      sets = layout.equals("sparse") ? sparse : dense;
+      state = new LayerState(nodes);
+      evaluator = new Evaluator(new Network(denseW), 1);
+   }  // public void setup()
+
+   /**
+    * Starts each epoch from the same weights.
+    */
+   @Setup(Level.Invocation)
+   public void reset()
+   {
+      W = initial.copy();
+   }
+
+   /**
+    * Stops the threads of the evaluator.
+    */
+   @TearDown
+   public void tearDown()
+   {
+      evaluator.shutdown();
+   }
+
+   /**
+    * Trains one epoch over the sets.
+    *
+    * @return returns the trained weights.
+    */
+   @Benchmark
+   public Weights train()
+   {
+      trainEpoch(state, W, sets);
+      return W;
+   }
+
+   /**
+    * Scores every set through the Evaluator.
+    *
+    * @return returns the metrics of the sets.
+    * @throws IOException never, since no results are written.
+    */
+   @Benchmark
+   public Evaluation score() throws IOException
+   {
+      return evaluator.evaluate(sets, null);
+   }
+}  // public class SparseBenchmark
@@ -0,0 +1,73 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from loading a weights file to the first inference, for the text and binary weights formats.
+ * Each model is named by its topology and the file extension that selects its format. The text format is only timed
+ * on the smaller model because reading ten million text weights takes minutes.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark
+{
+   @Param({"512-1536-138.txt", "512-1536-138.bin", "2048-4096-400.bin"})
+   public String model;
+
+   private int[] nodes;
+   private File file;
+
+   /**
+    * Writes a model with random weights in the format of its extension.
+    */
+   @Setup
+   public void setup()
+   {
+      nodes = SuiteBenchmark.parseTopology(model.substring(0, model.indexOf('.')));
+      file = new File(System.getProperty("java.io.tmpdir"), "startupBenchmark" + model.substring(model.indexOf('.')));
+      WeightsHandler.writeWeights(WeightsHandler.randomizeWeights(nodes, -0.1, 0.1), file.getPath());
+   }
+
+   /**
+    * Deletes the model file.
+    */
+   @TearDown
+   public void tearDown()
+   {
+      file.delete();
+   }
+
+   /**
+    * Reads the model back and runs one set through it.
+    *
+    * @return returns the output activations of the first inference.
+    */
+   @Benchmark
+   public double[] firstInference()
+   {
+      Perceptron perceptron = new Perceptron(nodes);
+      perceptron.W = WeightsHandler.readWeights(nodes, file.getPath());
+      return perceptron.run(new double[nodes[0]]);
+   }
+}  // public class StartupBenchmark
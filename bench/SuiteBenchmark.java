@@ -0,0 +1,238 @@
+package neuralnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The regression suite, covering Perceptron.run, one training epoch, WeightsHandler.readWeights and writeWeights in
+ * both formats, and SetsHandler.readTrainingSets on topologies from 2-5-1 up to 1024-4096-256. Running it through
+ * "gradle jmh" writes the results as JSON, so the results of one release can be compared against the next.
+ * Weights files are named by their topology and the file extension that selects their format; the text format is
+ * left out on the largest topology because reading five million text weights takes minutes.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuiteBenchmark
+{
+   static final int TRAIN_SETS = 64;
+   static final int FILE_SETS = 1000;
+   static final double LAMBDA = 0.1;
+
+   /**
+    * Parses a topology such as 2-5-1 into the number of nodes in each layer.
+    *
+    * @param topology the topology, with the layer sizes separated by dashes.
+    * @return returns the number of nodes in each layer.
+    */
+   static int[] parseTopology(String topology)
+   {
+      String[] sizes = topology.split("-");
+      int[] nodes = new int[sizes.length];
+      for (int n = 0; n < sizes.length; n++)
+      {
+         nodes[n] = Integer.parseInt(sizes[n]);
+      }
+
+      return nodes;
+   }
+
+   /**
+    * Holds a network with random weights, random training sets and a training sets file for one topology.
+    */
+   @State(Scope.Benchmark)
+   public static class Topology
+   {
+      @Param({"2-5-1", "16-64-4", "64-256-16", "256-1024-64", "1024-4096-256"})
+      public String topology;
+
+      int[] nodes;
+      Perceptron perceptron;
+      double[][] trainInput;
+      double[][] trainOutput;
+      File setsFile;
+
+      /**
+       * Builds the network and the sets, and writes the training sets file.
+       *
+       * @throws IOException if the file cannot be written.
+       */
+      @Setup
+      public void setup() throws IOException
+      {
+         nodes = parseTopology(topology);
+         int inputNodes = nodes[0];
+         int outputNodes = nodes[nodes.length - 1];
+
+         perceptron = new Perceptron(nodes);
+         perceptron.W = WeightsHandler.randomizeWeights(nodes, -0.1, 0.1);
+
+         trainInput = new double[TRAIN_SETS][inputNodes];
+         trainOutput = new double[TRAIN_SETS][outputNodes];
+         for (int t = 0; t < TRAIN_SETS; t++)
+         {
+            for (int k = 0; k < inputNodes; k++)
+            {
+               trainInput[t][k] = RandomGenerator.random(-1.0, 1.0);
+            }
+            for (int i = 0; i < outputNodes; i++)
+            {
+               trainOutput[t][i] = RandomGenerator.random(0.0, 1.0) < 0.5 ? 0.0 : 1.0;
+            }
+         }
+
+         setsFile = new File(System.getProperty("java.io.tmpdir"), "suiteBenchmarkSets.txt");
+         try (BufferedWriter writer = new BufferedWriter(new FileWriter(setsFile)))
+         {
+            writer.write(FILE_SETS + "\n");
+            for (int t = 0; t < FILE_SETS; t++)
+            {
+               for (int k = 0; k < inputNodes; k++)
+               {
+                  writer.write(RandomGenerator.random(-1.0, 1.0) + " ");
+               }
+               for (int i = 0; i < outputNodes; i++)
+               {
+                  writer.write(RandomGenerator.random(0.0, 1.0) < 0.5 ? " 0" : " 1");
+               }
+               writer.write("\n");
+            }
+         }  // try (BufferedWriter writer = new BufferedWriter(new FileWriter(setsFile)))
+      }     // public void setup()
+
+      /**
+       * Deletes the training sets file.
+       */
+      @TearDown
+      public void tearDown()
+      {
+         setsFile.delete();
+      }
+   }  // public static class Topology
+
+   /**
+    * Holds random weights and a weights file of them in one format.
+    */
+   @State(Scope.Benchmark)
+   public static class WeightsFile
+   {
+      @Param({"2-5-1.txt", "16-64-4.txt", "64-256-16.txt", "256-1024-64.txt",
+              "2-5-1.bin", "16-64-4.bin", "64-256-16.bin", "256-1024-64.bin", "1024-4096-256.bin"})
+      public String weights;
+
+      int[] nodes;
+      Weights W;
+      File file;
+
+      /**
+       * Builds the weights and writes them to the file.
+       */
+      @Setup
+      public void setup()
+      {
+         nodes = parseTopology(weights.substring(0, weights.indexOf('.')));
+         W = WeightsHandler.randomizeWeights(nodes, -0.1, 0.1);
+         file = new File(System.getProperty("java.io.tmpdir"), "suiteBenchmark" + weights.substring(weights.indexOf('.')));
+         WeightsHandler.writeWeights(W, file.getPath());
+      }
+
+      /**
+       * Deletes the weights file.
+       */
+      @TearDown
+      public void tearDown()
+      {
+         file.delete();
+      }
+   }  // public static class WeightsFile
+
+   /**
+    * Runs one set through the network.
+    *
+    * @param state the topology.
+    * @return returns the output activations.
+    */
+   @Benchmark
+   public double[] run(Topology state)
+   {
+      return state.perceptron.run(state.trainInput[0]);
+   }
+
+   /**
+    * Trains one epoch over the training sets, updating the weights after every set.
+    *
+    * @param state the topology.
+    * @return returns the total error of the epoch.
+    */
+   @Benchmark
+   public double trainEpoch(Topology state)
+   {
+      Perceptron perceptron = state.perceptron;
+      perceptron.state.totalError = 0.0;
+      for (int t = 0; t < TRAIN_SETS; t++)
+      {
+         perceptron.runDetailed(state.trainInput[t], state.trainOutput[t]);
+         perceptron.state.update(perceptron.W, LAMBDA);
+      }
+
+      return perceptron.state.totalError;
+   }  // public double trainEpoch(Topology state)
+
+   /**
+    * Reads the training sets file.
+    *
+    * @param state the topology.
+    * @return returns the input sets and the output sets.
+    */
+   @Benchmark
+   public Object[] readTrainingSets(Topology state)
+   {
+      return SetsHandler.readTrainingSets(state.nodes[0], state.nodes[state.nodes.length - 1], state.setsFile.getPath());
+   }
+
+   /**
+    * Writes the weights file.
+    *
+    * @param state the weights.
+    * @return returns the length of the written file.
+    */
+   @Benchmark
+   public long writeWeights(WeightsFile state)
+   {
+      WeightsHandler.writeWeights(state.W, state.file.getPath());
+      return state.file.length();
+   }
+
+   /**
+    * Reads the weights file.
+    *
+    * @param state the weights.
+    * @return returns the read weights.
+    */
+   @Benchmark
+   public Weights readWeights(WeightsFile state)
+   {
+      return WeightsHandler.readWeights(state.nodes, state.file.getPath());
+   }
+}  // public class SuiteBenchmark
@@ -0,0 +1,82 @@
+package neuralnet;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Performs the kernel loops with the SIMD instructions of the Java Vector API, as many doubles per instruction as the
+ * widest vector the CPU supports, finishing each row with scalar loops.
+ * This class lives in its own source root because it needs the jdk.incubator.vector module to compile and run:
+ * compile it with --add-modules jdk.incubator.vector against the classes of src, and run with the same option and
+ * -Dkernels=vector to select it.
+ * axpy and update round every element exactly as the scalar kernels do. dot keeps two vector accumulators of fused
+ * multiply-adds to hide their latency, so its sums can differ from the scalar sums in the last bits.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class VectorKernels implements Kernels
+{
+   static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+   @Override
+   public double dot(double[] x, int xOffset, double[] y, int length)
+   {
+      int lanes = SPECIES.length();
+      DoubleVector sum0 = DoubleVector.zero(SPECIES);
+      DoubleVector sum1 = DoubleVector.zero(SPECIES);
+
+      int k = 0;
+      for (; k + 2 * lanes <= length; k += 2 * lanes)
+      {
+         sum0 = DoubleVector.fromArray(SPECIES, x, xOffset + k).fma(DoubleVector.fromArray(SPECIES, y, k), sum0);
+         sum1 = DoubleVector.fromArray(SPECIES, x, xOffset + k + lanes)
+               .fma(DoubleVector.fromArray(SPECIES, y, k + lanes), sum1);
+      }
+      for (; k + lanes <= length; k += lanes)
+      {
+         sum0 = DoubleVector.fromArray(SPECIES, x, xOffset + k).fma(DoubleVector.fromArray(SPECIES, y, k), sum0);
+      }
+
+      double sum = sum0.add(sum1).reduceLanes(VectorOperators.ADD);
+      for (; k < length; k++)
+      {
+         sum += x[xOffset + k] * y[k];
+      }
+
+      return sum;
+   }  // public double dot(double[] x, int xOffset, double[] y, int length)
+
+   @Override
+   public void axpy(double a, double[] x, int xOffset, double[] y, int yOffset, int length)
+   {
+      int k = 0;
+      for (int bound = SPECIES.loopBound(length); k < bound; k += SPECIES.length())
+      {
+         DoubleVector product = DoubleVector.fromArray(SPECIES, x, xOffset + k).mul(a);
+         DoubleVector.fromArray(SPECIES, y, yOffset + k).add(product).intoArray(y, yOffset + k);
+      }
+
+      for (; k < length; k++)
+      {
+         y[yOffset + k] += a * x[xOffset + k];
+      }
+   }  // public void axpy(double a, double[] x, int xOffset, double[] y, int yOffset, int length)
+
+   @Override
+   public void update(double lambda, double[] h, double psi, double[] w, int wOffset, int length)
+   {
+      int k = 0;
+      for (int bound = SPECIES.loopBound(length); k < bound; k += SPECIES.length())
+      {
+         DoubleVector step = DoubleVector.fromArray(SPECIES, h, k).mul(lambda).mul(psi);
+         DoubleVector.fromArray(SPECIES, w, wOffset + k).add(step).intoArray(w, wOffset + k);
+      }
+
+      for (; k < length; k++)
+      {
+         w[wOffset + k] += lambda * h[k] * psi;
+      }
+   }  // public void update(double lambda, double[] h, double psi, double[] w, int wOffset, int length)
+}     // public class VectorKernels implements Kernels
@@ -0,0 +1,36 @@
+package neuralnet;
+
+/**
+ * Evaluates the activation function of every node, which is a sigmoid evaluated either exactly or from a table.
+ * Backpropagation takes the derivative from the activations already stored by the forward pass, f' = f(1-f), so an
+ * activation only needs to evaluate f itself.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public interface Activation
+{
+   /**
+    * Calculates the activation of a node from its weighted sum.
+    *
+    * @param theta the weighted sum of the node.
+    * @return returns the activation of the node as a double.
+    */
+   double f(double theta);
+
+   /**
+    * Finds the activation with a given name.
+    *
+    * @param name the name of the activation, "exact" or "table".
+    * @return returns the activation, or null if the name is not known.
+    */
+   static Activation forName(String name)
+   {
+      Activation activation = null;
+
+      if (name.equals("exact")) activation = new Sigmoid();
+      else if (name.equals("table")) activation = new TableSigmoid();
+
+      return activation;
+   }
+}  // public interface Activation
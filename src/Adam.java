@@ -0,0 +1,83 @@
+package neuralnet;
+
+/**
+ * Applies Adam: every weight moves by lambda times a running average of its gradients divided by the root of a running
+ * average of its squared gradients, with both averages corrected for starting at zero.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class Adam extends BufferedOptimizer
+{
+   public double beta1;
+   public double beta2;
+   public double epsilon;
+
+   private Weights M;
+   private Weights V;
+   private long step;
+   private double correction1;
+   private double correction2;
+
+   /**
+    * Constructs a new Adam object with zero averages.
+    *
+    * @param nodes   the number of nodes in each layer of the network.
+    * @param beta1   the fraction of the gradient average kept at each step, such as 0.9.
+    * @param beta2   the fraction of the squared gradient average kept at each step, such as 0.999.
+    * @param epsilon the small value added to the root so it is never zero, such as 1e-8.
+    */
+   public Adam(int[] nodes, double beta1, double beta2, double epsilon)
+   {
+      super(nodes);
+      this.beta1 = beta1;
+      this.beta2 = beta2;
+      this.epsilon = epsilon;
+      M = new Weights(nodes);
+      V = new Weights(nodes);
+   }
+
+   /**
+    * Counts the step and finds the bias corrections of both averages for it.
+    */
+   @Override
+   public void beginStep()
+   {
+      step++;
+      correction1 = 1.0 - Math.pow(beta1, step);
+      correction2 = 1.0 - Math.pow(beta2, step);
+   }
+
+   @Override
+   public void update(int n, double[] w, double[] g, int count, double lambda, int start, int end)
+   {
+      double[] m = M.values[n];
+      double[] v = V.values[n];
+
+      for (int i = start; i < end; i++)
+      {
+         double gradient = g[i] / count;
+         m[i] = beta1 * m[i] + (1.0 - beta1) * gradient;
+         v[i] = beta2 * v[i] + (1.0 - beta2) * gradient * gradient;
+         w[i] += lambda * (m[i] / correction1) / (Math.sqrt(v[i] / correction2) + epsilon);
+      }
+   }
+
+   @Override
+   public void save(Checkpoint checkpoint)
+   {
+      save(checkpoint, "adam.m", M);
+      save(checkpoint, "adam.v", V);
+      checkpoint.putLongs("adam.step", new long[]{step});
+   }
+
+   @Override
+   public void restore(Checkpoint checkpoint)
+   {
+      restore(checkpoint, "adam.m", M);
+      restore(checkpoint, "adam.v", V);
+
+      long[] saved = checkpoint.getLongs("adam.step");
+      step = saved == null ? 0 : saved[0];
+   }
+}  // public class Adam extends BufferedOptimizer
@@ -0,0 +1,163 @@
+package neuralnet;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Saves snapshots of the weights, and optionally a checkpoint of the full training state, during training on a
+ * background thread, so training only pauses to copy its state and never for file I/O.
+ * Two snapshot buffers are kept: while the writer thread writes one, the next snapshot is copied into the other. If a
+ * snapshot is still waiting when a newer one is taken, the newer one replaces it, so the writer always moves on to the
+ * latest state. Every file is replaced atomically and holds the state of exactly one iteration.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class Autosaver implements Closeable
+{
+   private String weightsFilePath;
+   private String checkpointPath;
+   private int elementBytes;
+   private Checkpoint[] snapshots;
+   private Thread writer;
+
+   private Checkpoint pending;
+   private Checkpoint writing;
+   private int savedIteration;
+   private boolean closed;
+
+   /**
+    * Constructs a new Autosaver object, allocating both snapshot buffers and starting the writer thread.
+    *
+    * @param nodes           the number of nodes in each layer of the network.
+    * @param weightsFilePath the file path where the weights are saved, which selects the format, or null to only save
+    *                        checkpoints.
+    * @param checkpointPath  the file path where checkpoints are saved, or null to only save the weights.
+    */
+   public Autosaver(int[] nodes, String weightsFilePath, String checkpointPath)
+   {
+      this(nodes, weightsFilePath, checkpointPath, Double.BYTES);
+   }
+
+   /**
+    * Constructs a new Autosaver object, allocating both snapshot buffers and starting the writer thread.
+    *
+    * @param nodes           the number of nodes in each layer of the network.
+    * @param weightsFilePath the file path where the weights are saved, which selects the format, or null to only save
+    *                        checkpoints.
+    * @param checkpointPath  the file path where checkpoints are saved, or null to only save the weights.
+    * @param elementBytes    the bytes per weight of a binary weights file, 8 for float64 or 4 for float32. Checkpoints
+    *                        always hold doubles.
+    */
+   public Autosaver(int[] nodes, String weightsFilePath, String checkpointPath, int elementBytes)
+   {
+      this.weightsFilePath = weightsFilePath;
+      this.elementBytes = elementBytes;
+      this.checkpointPath = checkpointPath;
+      snapshots = new Checkpoint[]{new Checkpoint(nodes), new Checkpoint(nodes)};
+
+      writer = new Thread(this::writeSnapshots, "autosave");
+      writer.setDaemon(true);
+      writer.start();
+   }  // public Autosaver(int[] nodes, String weightsFilePath, String checkpointPath, int elementBytes)
+
+   /**
+    * Copies the training state into a free snapshot buffer and queues it to be written.
+    *
+    * @param perceptron the perceptron being trained.
+    */
+   public synchronized void save(Perceptron perceptron)
+   {
+      Checkpoint snapshot = writing == snapshots[0] ? snapshots[1] : snapshots[0];
+      perceptron.checkpoint(snapshot);
+
+      pending = snapshot;
+      notifyAll();
+   }
+
+   /**
+    * Finds the iteration of the last snapshot written to the file.
+    *
+    * @return returns the iteration of the weights in the file, or 0 if nothing has been written yet.
+    */
+   public synchronized int savedIteration()
+   {
+      return savedIteration;
+   }
+
+   /**
+    * Writes queued snapshots until the Autosaver is closed and nothing is left to write.
+    */
+   private void writeSnapshots()
+   {
+      while (true)
+      {
+         Checkpoint snapshot;
+
+         synchronized (this)
+         {
+            while (pending == null && !closed)
+            {
+               try
+               {
+                  wait();
+               }
+               catch (InterruptedException e)
+               {
+                  return;
+               }
+            }
+
+            if (pending == null) return;
+
+            snapshot = pending;
+            writing = snapshot;
+            pending = null;
+         }  // synchronized (this)
+
+         if (weightsFilePath != null) WeightsHandler.writeWeightsAtomically(snapshot.W, weightsFilePath, elementBytes);
+
+         if (checkpointPath != null)
+         {
+            try
+            {
+               snapshot.write(checkpointPath);
+            }
+            catch (IOException e)
+            {
+               System.out.println("Checkpoint file could not be written (" + e.getMessage() + ") -- ending process.");
+               System.exit(1);
+            }
+         }
+
+         synchronized (this)
+         {
+            writing = null;
+            savedIteration = snapshot.iteration;
+            notifyAll();
+         }
+      }  // while (true)
+   }     // private void writeSnapshots()
+
+   /**
+    * Waits for any queued snapshot to be written and stops the writer thread.
+    */
+   @Override
+   public void close()
+   {
+      synchronized (this)
+      {
+         closed = true;
+         notifyAll();
+      }
+
+      try
+      {
+         writer.join();
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+      }
+   }  // public void close()
+}     // public class Autosaver implements Closeable
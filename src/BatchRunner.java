@@ -0,0 +1,252 @@
+package neuralnet;
+
+import java.util.Arrays;
+
+/**
+ * Runs a perceptron on many input sets at once, evaluating each layer as a product of the weight matrix and a block of
+ * activations. The product is tiled over nodes and inputs so a tile of weights stays in cache while every set of the
+ * block passes through it. Each weighted sum is still accumulated one term at a time in input order, so the outputs
+ * are bit-identical to running the sets one at a time.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class BatchRunner
+{
+   static final int DEFAULT_BLOCK_SIZE = 64;
+   static final int NODE_TILE = 64;
+   static final int INPUT_TILE = 256;
+
+   public int[] nodes;
+   public int blockSize;
+   public Activation activation;
+
+   private double[][] X;
+
+   /**
+    * Constructs a new BatchRunner object with the exact sigmoid and allocates one block of activations per layer.
+    *
+    * @param nodes     the number of nodes in each layer of the network.
+    * @param blockSize the number of sets evaluated together.
+    */
+   public BatchRunner(int[] nodes, int blockSize)
+   {
+      this(nodes, blockSize, new Sigmoid());
+   }
+
+   /**
+    * Constructs a new BatchRunner object and allocates one block of activations per layer.
+    *
+    * @param nodes      the number of nodes in each layer of the network.
+    * @param blockSize  the number of sets evaluated together.
+    * @param activation the activation function of every node.
+    */
+   public BatchRunner(int[] nodes, int blockSize, Activation activation)
+   {
+      this.activation = activation;
+      this.nodes = nodes.clone();
+      this.blockSize = blockSize;
+
+      X = new double[nodes.length][];
+      for (int n = 0; n < nodes.length; n++)
+      {
+         X[n] = new double[blockSize * nodes[n]];
+      }
+   }  // public BatchRunner(int[] nodes, int blockSize, Activation activation)
+
+   /**
+    * Adds the products of one tile of weights with the activations of two sets to their weighted sums, keeping eight
+    * sums in registers at once. Every sum still receives its terms one at a time in input order.
+    *
+    * @param w         the weights of the layer.
+    * @param from      the activations feeding the layer.
+    * @param theta     the weighted sums of the layer.
+    * @param fromNodes the number of nodes feeding the layer.
+    * @param toNodes   the number of nodes in the layer.
+    * @param p         the first of the two sets.
+    * @param j0        the first node of the tile (inclusive).
+    * @param j1        the last node of the tile (exclusive).
+    * @param k0        the first input of the tile (inclusive).
+    * @param k1        the last input of the tile (exclusive).
+    */
+   private static void multiplyTile(double[] w, double[] from, double[] theta, int fromNodes, int toNodes, int p,
+                                    int j0, int j1, int k0, int k1)
+   {
+      int x0 = p * fromNodes;
+      int x1 = x0 + fromNodes;
+      int t0 = p * toNodes;
+      int t1 = t0 + toNodes;
+
+      int j = j0;
+      for (; j + 3 < j1; j += 4)
+      {
+         int r0 = j * fromNodes;
+         int r1 = r0 + fromNodes;
+         int r2 = r1 + fromNodes;
+         int r3 = r2 + fromNodes;
+
+         double s00 = theta[t0 + j], s01 = theta[t0 + j + 1], s02 = theta[t0 + j + 2], s03 = theta[t0 + j + 3];
+         double s10 = theta[t1 + j], s11 = theta[t1 + j + 1], s12 = theta[t1 + j + 2], s13 = theta[t1 + j + 3];
+
+         for (int k = k0; k < k1; k++)
+         {
+            double a0 = from[x0 + k];
+            double a1 = from[x1 + k];
+            double w0 = w[r0 + k], w1 = w[r1 + k], w2 = w[r2 + k], w3 = w[r3 + k];
+
+            s00 += w0 * a0;
+            s01 += w1 * a0;
+            s02 += w2 * a0;
+            s03 += w3 * a0;
+            s10 += w0 * a1;
+            s11 += w1 * a1;
+            s12 += w2 * a1;
+            s13 += w3 * a1;
+         }  // for (int k = k0; k < k1; k++)
+
+         theta[t0 + j] = s00;
+         theta[t0 + j + 1] = s01;
+         theta[t0 + j + 2] = s02;
+         theta[t0 + j + 3] = s03;
+         theta[t1 + j] = s10;
+         theta[t1 + j + 1] = s11;
+         theta[t1 + j + 2] = s12;
+         theta[t1 + j + 3] = s13;
+      }  // for (; j + 3 < j1; j += 4)
+
+      multiplyRow(w, from, theta, fromNodes, toNodes, p, j, j1, k0, k1);
+      multiplyRow(w, from, theta, fromNodes, toNodes, p + 1, j, j1, k0, k1);
+   }  // private static void multiplyTile(double[] w, double[] from, double[] theta, int fromNodes, int toNodes, int p, int j0, int j1, int k0, int k1)
+
+   /**
+    * Adds the products of one tile of weights with the activations of a single set to its weighted sums.
+    *
+    * @param w         the weights of the layer.
+    * @param from      the activations feeding the layer.
+    * @param theta     the weighted sums of the layer.
+    * @param fromNodes the number of nodes feeding the layer.
+    * @param toNodes   the number of nodes in the layer.
+    * @param p         the set.
+    * @param j0        the first node of the tile (inclusive).
+    * @param j1        the last node of the tile (exclusive).
+    * @param k0        the first input of the tile (inclusive).
+    * @param k1        the last input of the tile (exclusive).
+    */
+   private static void multiplyRow(double[] w, double[] from, double[] theta, int fromNodes, int toNodes, int p,
+                                   int j0, int j1, int k0, int k1)
+   {
+      int fromRow = p * fromNodes;
+      int toRow = p * toNodes;
+
+      for (int j = j0; j < j1; j++)
+      {
+         int row = j * fromNodes;
+         double sum = theta[toRow + j];
+
+         for (int k = k0; k < k1; k++)
+         {
+            sum += w[row + k] * from[fromRow + k];
+         }
+
+         theta[toRow + j] = sum;
+      }  // for (int j = j0; j < j1; j++)
+   }     // private static void multiplyRow(double[] w, double[] from, double[] theta, int fromNodes, int toNodes, int p, int j0, int j1, int k0, int k1)
+
+   /**
+    * Propagates the block of sets in X[0] through every layer of the network.
+    *
+    * @param W    the weights of the network.
+    * @param rows the number of sets in the block.
+    */
+   private void forwardBlock(Weights W, int rows)
+   {
+      for (int n = 0; n < nodes.length - 1; n++)
+      {
+         double[] w = W.values[n];
+         double[] from = X[n];
+         double[] theta = X[n + 1];
+         int fromNodes = nodes[n];
+         int toNodes = nodes[n + 1];
+
+         Arrays.fill(theta, 0, rows * toNodes, 0.0);
+
+         for (int k0 = 0; k0 < fromNodes; k0 += INPUT_TILE)
+         {
+            int k1 = Math.min(k0 + INPUT_TILE, fromNodes);
+
+            for (int j0 = 0; j0 < toNodes; j0 += NODE_TILE)
+            {
+               int j1 = Math.min(j0 + NODE_TILE, toNodes);
+
+               int p = 0;
+               for (; p + 1 < rows; p += 2)
+               {
+                  multiplyTile(w, from, theta, fromNodes, toNodes, p, j0, j1, k0, k1);
+               }
+               if (p < rows) multiplyRow(w, from, theta, fromNodes, toNodes, p, j0, j1, k0, k1);
+            }        // for (int j0 = 0; j0 < toNodes; j0 += NODE_TILE)
+         }           // for (int k0 = 0; k0 < fromNodes; k0 += INPUT_TILE)
+
+         for (int i = 0; i < rows * toNodes; i++)
+         {
+            theta[i] = activation.f(theta[i]);
+         }
+      }  // for (int n = 0; n < nodes.length - 1; n++)
+   }     // private void forwardBlock(Weights W, int rows)
+
+   /**
+    * Runs the network on sets stored one after another in a flat array.
+    *
+    * @param W       the weights of the network.
+    * @param inputs  the input values, inputNodes per set.
+    * @param count   the number of sets.
+    * @param outputs the array the output values are written to, outputNodes per set.
+    */
+   public void run(Weights W, double[] inputs, int count, double[] outputs)
+   {
+      int inputNodes = nodes[0];
+      int outputNodes = nodes[nodes.length - 1];
+
+      for (int start = 0; start < count; start += blockSize)
+      {
+         int rows = Math.min(blockSize, count - start);
+
+         System.arraycopy(inputs, start * inputNodes, X[0], 0, rows * inputNodes);
+         forwardBlock(W, rows);
+         System.arraycopy(X[nodes.length - 1], 0, outputs, start * outputNodes, rows * outputNodes);
+      }
+   }  // public void run(Weights W, double[] inputs, int count, double[] outputs)
+
+   /**
+    * Runs the network on an array of sets.
+    *
+    * @param W      the weights of the network.
+    * @param inputs the input values of each set.
+    * @return returns the output values of each set.
+    */
+   public double[][] run(Weights W, double[][] inputs)
+   {
+      int inputNodes = nodes[0];
+      int outputNodes = nodes[nodes.length - 1];
+      double[][] outputs = new double[inputs.length][outputNodes];
+
+      for (int start = 0; start < inputs.length; start += blockSize)
+      {
+         int rows = Math.min(blockSize, inputs.length - start);
+
+         for (int p = 0; p < rows; p++)
+         {
+            System.arraycopy(inputs[start + p], 0, X[0], p * inputNodes, inputNodes);
+         }
+
+         forwardBlock(W, rows);
+
+         for (int p = 0; p < rows; p++)
+         {
+            System.arraycopy(X[nodes.length - 1], p * outputNodes, outputs[start + p], 0, outputNodes);
+         }
+      }  // for (int start = 0; start < inputs.length; start += blockSize)
+
+      return outputs;
+   }     // public double[][] run(Weights W, double[][] inputs)
+}        // public class BatchRunner
@@ -0,0 +1,262 @@
+package neuralnet;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Trains a perceptron with mini-batch gradient descent, sharding each batch across the threads of a ForkJoinPool.
+ * Every worker backpropagates its contiguous shard of the batch into its own gradient buffer, and the buffers are
+ * reduced in worker order once per batch. Because the shards and the reduction order only depend on the batch size
+ * and the number of threads, the trained weights are the same on every run with the same starting weights.
+ * Sparse sets only add to the gradients of the first-layer weights of their non-zero inputs, though clearing and
+ * reducing the buffers still visits every weight once per batch.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class BatchTrainer
+{
+   public int batchSize;
+   public int threads;
+
+   public Optimizer optimizer = new Sgd();
+
+   public TrainingListener listener;
+   public int reportInterval;
+   public TrainingStats stats;
+
+   private ForkJoinPool pool;
+   private Worker[] workers;
+   private Reducer[] reducers;
+
+   /**
+    * Backpropagates a shard of a batch into a thread-local gradient buffer.
+    */
+   private static class Worker extends RecursiveAction
+   {
+      private static final long serialVersionUID = 1L;
+
+      LayerState state;
+      Weights G;
+
+      Weights W;
+      double[][] trainInput;
+      int[][] trainIndex;
+      double[][] trainValue;
+      double[][] trainOutput;
+      int start;
+      int end;
+
+      /**
+       * Accumulates the gradient of every set in the shard.
+       */
+      @Override
+      protected void compute()
+      {
+         G.clear();
+
+         for (int t = start; t < end; t++)
+         {
+            if (trainIndex != null) state.forward(W, trainIndex[t], trainValue[t]);
+            else state.forward(W, trainInput[t]);
+            state.backward(W, trainOutput[t]);
+            state.accumulate(G);
+         }
+      }
+   }  // private static class Worker extends RecursiveAction
+
+   /**
+    * Sums a slice of every worker's gradient buffer into the first worker's buffer and has the optimizer apply it to
+    * the weights.
+    */
+   private class Reducer extends RecursiveAction
+   {
+      private static final long serialVersionUID = 1L;
+
+      int index;
+
+      Weights W;
+      double lambda;
+      int count;
+
+      /**
+       * Reduces the slice of each layer of weights owned by this reducer.
+       */
+      @Override
+      protected void compute()
+      {
+         for (int n = 0; n < W.values.length; n++)
+         {
+            double[] w = W.values[n];
+            double[] g = workers[0].G.values[n];
+            int start = (int) ((long) w.length * index / reducers.length);
+            int end = (int) ((long) w.length * (index + 1) / reducers.length);
+
+            for (int i = start; i < end; i++)
+            {
+               double sum = 0.0;
+               for (Worker worker : workers)
+               {
+                  sum += worker.G.values[n][i];
+               }
+               g[i] = sum;
+            }
+
+            optimizer.update(n, w, g, count, lambda, start, end);
+         }  // for (int n = 0; n < W.values.length; n++)
+      }     // protected void compute()
+   }        // private class Reducer extends RecursiveAction
+
+   /**
+    * Constructs a new BatchTrainer object with the exact sigmoid, its own thread pool and per-thread buffers.
+    *
+    * @param nodes     the number of nodes in each layer of the network.
+    * @param batchSize the number of sets in each batch.
+    * @param threads   the number of threads each batch is sharded across.
+    */
+   public BatchTrainer(int[] nodes, int batchSize, int threads)
+   {
+      this(nodes, batchSize, threads, new Sigmoid());
+   }
+
+   /**
+    * Constructs a new BatchTrainer object with its own thread pool and per-thread buffers.
+    *
+    * @param nodes      the number of nodes in each layer of the network.
+    * @param batchSize  the number of sets in each batch.
+    * @param threads    the number of threads each batch is sharded across.
+    * @param activation the activation function of every node.
+    */
+   public BatchTrainer(int[] nodes, int batchSize, int threads, Activation activation)
+   {
+      this.batchSize = batchSize;
+      this.threads = threads;
+
+      pool = new ForkJoinPool(threads);
+      workers = new Worker[threads];
+      reducers = new Reducer[threads];
+
+      for (int w = 0; w < threads; w++)
+      {
+         workers[w] = new Worker();
+         workers[w].state = new LayerState(activation, nodes);
+         workers[w].G = new Weights(nodes);
+
+         reducers[w] = new Reducer();
+         reducers[w].index = w;
+      }
+   }  // public BatchTrainer(int[] nodes, int batchSize, int threads, Activation activation)
+
+   /**
+    * Runs every task on the pool and waits for all of them to finish.
+    *
+    * @param tasks the tasks to be run.
+    */
+   private void invokeAll(RecursiveAction[] tasks)
+   {
+      for (RecursiveAction task : tasks)
+      {
+         task.reinitialize();
+         pool.execute(task);
+      }
+
+      for (RecursiveAction task : tasks)
+      {
+         task.join();
+      }
+   }  // private void invokeAll(RecursiveAction[] tasks)
+
+   /**
+    * Trains the weights for one pass over the training sets, applying the gradient of each batch with the optimizer.
+    * Batches do not
+    * span chunks of the source, so chunk sizes should be multiples of the batch size.
+    * When a listener and stats are set, the listener is told after every batch that brings the number of sets trained
+    * this epoch to another multiple of reportInterval.
+    *
+    * @param W      the weights to be trained.
+    * @param lambda the learning rate applied to each weight change.
+    * @param source the training sets, rewound before the pass.
+    * @return returns the total error of the training sets during the pass.
+    */
+   public double trainEpoch(Weights W, double lambda, PatternSource source)
+   {
+      for (Worker worker : workers)
+      {
+         worker.state.totalError = 0.0;
+         worker.W = W;
+      }
+
+      source.rewind();
+      int count;
+
+      while ((count = source.next()) > 0)
+      {
+         for (Worker worker : workers)
+         {
+            worker.trainInput = source.inputs();
+            worker.trainIndex = source.inputIndices();
+            worker.trainValue = source.inputValues();
+            worker.trainOutput = source.outputs();
+         }
+
+         for (int batchStart = 0; batchStart < count; batchStart += batchSize)
+         {
+            int batchEnd = Math.min(batchStart + batchSize, count);
+            int size = batchEnd - batchStart;
+
+            for (int w = 0; w < threads; w++)
+            {
+               workers[w].start = batchStart + (int) ((long) size * w / threads);
+               workers[w].end = batchStart + (int) ((long) size * (w + 1) / threads);
+            }
+            invokeAll(workers);
+
+            for (Reducer reducer : reducers)
+            {
+               reducer.W = W;
+               reducer.lambda = lambda;
+               reducer.count = size;
+            }
+            optimizer.beginStep();
+            invokeAll(reducers);
+
+            if (stats != null)
+            {
+               stats.patterns += size;
+               stats.epochPatterns += size;
+               if (reportInterval > 0 && stats.epochPatterns / reportInterval != (stats.epochPatterns - size) / reportInterval)
+               {
+                  stats.totalError = totalError();
+                  listener.patternsTrained(stats);
+               }
+            }
+         }  // for (int batchStart = 0; batchStart < count; batchStart += batchSize)
+      }     // while ((count = source.next()) > 0)
+
+      return totalError();
+   }  // public double trainEpoch(Weights W, double lambda, PatternSource source)
+
+   /**
+    * Sums the error of every worker since the start of the epoch.
+    *
+    * @return returns the total error of the sets trained so far this epoch.
+    */
+   private double totalError()
+   {
+      double totalError = 0.0;
+      for (Worker worker : workers)
+      {
+         totalError += worker.state.totalError;
+      }
+
+      return totalError;
+   }
+
+   /**
+    * Stops the threads of the pool once training is over.
+    */
+   public void shutdown()
+   {
+      pool.shutdown();
+   }
+}  // public class BatchTrainer
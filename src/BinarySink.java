@@ -0,0 +1,77 @@
+package neuralnet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes the outputs of each set as raw little-endian floats, one after another with no header, so a results file of
+ * n sets from a network with m outputs is exactly 4 * n * m bytes and can be memory-mapped or read by numpy.fromfile.
+ * Values are put into one large buffer and written to the channel only when it fills.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class BinarySink implements ResultsSink
+{
+   static final int BUFFER_BYTES = 1 << 16;
+
+   private final WritableByteChannel channel;
+   private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+   /**
+    * Constructs a new BinarySink object.
+    *
+    * @param out the stream the results are written to.
+    */
+   public BinarySink(OutputStream out)
+   {
+      channel = Channels.newChannel(out);
+   }
+
+   @Override
+   public void write(double[] inputSet, double[] outputSet, double[] F) throws IOException
+   {
+      for (int i = 0; i < F.length; i++)
+      {
+         if (buffer.remaining() < Float.BYTES) flush();
+         buffer.putFloat((float) F[i]);
+      }
+   }
+
+   @Override
+   public void write(float[] inputSet, float[] F) throws IOException
+   {
+      for (int i = 0; i < F.length; i++)
+      {
+         if (buffer.remaining() < Float.BYTES) flush();
+         buffer.putFloat(F[i]);
+      }
+   }
+
+   @Override
+   public void flush() throws IOException
+   {
+      buffer.flip();
+      while (buffer.hasRemaining())
+      {
+         channel.write(buffer);
+      }
+      buffer.clear();
+   }
+
+   /**
+    * Writes everything buffered and closes the stream.
+    *
+    * @throws IOException if the results cannot be written.
+    */
+   @Override
+   public void close() throws IOException
+   {
+      flush();
+      channel.close();
+   }
+}  // public class BinarySink implements ResultsSink
@@ -0,0 +1,279 @@
+package neuralnet;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams the sets of a binary sets file by memory-mapping it, one window of sets at a time.
+ * A binary sets file is a 32-byte little-endian header of the magic number, the format version, the bytes per value
+ * (8 for float64 or 4 for float32), the number of input values per set, the number of output values per set, four
+ * bytes of padding and the number of sets as a long, followed by each set as its input values and then its output
+ * values.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class BinarySource implements PatternSource, Closeable
+{
+   static final int MAGIC = 0x53444E4E;     // "NNDS" in little-endian order
+   static final int VERSION = 1;
+   static final int HEADER_BYTES = 32;
+   static final long MAX_MAP_BYTES = 1L << 30;
+
+   private FileChannel channel;
+   private int elementBytes;
+   private int fileInputNodes;
+   private int fileOutputNodes;
+   private long numSets;
+   private long nextSet;
+
+   private int inputNodes;
+   private int outputNodes;
+   private double[][] inputSets;
+   private double[][] outputSets;
+
+   private DoubleBuffer doubleWindow;
+   private FloatBuffer floatWindow;
+   private long windowFirstSet;
+   private long windowSets;
+
+   /**
+    * Constructs a new BinarySource object, reading only the header of the file.
+    *
+    * @param inputNodes  the number of input values in each set, which must match the file.
+    * @param outputNodes the number of output values in each set, which must be 0 or match the file.
+    * @param filePath    the file path of the binary sets file.
+    * @param chunkSize   the number of sets handed out at a time, capped at the number of sets in the file.
+    * @throws IOException if the file cannot be read or does not match the network.
+    */
+   public BinarySource(int inputNodes, int outputNodes, String filePath, int chunkSize) throws IOException
+   {
+      channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ);
+
+      try
+      {
+         ByteBuffer header = readHeader(channel);
+         int magic = header.getInt();
+         int version = header.getInt();
+         elementBytes = header.getInt();
+         fileInputNodes = header.getInt();
+         fileOutputNodes = header.getInt();
+         header.getInt();
+         numSets = header.getLong();
+
+         if (magic != MAGIC || version != VERSION || (elementBytes != Double.BYTES && elementBytes != Float.BYTES))
+            throw new IOException("unsupported binary sets file");
+         if (fileInputNodes != inputNodes || (outputNodes != 0 && fileOutputNodes != outputNodes) || fileOutputNodes < 0)
+            throw new IOException("sets file has " + fileInputNodes + " inputs and " + fileOutputNodes + " outputs per set");
+         if (numSets < 0) throw new IOException("sets file has a negative number of sets (" + numSets + ")");
+         if (numSets > (channel.size() - HEADER_BYTES) / (((long) fileInputNodes + fileOutputNodes) * elementBytes))
+            throw new IOException("sets file is shorter than its " + numSets + " sets");
+      }  // try
+      catch (IOException e)
+      {
+         channel.close();
+         throw e;
+      }
+
+      this.inputNodes = inputNodes;
+      this.outputNodes = outputNodes;
+      int chunk = (int) Math.min(chunkSize, numSets);
+      inputSets = new double[chunk][inputNodes];
+      outputSets = new double[chunk][outputNodes];
+   }  // public BinarySource(int inputNodes, int outputNodes, String filePath, int chunkSize)
+
+   /**
+    * Reads the header at the start of a binary sets file.
+    *
+    * @param channel the channel of the file, positioned at its start.
+    * @return returns the header bytes, ready to be read.
+    * @throws IOException if the file is shorter than the header.
+    */
+   private static ByteBuffer readHeader(FileChannel channel) throws IOException
+   {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+      while (header.hasRemaining())
+      {
+         if (channel.read(header) < 0) throw new EOFException("binary sets header is incomplete");
+      }
+
+      header.flip();
+      return header;
+   }  // private static ByteBuffer readHeader(FileChannel channel)
+
+   /**
+    * Determines whether a sets file is in the binary format by checking for the magic number at its start.
+    *
+    * @param filePath the file path of the sets file.
+    * @return returns whether the file begins with the binary sets magic number.
+    */
+   public static boolean isBinary(String filePath)
+   {
+      boolean binary;
+
+      try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ))
+      {
+         binary = readHeader(channel).getInt() == MAGIC;
+      }
+      catch (IOException e)
+      {
+         binary = false;
+      }
+
+      return binary;
+   }  // public static boolean isBinary(String filePath)
+
+   /**
+    * Writes the header of a binary sets file.
+    *
+    * @param channel      the channel of the file, positioned at its start.
+    * @param elementBytes the bytes per value, 8 for float64 or 4 for float32.
+    * @param inputNodes   the number of input values in each set.
+    * @param outputNodes  the number of output values in each set.
+    * @param numSets      the number of sets in the file.
+    * @throws IOException if the file cannot be written.
+    */
+   public static void writeHeader(FileChannel channel, int elementBytes, int inputNodes, int outputNodes, long numSets)
+         throws IOException
+   {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(MAGIC).putInt(VERSION).putInt(elementBytes).putInt(inputNodes).putInt(outputNodes).putInt(0);
+      header.putLong(numSets);
+      header.flip();
+
+      while (header.hasRemaining())
+      {
+         channel.write(header);
+      }
+   }  // public static void writeHeader(FileChannel channel, int elementBytes, int inputNodes, int outputNodes, long numSets)
+
+   /**
+    * Finds the number of sets in the file.
+    *
+    * @return returns the number of sets given in the header.
+    */
+   public long size()
+   {
+      return numSets;
+   }
+
+   @Override
+   public int inputNodes()
+   {
+      return inputNodes;
+   }
+
+   @Override
+   public int outputNodes()
+   {
+      return outputNodes;
+   }
+
+   @Override
+   public void rewind()
+   {
+      nextSet = 0;
+   }
+
+   /**
+    * Maps the window of the file that starts at a given set.
+    *
+    * @param firstSet the first set of the window.
+    * @throws IOException if the file cannot be mapped.
+    */
+   private void map(long firstSet) throws IOException
+   {
+      long setBytes = (long) (fileInputNodes + fileOutputNodes) * elementBytes;
+
+      windowFirstSet = firstSet;
+      windowSets = Math.min(numSets - firstSet, Math.max(1, MAX_MAP_BYTES / setBytes));
+      MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + firstSet * setBytes, windowSets * setBytes);
+      window.order(ByteOrder.LITTLE_ENDIAN);
+
+      if (elementBytes == Double.BYTES) doubleWindow = window.asDoubleBuffer();
+      else floatWindow = window.asFloatBuffer();
+   }  // private void map(long firstSet)
+
+   /**
+    * Copies values from the current window into a row.
+    *
+    * @param position the index of the first value within the window.
+    * @param row      the row to be filled.
+    * @param count    the number of values to copy.
+    */
+   private void copy(int position, double[] row, int count)
+   {
+      if (elementBytes == Double.BYTES)
+      {
+         doubleWindow.get(position, row, 0, count);
+      }
+      else
+      {
+         for (int i = 0; i < count; i++)
+         {
+            row[i] = floatWindow.get(position + i);
+         }
+      }
+   }  // private void copy(int position, double[] row, int count)
+
+   @Override
+   public int next()
+   {
+      int count = (int) Math.min(inputSets.length, numSets - nextSet);
+      int setValues = fileInputNodes + fileOutputNodes;
+
+      try
+      {
+         for (int t = 0; t < count; t++)
+         {
+            long set = nextSet + t;
+            if (windowSets == 0 || set < windowFirstSet || set >= windowFirstSet + windowSets) map(set);
+
+            int position = (int) ((set - windowFirstSet) * setValues);
+            copy(position, inputSets[t], inputNodes);
+            copy(position + fileInputNodes, outputSets[t], outputNodes);
+         }
+      }
+      catch (IOException e)
+      {
+         System.out.println("Sets file could not be read (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
+
+      nextSet += count;
+      return count;
+   }  // public int next()
+
+   @Override
+   public double[][] inputs()
+   {
+      return inputSets;
+   }
+
+   @Override
+   public double[][] outputs()
+   {
+      return outputSets;
+   }
+
+   /**
+    * Closes the file.
+    *
+    * @throws IOException if the file cannot be closed.
+    */
+   @Override
+   public void close() throws IOException
+   {
+      channel.close();
+   }
+}  // public class BinarySource implements PatternSource, Closeable
@@ -0,0 +1,77 @@
+package neuralnet;
+
+/**
+ * Holds what every optimizer with state of its own shares: a preallocated gradient buffer for updates from a single
+ * set, and saving and restoring of state arrays shaped like the weights.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public abstract class BufferedOptimizer implements Optimizer
+{
+   protected Weights G;
+
+   /**
+    * Constructs a new BufferedOptimizer object and allocates its gradient buffer.
+    *
+    * @param nodes the number of nodes in each layer of the network.
+    */
+   protected BufferedOptimizer(int[] nodes)
+   {
+      G = new Weights(nodes);
+   }
+
+   /**
+    * Gathers the gradient of one set into the gradient buffer and applies it as a step over a single set.
+    *
+    * @param state  the buffers holding the last forward and backward pass.
+    * @param W      the weights to be updated.
+    * @param lambda the learning rate.
+    */
+   @Override
+   public void update(LayerState state, Weights W, double lambda)
+   {
+      G.clear();
+      state.accumulate(G);
+
+      beginStep();
+      for (int n = 0; n < W.values.length; n++)
+      {
+         update(n, W.values[n], G.values[n], 1, lambda, 0, W.values[n].length);
+      }
+   }  // public void update(LayerState state, Weights W, double lambda)
+
+   /**
+    * Copies state shaped like the weights into a checkpoint, one named array per layer.
+    *
+    * @param checkpoint the checkpoint to be written to.
+    * @param name       the name of the state, to which the index of each layer is appended.
+    * @param state      the state to be copied.
+    */
+   protected static void save(Checkpoint checkpoint, String name, Weights state)
+   {
+      for (int n = 0; n < state.values.length; n++)
+      {
+         checkpoint.putDoubles(name + "." + n, state.values[n]);
+      }
+   }
+
+   /**
+    * Restores state shaped like the weights from a checkpoint, clearing it if the checkpoint does not hold it.
+    *
+    * @param checkpoint the checkpoint to be read from.
+    * @param name       the name of the state, to which the index of each layer is appended.
+    * @param state      the state to be overwritten.
+    */
+   protected static void restore(Checkpoint checkpoint, String name, Weights state)
+   {
+      state.clear();
+
+      for (int n = 0; n < state.values.length; n++)
+      {
+         double[] saved = checkpoint.getDoubles(name + "." + n);
+         if (saved != null && saved.length == state.values[n].length)
+            System.arraycopy(saved, 0, state.values[n], 0, saved.length);
+      }
+   }  // protected static void restore(Checkpoint checkpoint, String name, Weights state)
+}     // public abstract class BufferedOptimizer implements Optimizer
@@ -0,0 +1,337 @@
+package neuralnet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the full state of a training run, so a run can be stopped and resumed as if it had never stopped: the weights,
+ * the number of training cycles completed, the best total error so far, the total error of every cycle, and named
+ * arrays of extra state such as optimizer moments or random number generator state.
+ * A checkpoint file is the magic number, the format version, the iteration, the best error, the number of layers and
+ * the size of each layer, every weight layer by layer, the number of errors and each error, and then the number of
+ * named arrays followed by each one as a type ('D' for doubles or 'L' for longs), its name, its length and its values,
+ * all in the big-endian order of DataOutputStream.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class Checkpoint
+{
+   static final int MAGIC = 0x4B434E4E;     // "NNCK" in little-endian order
+   static final int VERSION = 1;
+
+   public Weights W;
+   public int iteration;
+   public double bestError;
+   public double[] errorHistory;
+
+   private Map<String, double[]> doubles;
+   private Map<String, long[]> longs;
+
+   /**
+    * Counts the bytes read through it, so a reader can tell how much of the file is left.
+    */
+   private static class CountingStream extends FilterInputStream
+   {
+      long count;
+
+      /**
+       * Constructs a new CountingStream object.
+       *
+       * @param in the stream to be read.
+       */
+      CountingStream(InputStream in)
+      {
+         super(in);
+      }
+
+      @Override
+      public int read() throws IOException
+      {
+         int b = super.read();
+         if (b >= 0) count++;
+         return b;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException
+      {
+         int n = super.read(b, off, len);
+         if (n > 0) count += n;
+         return n;
+      }
+
+      @Override
+      public long skip(long n) throws IOException
+      {
+         long skipped = super.skip(n);
+         count += skipped;
+         return skipped;
+      }
+   }  // private static class CountingStream extends FilterInputStream
+
+   /**
+    * Constructs a new, empty Checkpoint object for a network.
+    *
+    * @param nodes the number of nodes in each layer of the network.
+    */
+   public Checkpoint(int... nodes)
+   {
+      W = new Weights(nodes);
+      bestError = Double.MAX_VALUE;
+      errorHistory = new double[0];
+      doubles = new LinkedHashMap<>();
+      longs = new LinkedHashMap<>();
+   }
+
+   /**
+    * Copies the total errors of the first iteration training cycles into errorHistory, reusing its array when it is
+    * large enough.
+    *
+    * @param errors the total error of every training cycle so far, of which the first iteration are copied.
+    */
+   public void setErrorHistory(double[] errors)
+   {
+      if (errorHistory.length < iteration) errorHistory = new double[Math.max(iteration, 2 * errorHistory.length)];
+      System.arraycopy(errors, 0, errorHistory, 0, iteration);
+   }
+
+   /**
+    * Stores a named array of doubles, copying it into the array already stored under the name when the lengths match.
+    *
+    * @param name   the name of the state, such as "optimizer.m".
+    * @param values the values to be stored.
+    */
+   public void putDoubles(String name, double[] values)
+   {
+      double[] stored = doubles.get(name);
+      if (stored == null || stored.length != values.length) doubles.put(name, values.clone());
+      else System.arraycopy(values, 0, stored, 0, values.length);
+   }
+
+   /**
+    * Retrieves a named array of doubles.
+    *
+    * @param name the name of the state.
+    * @return returns the stored values, or null if nothing is stored under the name.
+    */
+   public double[] getDoubles(String name)
+   {
+      return doubles.get(name);
+   }
+
+   /**
+    * Stores a named array of longs, copying it into the array already stored under the name when the lengths match.
+    *
+    * @param name   the name of the state, such as "random.state".
+    * @param values the values to be stored.
+    */
+   public void putLongs(String name, long[] values)
+   {
+      long[] stored = longs.get(name);
+      if (stored == null || stored.length != values.length) longs.put(name, values.clone());
+      else System.arraycopy(values, 0, stored, 0, values.length);
+   }
+
+   /**
+    * Retrieves a named array of longs.
+    *
+    * @param name the name of the state.
+    * @return returns the stored values, or null if nothing is stored under the name.
+    */
+   public long[] getLongs(String name)
+   {
+      return longs.get(name);
+   }
+
+   /**
+    * Writes the checkpoint to a temporary file beside the target, flushes it to disk and then renames it over the
+    * target, so the target always holds one complete checkpoint.
+    *
+    * @param filePath the file path of the checkpoint file.
+    * @throws IOException if the file cannot be written.
+    */
+   public void write(String filePath) throws IOException
+   {
+      Path temp = Path.of(filePath + ".tmp");
+
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp.toFile()),
+            WeightsHandler.BUFFER_BYTES)))
+      {
+         out.writeInt(MAGIC);
+         out.writeInt(VERSION);
+         out.writeInt(iteration);
+         out.writeDouble(bestError);
+
+         out.writeInt(W.nodes.length);
+         for (int n : W.nodes)
+         {
+            out.writeInt(n);
+         }
+         for (double[] layer : W.values)
+         {
+            for (double w : layer)
+            {
+               out.writeDouble(w);
+            }
+         }
+
+         out.writeInt(iteration);
+         for (int i = 0; i < iteration; i++)
+         {
+            out.writeDouble(errorHistory[i]);
+         }
+
+         out.writeInt(doubles.size() + longs.size());
+         for (Map.Entry<String, double[]> entry : doubles.entrySet())
+         {
+            out.writeByte('D');
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().length);
+            for (double value : entry.getValue())
+            {
+               out.writeDouble(value);
+            }
+         }
+         for (Map.Entry<String, long[]> entry : longs.entrySet())
+         {
+            out.writeByte('L');
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().length);
+            for (long value : entry.getValue())
+            {
+               out.writeLong(value);
+            }
+         }
+      }  // try
+
+      WeightsHandler.forceToDisk(temp);
+      WeightsHandler.moveAtomically(temp, Path.of(filePath));
+   }     // public void write(String filePath)
+
+   /**
+    * Reads a count from a checkpoint file and checks that the values it counts fit in the rest of the file, so a
+    * corrupt count cannot ask for a huge or negative array.
+    *
+    * @param in         the stream of the file.
+    * @param counter    the stream counting the bytes read so far.
+    * @param size       the size of the file in bytes.
+    * @param valueBytes the fewest bytes each counted value takes.
+    * @param what       what is counted, for the error message.
+    * @return returns the count.
+    * @throws IOException if the count is negative or its values cannot fit in the rest of the file.
+    */
+   private static int readCount(DataInputStream in, CountingStream counter, long size, int valueBytes, String what)
+         throws IOException
+   {
+      int count = in.readInt();
+      if (count < 0) throw new IOException("checkpoint lists a negative number of " + what + " (" + count + ")");
+      if ((long) count * valueBytes > size - counter.count)
+         throw new IOException("checkpoint lists " + count + " " + what + " but is too short to hold them");
+      return count;
+   }
+
+   /**
+    * Reads a checkpoint file, checking every count against the network and the size of the file before allocating
+    * for it.
+    *
+    * @param nodes    the number of nodes in each layer of the network, which must match the file.
+    * @param filePath the file path of the checkpoint file.
+    * @return returns the checkpoint.
+    * @throws IOException if the file cannot be read, is not a checkpoint, is truncated or corrupt, or does not match
+    *                     the network.
+    */
+   public static Checkpoint read(int[] nodes, String filePath) throws IOException
+   {
+      CountingStream counter = new CountingStream(new BufferedInputStream(new FileInputStream(filePath),
+            WeightsHandler.BUFFER_BYTES));
+      long size = Files.size(Path.of(filePath));
+
+      try (DataInputStream in = new DataInputStream(counter))
+      {
+         if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException("not a checkpoint file");
+
+         Checkpoint checkpoint = new Checkpoint(nodes);
+         checkpoint.iteration = in.readInt();
+         checkpoint.bestError = in.readDouble();
+         if (checkpoint.iteration < 0) throw new IOException("checkpoint has a negative iteration");
+
+         int layers = readCount(in, counter, size, Integer.BYTES, "layers");
+         if (layers != nodes.length) throw new IOException("checkpoint is for a different network");
+         int[] fileNodes = new int[layers];
+         for (int n = 0; n < fileNodes.length; n++)
+         {
+            fileNodes[n] = in.readInt();
+         }
+         if (!checkpoint.W.matches(fileNodes)) throw new IOException("checkpoint is for a different network");
+
+         long weights = 0;
+         for (double[] layer : checkpoint.W.values)
+         {
+            weights += layer.length;
+         }
+         if (weights * Double.BYTES > size - counter.count) throw new IOException("checkpoint weights are truncated");
+
+         for (double[] layer : checkpoint.W.values)
+         {
+            for (int i = 0; i < layer.length; i++)
+            {
+               layer[i] = in.readDouble();
+            }
+         }
+
+         int errors = readCount(in, counter, size, Double.BYTES, "errors");
+         if (errors != checkpoint.iteration)
+            throw new IOException("checkpoint has " + errors + " errors for " + checkpoint.iteration + " iterations");
+         checkpoint.errorHistory = new double[errors];
+         for (int i = 0; i < checkpoint.errorHistory.length; i++)
+         {
+            checkpoint.errorHistory[i] = in.readDouble();
+         }
+
+         // Each named array takes at least its type, the length of its name and its own length
+         int arrays = readCount(in, counter, size, Byte.BYTES + Short.BYTES + Integer.BYTES, "named arrays");
+         for (int a = 0; a < arrays; a++)
+         {
+            byte type = in.readByte();
+            String name = in.readUTF();
+
+            if (type == 'D')
+            {
+               double[] values = new double[readCount(in, counter, size, Double.BYTES, "values of " + name)];
+               for (int i = 0; i < values.length; i++)
+               {
+                  values[i] = in.readDouble();
+               }
+               checkpoint.doubles.put(name, values);
+            }
+            else if (type == 'L')
+            {
+               long[] values = new long[readCount(in, counter, size, Long.BYTES, "values of " + name)];
+               for (int i = 0; i < values.length; i++)
+               {
+                  values[i] = in.readLong();
+               }
+               checkpoint.longs.put(name, values);
+            }
+            else
+            {
+               throw new IOException("unknown state type in checkpoint");
+            }
+         }  // for (int a = 0; a < arrays; a++)
+
+         return checkpoint;
+      }     // try
+   }        // public static Checkpoint read(int[] nodes, String filePath)
+}           // public class Checkpoint
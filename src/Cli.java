@@ -0,0 +1,162 @@
+package neuralnet;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Runs the network from scripts and shell pipelines without ever prompting. Each subcommand takes everything it needs
+ * from the command line and the configuration file, and a missing or malformed file ends the process with status 1
+ * instead of falling back to console input.
+ * Usage:
+ * java neuralnet.Cli train configPath
+ * java neuralnet.Cli score configPath [setsPath]
+ * java neuralnet.Cli sweep sweepPath
+ * java neuralnet.Cli convert textPath binaryPath inputNodes outputNodes [float32] [sparse]
+ * score reads the sets from setsPath, from testingSetsPath when it is not given or from standard input when it is -,
+ * and writes the results of each set in the configured resultsFormat to resultsPath when saveResults is set and to
+ * standard output otherwise, with every message going to standard error. A sets file is read sparsely when
+ * sparseInputs is set.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class Cli
+{
+   static final int SCORE_CHUNK_SIZE = 1024;
+   static final String USAGE = "Usage: java neuralnet.Cli train configPath\n"
+         + "       java neuralnet.Cli score configPath [setsPath | -]\n"
+         + "       java neuralnet.Cli sweep sweepPath\n"
+         + "       java neuralnet.Cli convert textPath binaryPath inputNodes outputNodes [float32] [sparse]";
+
+   /**
+    * Trains the network as configured, as PerceptronRunner does when told to train.
+    *
+    * @param configPath the file path of the configuration file.
+    */
+   private static void train(String configPath)
+   {
+      PerceptronRunner.configPath = configPath;
+      PerceptronRunner.config = new Config(configPath);
+      PerceptronRunner.autoConfigNetwork();
+      PerceptronRunner.trainNetwork();
+   }
+
+   /**
+    * Runs the network on every set of a sets file or standard input, writing the results of each set to a ResultsSink.
+    * Sets are run a chunk at a time by an Evaluator split across the configured threads, or one at a time through the
+    * float32 engine when the precision is float. When the sets come from standard input, the sink is flushed after
+    * every chunk so the next program in the pipeline does not wait for the end.
+    *
+    * @param configPath the file path of the configuration file.
+    * @param setsPath   the file path of the sets file, - for standard input, or null for testingSetsPath.
+    * @param console    the stream the results are written to when they are not saved to a file.
+    * @throws IOException if the results cannot be written.
+    */
+   private static void score(String configPath, String setsPath, OutputStream console) throws IOException
+   {
+      Config config = new Config(configPath);
+
+      int[] nodes = PerceptronRunner.readNodes(config);
+      int inputNodes = nodes[0];
+
+      Perceptron perceptron = new Perceptron(Activation.forName(config.get("activation", "activation")), nodes);
+      perceptron.float32 = config.get("precision", "precision").equals("float");
+      perceptron.W = WeightsHandler.readWeights(nodes, config.get("weightsPath", "filePath"));
+
+      String resultsPath = null;
+      if (Boolean.parseBoolean(config.get("saveResults", "boolean"))) resultsPath = config.get("resultsPath", "filePath");
+      ResultsSink results = PerceptronRunner.openResults(config.get("resultsFormat", "resultsFormat"), resultsPath, console);
+
+      boolean streaming = "-".equals(setsPath);
+      PatternSource sets;
+      if (streaming) sets = new StreamSource(inputNodes, System.in, SCORE_CHUNK_SIZE);
+      else
+      {
+         if (setsPath == null) setsPath = config.get("testingSetsPath", "filePath");
+         if (Boolean.parseBoolean(config.get("sparseInputs", "boolean")))
+            sets = SetsHandler.readSparseSets(inputNodes, 0, setsPath);
+         else sets = SetsHandler.openTrainingSets(inputNodes, 0, setsPath, SCORE_CHUNK_SIZE);
+      }
+
+      if (perceptron.float32 && sets.inputIndices() == null)
+      {
+         float[] floatInput = new float[inputNodes];
+
+         sets.rewind();
+         int count;
+         while ((count = sets.next()) > 0)
+         {
+            double[][] rows = sets.inputs();
+            for (int t = 0; t < count; t++)
+            {
+               for (int k = 0; k < inputNodes; k++)
+               {
+                  floatInput[k] = (float) rows[t][k];
+               }
+               perceptron.runWithOutput(floatInput, results);
+            }
+
+            if (streaming) results.flush();
+         }  // while ((count = sets.next()) > 0)
+      }     // if (perceptron.float32)
+      else
+      {
+         int threads = Integer.parseInt(config.get("threads", "intPos"));
+         if (threads == 0) threads = Runtime.getRuntime().availableProcessors();
+
+         Evaluator evaluator = new Evaluator(perceptron.toNetwork(), threads);
+         evaluator.flushChunks = streaming;
+         try
+         {
+            evaluator.evaluate(sets, results);
+         }
+         finally
+         {
+            evaluator.shutdown();
+         }
+      }  // else
+
+      results.close();
+   }        // private static void score(String configPath, String setsPath, OutputStream console)
+
+   /**
+    * Runs a subcommand given on the command line.
+    *
+    * @param args the subcommand followed by its arguments.
+    * @throws IOException if the outputs of score cannot be written.
+    */
+   public static void main(String[] args) throws IOException
+   {
+      ConsoleHandler.interactive = false;
+      String command = args.length > 0 ? args[0] : "";
+
+      if (command.equals("train") && args.length == 2)
+      {
+         train(args[1]);
+      }
+      else if (command.equals("score") && (args.length == 2 || args.length == 3))
+      {
+         // Standard output carries only the results, so every message goes to standard error
+         OutputStream out = new FileOutputStream(FileDescriptor.out);
+         System.setOut(System.err);
+
+         score(args[1], args.length == 3 ? args[2] : null, out);
+      }
+      else if (command.equals("sweep") && args.length == 2)
+      {
+         new Sweep(args[1]).run();
+      }
+      else if (command.equals("convert"))
+      {
+         SetsConverter.main(Arrays.copyOfRange(args, 1, args.length));
+      }
+      else
+      {
+         System.err.println(USAGE);
+         System.exit(2);
+      }
+   }  // public static void main(String[] args)
+}     // public class Cli
@@ -1,3 +1,5 @@
+package neuralnet;
+
 import org.json.simple.*;
 import org.json.simple.parser.*;
 
@@ -19,7 +21,8 @@ public class Config
 
    /**
     * Constructs a new Config object, parsing and storing both defaultConfig and config as JSONObjects.
-    * Quits if default config file is missing or malformed, uses default config if config file is missing or malformed.
+    * Quits if default config file is missing or malformed, uses default config if config file is missing or malformed,
+    * unless the process is not interactive, when a missing or malformed config file also quits.
     *
     * @param filePath the file path of the config file.
     */
@@ -52,16 +55,29 @@ public class Config
       }
       catch (FileNotFoundException e)
       {
+         ConsoleHandler.requireInteractive("Configuration file " + filePath + " not found");
          System.out.println("Configuration file not found -- using default file.");
          config = defaultConfig;
       }
       catch (ParseException | IOException e)
       {
+         ConsoleHandler.requireInteractive("Malformed configuration file " + filePath);
          System.out.println("Malformed configuration file -- using default file.");
          config = defaultConfig;
       }
    }  // public Config(String filePath)
 
+   /**
+    * Determines whether the config file sets a given key, ignoring the default config.
+    *
+    * @param key the name of the configuration value.
+    * @return returns whether the config file contains key.
+    */
+   public boolean has(String key)
+   {
+      return config.containsKey(key);
+   }
+
    /**
     * Retrieves the config value corresponding to a given key.
     *
@@ -81,7 +97,7 @@ public class Config
 
          if (type.equals("filePath") && !Validator.isValidFilePath(value))
          {
-            System.out.println(" - " + key + " must be a valid file path (.json or .txt) -- using default value (" + defaultValue + ").");
+            System.out.println(" - " + key + " must be a valid file path (.json, .txt, .bin, .csv, .jsonl or .ckpt) -- using default value (" + defaultValue + ").");
             value = defaultValue;
          }
          else if (type.equals("intPos") && !Validator.isValidInt(value, 0))
@@ -94,6 +110,31 @@ public class Config
             System.out.println(" - " + key + " must be a valid non-negative double -- using default value (" + defaultValue + ").");
             value = defaultValue;
          }
+         else if (type.equals("intPosArray") && !Validator.isValidIntArray(value, 1))
+         {
+            System.out.println(" - " + key + " must be an array of positive integers -- using default value (" + defaultValue + ").");
+            value = defaultValue;
+         }
+         else if (type.equals("activation") && !Validator.isValidActivation(value))
+         {
+            System.out.println(" - " + key + " must be exact or table -- using default value (" + defaultValue + ").");
+            value = defaultValue;
+         }
+         else if (type.equals("precision") && !Validator.isValidPrecision(value))
+         {
+            System.out.println(" - " + key + " must be double or float -- using default value (" + defaultValue + ").");
+            value = defaultValue;
+         }
+         else if (type.equals("resultsFormat") && !Validator.isValidResultsFormat(value))
+         {
+            System.out.println(" - " + key + " must be text, csv, binary or debug -- using default value (" + defaultValue + ").");
+            value = defaultValue;
+         }
+         else if (type.equals("optimizer") && !Validator.isValidOptimizer(value))
+         {
+            System.out.println(" - " + key + " must be sgd, momentum, rmsprop or adam -- using default value (" + defaultValue + ").");
+            value = defaultValue;
+         }
       }  // if (config.containsKey(key))
 
       return value;
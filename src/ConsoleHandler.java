@@ -1,7 +1,10 @@
+package neuralnet;
+
 import java.util.Scanner;
 
 /**
- * Reads and validates user inputs through the console.
+ * Reads and validates user inputs through the console. When the process is not interactive, such as a scheduled job or
+ * a shell pipeline, every prompt ends the process instead of waiting for input that will never come.
  *
  * @author Brandon Park
  * @version 10/15/21
@@ -9,6 +12,20 @@ import java.util.Scanner;
 public class ConsoleHandler
 {
    static Scanner scanner = new Scanner(System.in);
+   public static boolean interactive = true;
+
+   /**
+    * Ends the process when it is not interactive, for problems the user would otherwise be asked to fix at the console.
+    *
+    * @param problem what went wrong, such as "Testing file not found".
+    */
+   public static void requireInteractive(String problem)
+   {
+      if (interactive) return;
+
+      System.out.println(problem + " -- ending process.");
+      System.exit(1);
+   }
 
    /**
     * Reads in an input with a specified label and type, rejecting values without the correct type.
@@ -19,6 +36,8 @@ public class ConsoleHandler
     */
    public static String input(String label, String type)
    {
+      requireInteractive("Cannot ask for " + label + " when running non-interactively");
+
       boolean failedInput = true;
       String returned = "";
 
@@ -30,7 +49,7 @@ public class ConsoleHandler
          if (type.equals("filePath"))
          {
             if (Validator.isValidFilePath(input)) failedInput = false;
-            else System.out.println("   - " + label + " must be a valid file path (.json or .txt).");
+            else System.out.println("   - " + label + " must be a valid file path (.json, .txt, .bin, .csv, .jsonl or .ckpt).");
          }
          else if (type.equals("int"))
          {
@@ -57,6 +76,26 @@ public class ConsoleHandler
             if (Validator.isValidBoolean(input)) failedInput = false;
             else System.out.println("   - " + label + " must be a valid boolean.");
          }
+         else if (type.equals("activation"))
+         {
+            if (Validator.isValidActivation(input)) failedInput = false;
+            else System.out.println("   - " + label + " must be exact or table.");
+         }
+         else if (type.equals("precision"))
+         {
+            if (Validator.isValidPrecision(input)) failedInput = false;
+            else System.out.println("   - " + label + " must be double or float.");
+         }
+         else if (type.equals("resultsFormat"))
+         {
+            if (Validator.isValidResultsFormat(input)) failedInput = false;
+            else System.out.println("   - " + label + " must be text, csv, binary or debug.");
+         }
+         else if (type.equals("optimizer"))
+         {
+            if (Validator.isValidOptimizer(input)) failedInput = false;
+            else System.out.println("   - " + label + " must be sgd, momentum, rmsprop or adam.");
+         }
 
          if (!failedInput) returned = input;
       }  // while (failedInput)
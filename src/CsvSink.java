@@ -0,0 +1,88 @@
+package neuralnet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the results of each set as one row of CSV: the inputs, then the expected outputs when they are known, then
+ * the outputs the network found. The first row is a header naming the columns x0, x1, ..., t0, t1, ... and f0, f1, ...
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class CsvSink extends TextSink
+{
+   private boolean headerWritten;
+
+   /**
+    * Constructs a new CsvSink object.
+    *
+    * @param out the stream the results are written to.
+    */
+   public CsvSink(OutputStream out)
+   {
+      super(out);
+   }
+
+   /**
+    * Writes the header row before the first set.
+    *
+    * @param inputs   the number of inputs per set.
+    * @param expected the number of expected outputs per set, 0 for testing sets.
+    * @param outputs  the number of outputs per set.
+    * @throws IOException if the header cannot be written.
+    */
+   private void writeHeader(int inputs, int expected, int outputs) throws IOException
+   {
+      if (headerWritten) return;
+      headerWritten = true;
+
+      line.setLength(0);
+      for (int k = 0; k < inputs; k++)
+      {
+         line.append('x').append(k).append(',');
+      }
+      for (int i = 0; i < expected; i++)
+      {
+         line.append('t').append(i).append(',');
+      }
+      for (int i = 0; i < outputs; i++)
+      {
+         if (i > 0) line.append(',');
+         line.append('f').append(i);
+      }
+      line.append('\n');
+      writer.append(line);
+   }  // private void writeHeader(int inputs, int expected, int outputs)
+
+   @Override
+   public void write(double[] inputSet, double[] outputSet, double[] F) throws IOException
+   {
+      writeHeader(inputSet.length, outputSet == null ? 0 : outputSet.length, F.length);
+
+      line.setLength(0);
+      append(inputSet, ",");
+      line.append(',');
+      if (outputSet != null)
+      {
+         append(outputSet, ",");
+         line.append(',');
+      }
+      append(F, ",");
+      line.append('\n');
+      writer.append(line);
+   }  // public void write(double[] inputSet, double[] outputSet, double[] F)
+
+   @Override
+   public void write(float[] inputSet, float[] F) throws IOException
+   {
+      writeHeader(inputSet.length, 0, F.length);
+
+      line.setLength(0);
+      append(inputSet, ",");
+      line.append(',');
+      append(F, ",");
+      line.append('\n');
+      writer.append(line);
+   }
+}  // public class CsvSink extends TextSink
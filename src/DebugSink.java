@@ -0,0 +1,58 @@
+package neuralnet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the results of each set in the human-readable form PerceptronRunner has always printed, such as
+ * "Inputs: 0.0 1.0, T: 1.0, F: 0.97", each set on a new line. It is meant for looking at a few sets by eye; the other
+ * sinks are far smaller and faster to write and read for scoring many sets.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class DebugSink extends TextSink
+{
+   static final String NEW_LINE = System.lineSeparator();
+
+   /**
+    * Constructs a new DebugSink object.
+    *
+    * @param out the stream the results are written to.
+    */
+   public DebugSink(OutputStream out)
+   {
+      super(out);
+   }
+
+   @Override
+   public void write(double[] inputSet, double[] outputSet, double[] F) throws IOException
+   {
+      line.setLength(0);
+      line.append(NEW_LINE).append("Inputs: ");
+      append(inputSet, " ");
+      line.append(", ");
+
+      if (outputSet != null)
+      {
+         line.append("T: ");
+         append(outputSet, " ");
+         line.append(", ");
+      }
+
+      line.append("F: ");
+      append(F, " ");
+      writer.append(line);
+   }  // public void write(double[] inputSet, double[] outputSet, double[] F)
+
+   @Override
+   public void write(float[] inputSet, float[] F) throws IOException
+   {
+      line.setLength(0);
+      line.append(NEW_LINE).append("Inputs: ");
+      append(inputSet, " ");
+      line.append(", F: ");
+      append(F, " ");
+      writer.append(line);
+   }
+}  // public class DebugSink extends TextSink
@@ -0,0 +1,117 @@
+package neuralnet;
+
+import java.io.PrintStream;
+
+/**
+ * Holds the summary metrics of scoring a network on a set of labeled sets: the total error, the mean squared error,
+ * the largest error of any single output and the accuracy of each output against a threshold. The total error is half
+ * the sum of the squared errors, the same measure training reports, so the two can be compared directly. An output
+ * counts as correct when it lands on the same side of the threshold as its expected value.
+ * An evaluation is filled one set at a time, and evaluations of separate parts of a dataset can be merged.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class Evaluation
+{
+   public int outputNodes;
+   public double threshold;
+
+   public long sets;
+   public double totalError;
+   public double maxError;
+   public long[] correct;
+
+   /**
+    * Constructs a new Evaluation object with no sets counted.
+    *
+    * @param outputNodes the number of output values in each set.
+    * @param threshold   the value that divides the outputs into two classes when counting accuracy.
+    */
+   public Evaluation(int outputNodes, double threshold)
+   {
+      this.outputNodes = outputNodes;
+      this.threshold = threshold;
+      correct = new long[outputNodes];
+   }
+
+   /**
+    * Counts the outputs of one set.
+    *
+    * @param outputSet the expected output values of the set.
+    * @param F         the array holding the output values the network found.
+    * @param offset    the index in F of the first output value of the set.
+    */
+   public void add(double[] outputSet, double[] F, int offset)
+   {
+      for (int i = 0; i < outputNodes; i++)
+      {
+         double f = F[offset + i];
+         double omega = outputSet[i] - f;
+         double error = Math.abs(omega);
+
+         totalError += 0.5 * omega * omega;
+         if (error > maxError) maxError = error;
+         if ((f >= threshold) == (outputSet[i] >= threshold)) correct[i]++;
+      }
+
+      sets++;
+   }  // public void add(double[] outputSet, double[] F, int offset)
+
+   /**
+    * Adds the counts of another evaluation of the same network to this one.
+    *
+    * @param other the evaluation of another part of the dataset.
+    */
+   public void merge(Evaluation other)
+   {
+      sets += other.sets;
+      totalError += other.totalError;
+      maxError = Math.max(maxError, other.maxError);
+
+      for (int i = 0; i < outputNodes; i++)
+      {
+         correct[i] += other.correct[i];
+      }
+   }
+
+   /**
+    * Finds the mean of the squared error over every output of every set.
+    *
+    * @return returns the mean squared error, or 0 if no sets were counted.
+    */
+   public double meanSquaredError()
+   {
+      return sets > 0 ? 2.0 * totalError / (sets * outputNodes) : 0.0;
+   }
+
+   /**
+    * Finds the fraction of sets whose output lands on the same side of the threshold as its expected value.
+    *
+    * @param i the index of the output.
+    * @return returns the accuracy of the output from 0 to 1, or 0 if no sets were counted.
+    */
+   public double accuracy(int i)
+   {
+      return sets > 0 ? (double) correct[i] / sets : 0.0;
+   }
+
+   /**
+    * Prints the metrics, one per line.
+    *
+    * @param out the stream the metrics are printed to.
+    */
+   public void print(PrintStream out)
+   {
+      out.println(" - Sets: " + sets);
+      out.println(" - Total error: " + totalError);
+      out.println(" - Mean squared error: " + meanSquaredError());
+      out.println(" - Max error: " + maxError);
+
+      for (int i = 0; i < outputNodes; i++)
+      {
+         out.printf(" - Accuracy of output %d (threshold %s): %.2f%% (%d of %d)%n", i, threshold, 100.0 * accuracy(i),
+               correct[i], sets);
+      }
+   }  // public void print(PrintStream out)
+}     // public class Evaluation
@@ -0,0 +1,227 @@
+package neuralnet;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scores a network on every set of a PatternSource across the threads of a ForkJoinPool. Each chunk of the source is
+ * split into one contiguous shard per thread, and every worker runs its shard through its own BatchRunner a block at a
+ * time, counting the metrics of its sets into its own Evaluation. The evaluations are merged in worker order once the
+ * source is exhausted, so the metrics only depend on the sets and the number of threads.
+ * Sparse sets are run one at a time through a LayerState instead, so the first layer only visits the weights of their
+ * non-zero inputs.
+ * Writing the results of every set is optional: when a sink is given, the outputs of each chunk are kept and written
+ * in set order on the calling thread after the workers finish.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class Evaluator
+{
+   public int threads;
+   public double threshold = 0.5;
+   public boolean flushChunks;
+
+   private Network network;
+   private ForkJoinPool pool;
+   private Worker[] workers;
+   private double[] results = new double[0];
+
+   /**
+    * Runs a shard of a chunk through a BatchRunner and counts its metrics.
+    */
+   private static class Worker extends RecursiveAction
+   {
+      private static final long serialVersionUID = 1L;
+
+      Network network;
+      BatchRunner runner;
+      LayerState state;
+      double[] inputs;
+      double[] F;
+      Evaluation evaluation;
+
+      double[][] inputSets;
+      int[][] indexSets;
+      double[][] valueSets;
+      double[][] outputSets;
+      double[] results;
+      int start;
+      int end;
+
+      /**
+       * Runs every set of the shard, a block at a time, or one at a time when the sets are sparse.
+       */
+      @Override
+      protected void compute()
+      {
+         int inputNodes = runner.nodes[0];
+         int outputNodes = runner.nodes[runner.nodes.length - 1];
+
+         if (indexSets != null)
+         {
+            for (int t = start; t < end; t++)
+            {
+               double[] output = network.run(state, indexSets[t], valueSets[t]);
+               if (outputSets != null) evaluation.add(outputSets[t], output, 0);
+               if (results != null) System.arraycopy(output, 0, results, t * outputNodes, outputNodes);
+            }
+            return;
+         }
+
+         for (int block = start; block < end; block += runner.blockSize)
+         {
+            int rows = Math.min(runner.blockSize, end - block);
+
+            for (int p = 0; p < rows; p++)
+            {
+               System.arraycopy(inputSets[block + p], 0, inputs, p * inputNodes, inputNodes);
+            }
+            network.runBatch(runner, inputs, rows, F);
+
+            if (outputSets != null)
+            {
+               for (int p = 0; p < rows; p++)
+               {
+                  evaluation.add(outputSets[block + p], F, p * outputNodes);
+               }
+            }
+
+            if (results != null) System.arraycopy(F, 0, results, block * outputNodes, rows * outputNodes);
+         }  // for (int block = start; block < end; block += runner.blockSize)
+      }     // protected void compute()
+   }        // private static class Worker extends RecursiveAction
+
+   /**
+    * Constructs a new Evaluator object with its own thread pool and a BatchRunner for each thread.
+    *
+    * @param network the network to be scored.
+    * @param threads the number of threads each chunk is split across.
+    */
+   public Evaluator(Network network, int threads)
+   {
+      this.network = network;
+      this.threads = threads;
+
+      int[] nodes = network.nodes();
+      pool = new ForkJoinPool(threads);
+      workers = new Worker[threads];
+
+      for (int w = 0; w < threads; w++)
+      {
+         workers[w] = new Worker();
+         workers[w].network = network;
+         workers[w].runner = network.newBatchRunner(BatchRunner.DEFAULT_BLOCK_SIZE);
+         workers[w].state = network.newState();
+         workers[w].inputs = new double[BatchRunner.DEFAULT_BLOCK_SIZE * nodes[0]];
+         workers[w].F = new double[BatchRunner.DEFAULT_BLOCK_SIZE * nodes[nodes.length - 1]];
+      }
+   }  // public Evaluator(Network network, int threads)
+
+   /**
+    * Scores the network on every set of a source. The metrics are only counted when the source has expected outputs.
+    * When flushChunks is set, the sink is flushed after every chunk so a reader of a stream sees results as they are
+    * found.
+    *
+    * @param source the sets to be scored, rewound before the pass.
+    * @param sink   the sink the results of every set are written to, or null to only count the metrics.
+    * @return returns the metrics of the sets, which count no sets when the source has no expected outputs.
+    * @throws IOException if the results cannot be written.
+    */
+   public Evaluation evaluate(PatternSource source, ResultsSink sink) throws IOException
+   {
+      int[] nodes = network.nodes();
+      int outputNodes = nodes[nodes.length - 1];
+      boolean labeled = source.outputNodes() > 0;
+
+      for (Worker worker : workers)
+      {
+         worker.evaluation = new Evaluation(outputNodes, threshold);
+      }
+
+      double[] F = new double[outputNodes];
+      double[] dense = null;
+      source.rewind();
+      int count;
+
+      while ((count = source.next()) > 0)
+      {
+         if (sink != null && results.length < count * outputNodes) results = new double[count * outputNodes];
+
+         for (int w = 0; w < threads; w++)
+         {
+            Worker worker = workers[w];
+            worker.inputSets = source.inputs();
+            worker.indexSets = source.inputIndices();
+            worker.valueSets = source.inputValues();
+            worker.outputSets = labeled ? source.outputs() : null;
+            worker.results = sink != null ? results : null;
+            worker.start = (int) ((long) count * w / threads);
+            worker.end = (int) ((long) count * (w + 1) / threads);
+
+            worker.reinitialize();
+            pool.execute(worker);
+         }
+
+         for (Worker worker : workers)
+         {
+            worker.join();
+         }
+
+         if (sink != null)
+         {
+            for (int t = 0; t < count; t++)
+            {
+               double[] inputSet;
+               if (source.inputIndices() != null)
+               {
+                  if (dense == null) dense = new double[nodes[0]];
+                  inputSet = densify(source.inputIndices()[t], source.inputValues()[t], dense);
+               }
+               else inputSet = source.inputs()[t];
+
+               System.arraycopy(results, t * outputNodes, F, 0, outputNodes);
+               sink.write(inputSet, labeled ? source.outputs()[t] : null, F);
+            }  // for (int t = 0; t < count; t++)
+            if (flushChunks) sink.flush();
+         }
+      }  // while ((count = source.next()) > 0)
+
+      Evaluation evaluation = new Evaluation(outputNodes, threshold);
+      for (Worker worker : workers)
+      {
+         evaluation.merge(worker.evaluation);
+      }
+
+      return evaluation;
+   }  // public Evaluation evaluate(PatternSource source, ResultsSink sink)
+
+   /**
+    * Spreads a sparse set into a dense row for a sink that writes the inputs.
+    *
+    * @param index the ascending indices of the non-zero input values of the set.
+    * @param value the non-zero input values, one for each index.
+    * @param row   the row to be filled, with one value per input node.
+    * @return returns the filled row.
+    */
+   private static double[] densify(int[] index, double[] value, double[] row)
+   {
+      Arrays.fill(row, 0.0);
+      for (int p = 0; p < index.length; p++)
+      {
+         row[index[p]] = value[p];
+      }
+
+      return row;
+   }
+
+   /**
+    * Stops the threads of the pool once scoring is over.
+    */
+   public void shutdown()
+   {
+      pool.shutdown();
+   }
+}  // public class Evaluator
@@ -0,0 +1,102 @@
+package neuralnet;
+
+/**
+ * Holds the preallocated per-layer float buffers of the float32 inference engine, and propagates patterns forward
+ * through FloatWeights without allocating.
+ * Weighted sums are accumulated in float, which lets the JIT pack twice as many products into each vector register as
+ * the double engine does. Only the activation function itself is evaluated in double, and its result is rounded back
+ * to float.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class FloatLayerState
+{
+   public int[] nodes;
+
+   public float[][] h;
+
+   public Activation activation;
+
+   private float[] input;
+   private double[] output;
+
+   /**
+    * Constructs a new FloatLayerState object and allocates the buffers of every layer.
+    *
+    * @param activation the activation function of every node.
+    * @param nodes      the number of nodes in each layer of the network, from the input layer to the output layer.
+    */
+   public FloatLayerState(Activation activation, int... nodes)
+   {
+      this.activation = activation;
+      this.nodes = nodes.clone();
+
+      h = new float[nodes.length][];
+      for (int n = 1; n < nodes.length; n++)
+      {
+         h[n] = new float[nodes[n]];
+      }
+
+      input = new float[nodes[0]];
+      output = new double[nodes[nodes.length - 1]];
+   }  // public FloatLayerState(Activation activation, int... nodes)
+
+   /**
+    * Propagates an input set forward one layer at a time.
+    *
+    * @param W        the float weights of the network.
+    * @param inputSet the input values of the set.
+    * @return returns the output activations, which are overwritten by the next forward pass.
+    */
+   public float[] forward(FloatWeights W, float[] inputSet)
+   {
+      h[0] = inputSet;
+
+      for (int n = 0; n < nodes.length - 1; n++)
+      {
+         float[] w = W.values[n];
+         float[] from = h[n];
+         float[] to = h[n + 1];
+         int fromNodes = nodes[n];
+
+         for (int j = 0; j < to.length; j++)
+         {
+            int row = j * fromNodes;
+            float theta = 0.0f;
+
+            for (int k = 0; k < fromNodes; k++)
+            {
+               theta += w[row + k] * from[k];
+            }
+
+            to[j] = (float) activation.f(theta);
+         }  // for (int j = 0; j < to.length; j++)
+      }     // for (int n = 0; n < nodes.length - 1; n++)
+
+      return h[nodes.length - 1];
+   }  // public float[] forward(FloatWeights W, float[] inputSet)
+
+   /**
+    * Propagates a double input set forward, rounding the inputs to float first, and widens the outputs back to double.
+    *
+    * @param W        the float weights of the network.
+    * @param inputSet the input values of the set.
+    * @return returns the output activations as doubles, which are overwritten by the next forward pass.
+    */
+   public double[] forward(FloatWeights W, double[] inputSet)
+   {
+      for (int k = 0; k < input.length; k++)
+      {
+         input[k] = (float) inputSet[k];
+      }
+
+      float[] F = forward(W, input);
+      for (int i = 0; i < output.length; i++)
+      {
+         output[i] = F[i];
+      }
+
+      return output;
+   }  // public double[] forward(FloatWeights W, double[] inputSet)
+}     // public class FloatLayerState
@@ -0,0 +1,61 @@
+package neuralnet;
+
+/**
+ * Stores the weights of a perceptron as floats, in the same flat row-major layout as Weights, for the float32
+ * inference engine. Each weight is the double weight rounded to the nearest float, so these weights take half the
+ * memory and half the bandwidth of the doubles they were made from.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class FloatWeights
+{
+   public int[] nodes;
+   public float[][] values;
+
+   /**
+    * Constructs a new FloatWeights object with every weight set to zero.
+    *
+    * @param nodes the number of nodes in each layer of the network, from the input layer to the output layer.
+    */
+   public FloatWeights(int... nodes)
+   {
+      this.nodes = nodes.clone();
+      values = new float[nodes.length - 1][];
+
+      for (int n = 0; n < values.length; n++)
+      {
+         values[n] = new float[nodes[n] * nodes[n + 1]];
+      }
+   }  // public FloatWeights(int... nodes)
+
+   /**
+    * Constructs a new FloatWeights object from double weights, rounding each weight to the nearest float.
+    *
+    * @param W the double weights.
+    */
+   public FloatWeights(Weights W)
+   {
+      this(W.nodes);
+      copyFrom(W);
+   }
+
+   /**
+    * Overwrites every weight with the matching double weight rounded to the nearest float, without allocating.
+    *
+    * @param W the double weights, which must have the same layer sizes.
+    */
+   public void copyFrom(Weights W)
+   {
+      for (int n = 0; n < values.length; n++)
+      {
+         float[] layer = values[n];
+         double[] source = W.values[n];
+
+         for (int i = 0; i < layer.length; i++)
+         {
+            layer[i] = (float) source[i];
+         }
+      }
+   }  // public void copyFrom(Weights W)
+}     // public class FloatWeights
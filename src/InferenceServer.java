@@ -0,0 +1,263 @@
+package neuralnet;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Serves predictions of a trained network over HTTP on the loopback interface, loading the weights once and keeping
+ * them for the life of the process. Concurrent requests are coalesced into micro-batches by a MicroBatcher.
+ * POST /predict takes one set per line, as the input values separated by whitespace, and answers with the output
+ * values of each set on the matching line. GET /metrics answers with a JSON object of the request and batch counts,
+ * the p50 and p99 latencies and the throughput.
+ * Usage: java neuralnet.InferenceServer [configPath], which reads the network, weightsPath, serverPort, serverThreads,
+ * maxBatchSize and maxBatchWait options of the configuration file.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class InferenceServer
+{
+   private final int inputNodes;
+   private final MicroBatcher batcher;
+   private final LatencyStats stats;
+   private final HttpServer server;
+   private final ExecutorService executor;
+
+   static
+   {
+      // Responses are written as headers and then a body, so without TCP_NODELAY each one waits on a delayed ACK
+      if (System.getProperty("sun.net.httpserver.nodelay") == null) System.setProperty("sun.net.httpserver.nodelay", "true");
+   }
+
+   /**
+    * Constructs a new InferenceServer object and binds it to a port, without accepting requests until start is called.
+    *
+    * @param network       the network to serve.
+    * @param port          the port to listen on, or 0 for any free port.
+    * @param threads       the number of threads handling requests.
+    * @param maxBatchSize  the most sets run together in one batch, which must be positive.
+    * @param maxWaitMicros the longest a request waits for others to join its batch.
+    * @throws IOException if the port cannot be bound.
+    */
+   public InferenceServer(Network network, int port, int threads, int maxBatchSize, long maxWaitMicros) throws IOException
+   {
+      inputNodes = network.nodes()[0];
+      stats = new LatencyStats();
+      batcher = new MicroBatcher(network, maxBatchSize, maxWaitMicros, stats);
+
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+      executor = Executors.newFixedThreadPool(threads);
+      server.setExecutor(executor);
+      server.createContext("/predict", this::handlePredict);
+      server.createContext("/metrics", this::handleMetrics);
+   }  // public InferenceServer(Network network, int port, int threads, int maxBatchSize, long maxWaitMicros)
+
+   /**
+    * Starts accepting requests.
+    */
+   public void start()
+   {
+      server.start();
+   }
+
+   /**
+    * Finds the port the server listens on.
+    *
+    * @return returns the bound port.
+    */
+   public int port()
+   {
+      return server.getAddress().getPort();
+   }
+
+   /**
+    * Finds the statistics of every request served so far.
+    *
+    * @return returns the latency and throughput statistics.
+    */
+   public LatencyStats stats()
+   {
+      return stats;
+   }
+
+   /**
+    * Stops accepting requests, waits briefly for those in progress and stops the batcher.
+    */
+   public void stop()
+   {
+      server.stop(1);
+      batcher.close();
+      executor.shutdown();
+   }
+
+   /**
+    * Parses the sets of a request body.
+    *
+    * @param body the request body, one set per line.
+    * @return returns the input values of each set.
+    * @throws NumberFormatException if a set has the wrong number of values or a value is not a number.
+    */
+   private double[][] parseSets(String body)
+   {
+      List<double[]> sets = new ArrayList<>();
+
+      for (String line : body.split("\n"))
+      {
+         String trimmed = line.trim();
+         if (trimmed.isEmpty()) continue;
+
+         String[] values = trimmed.split("[\\s,]+");
+         if (values.length != inputNodes)
+            throw new NumberFormatException("expected " + inputNodes + " values per set, found " + values.length);
+
+         double[] set = new double[inputNodes];
+         for (int k = 0; k < inputNodes; k++)
+         {
+            set[k] = Double.parseDouble(values[k]);
+         }
+         sets.add(set);
+      }  // for (String line : body.split("\n"))
+
+      return sets.toArray(new double[0][]);
+   }     // private double[][] parseSets(String body)
+
+   /**
+    * Answers a prediction request.
+    *
+    * @param exchange the request and its response.
+    * @throws IOException if the request cannot be read or the response cannot be written.
+    */
+   private void handlePredict(HttpExchange exchange) throws IOException
+   {
+      long start = System.nanoTime();
+
+      if (!exchange.getRequestMethod().equals("POST"))
+      {
+         respond(exchange, 405, "POST one set per line\n");
+         return;
+      }
+
+      double[][] inputs;
+      try (InputStream in = exchange.getRequestBody())
+      {
+         inputs = parseSets(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+      }
+      catch (NumberFormatException e)
+      {
+         respond(exchange, 400, e.getMessage() + "\n");
+         return;
+      }
+
+      if (inputs.length == 0)
+      {
+         respond(exchange, 400, "no sets in request\n");
+         return;
+      }
+
+      double[][] outputs;
+      try
+      {
+         outputs = batcher.predict(inputs);
+      }
+      catch (InterruptedException | RejectedExecutionException e)
+      {
+         respond(exchange, 503, "server is busy or stopping\n");
+         return;
+      }
+      catch (IllegalStateException e)
+      {
+         respond(exchange, 500, "prediction failed (" + e.getCause() + ")\n");
+         return;
+      }
+
+      StringBuilder response = new StringBuilder(outputs.length * outputs[0].length * 20);
+      for (double[] row : outputs)
+      {
+         for (int i = 0; i < row.length; i++)
+         {
+            if (i > 0) response.append(' ');
+            response.append(row[i]);
+         }
+         response.append('\n');
+      }
+
+      respond(exchange, 200, response.toString());
+      stats.recordRequest(System.nanoTime() - start, inputs.length);
+   }  // private void handlePredict(HttpExchange exchange)
+
+   /**
+    * Answers a metrics request.
+    *
+    * @param exchange the request and its response.
+    * @throws IOException if the response cannot be written.
+    */
+   private void handleMetrics(HttpExchange exchange) throws IOException
+   {
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      respond(exchange, 200, stats.toJson() + "\n");
+   }
+
+   /**
+    * Writes a complete response.
+    *
+    * @param exchange the request and its response.
+    * @param status   the HTTP status code.
+    * @param body     the response body.
+    * @throws IOException if the response cannot be written.
+    */
+   private static void respond(HttpExchange exchange, int status, String body) throws IOException
+   {
+      byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(status, bytes.length);
+
+      try (OutputStream out = exchange.getResponseBody())
+      {
+         out.write(bytes);
+      }
+   }  // private static void respond(HttpExchange exchange, int status, String body)
+
+   /**
+    * Loads the network and weights named by a configuration file and serves them until the process is ended.
+    *
+    * @param args options from the command line which may have a path to a configuration file.
+    * @throws IOException if the port cannot be bound.
+    */
+   public static void main(String[] args) throws IOException
+   {
+      Config config = new Config(args.length > 0 ? args[0] : "src/config/defaultConfig.json");
+
+      int[] nodes = PerceptronRunner.readNodes(config);
+      Activation activation = Activation.forName(config.get("activation", "activation"));
+      Weights W = WeightsHandler.readWeights(nodes, config.get("weightsPath", "filePath"));
+
+      int port = Integer.parseInt(config.get("serverPort", "intPos"));
+      int threads = Integer.parseInt(config.get("serverThreads", "intPos"));
+      if (threads == 0) threads = Runtime.getRuntime().availableProcessors();
+      int maxBatchSize = Integer.parseInt(config.get("maxBatchSize", "intPos"));
+      if (maxBatchSize < 1)
+      {
+         System.out.println("maxBatchSize must be at least 1 -- ending process.");
+         System.exit(1);
+      }
+      long maxBatchWait = Long.parseLong(config.get("maxBatchWait", "intPos"));
+
+      InferenceServer server = new InferenceServer(new Network(W, activation), port, threads, maxBatchSize, maxBatchWait);
+      Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+      server.start();
+
+      System.out.println("Serving on http://localhost:" + server.port() + "/predict (batches of up to " + maxBatchSize
+            + " sets, waiting up to " + maxBatchWait + " microseconds).");
+   }  // public static void main(String[] args)
+}     // public class InferenceServer
@@ -0,0 +1,80 @@
+package neuralnet;
+
+/**
+ * Performs the inner loops of the forward pass, the backward pass and the weight updates over contiguous rows of the
+ * flat weight arrays. One implementation is chosen for the whole process when the class is first used: the scalar
+ * loops by default, or the SIMD loops of VectorKernels when the kernels system property is "vector" and the
+ * jdk.incubator.vector module is available. Because the choice is a constant, the JIT inlines the chosen loops straight
+ * into their callers.
+ * Every element-wise operation gives the same bits in both implementations. Only dot may differ in the last bits,
+ * because the vector loops add the products in a different order.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public interface Kernels
+{
+   Kernels ACTIVE = select(System.getProperty("kernels", "scalar"));
+
+   /**
+    * Calculates the dot product of a row of one array and the start of another.
+    *
+    * @param x       the first array.
+    * @param xOffset the index of the first element of the row of x.
+    * @param y       the second array, read from index 0.
+    * @param length  the number of elements in the row.
+    * @return returns the sum of x[xOffset + k] * y[k] over the row.
+    */
+   double dot(double[] x, int xOffset, double[] y, int length);
+
+   /**
+    * Adds a multiple of a row of one array to a row of another: y[yOffset + k] += a * x[xOffset + k].
+    *
+    * @param a       the multiple.
+    * @param x       the array being added.
+    * @param xOffset the index of the first element of the row of x.
+    * @param y       the array being added to.
+    * @param yOffset the index of the first element of the row of y.
+    * @param length  the number of elements in the row.
+    */
+   void axpy(double a, double[] x, int xOffset, double[] y, int yOffset, int length);
+
+   /**
+    * Applies the gradient descent step of one node to its row of weights: w[wOffset + k] += lambda * h[k] * psi, with
+    * the products taken in that order so the weights match the scalar update bit for bit.
+    *
+    * @param lambda  the learning rate.
+    * @param h       the activations feeding the node.
+    * @param psi     the delta of the node.
+    * @param w       the weights of the layer.
+    * @param wOffset the index of the first weight feeding the node.
+    * @param length  the number of activations feeding the node.
+    */
+   void update(double lambda, double[] h, double psi, double[] w, int wOffset, int length);
+
+   /**
+    * Chooses the kernels for the process, falling back to the scalar kernels when the vector kernels were not
+    * compiled or the jdk.incubator.vector module was not added at startup.
+    *
+    * @param name the name of the kernels, "scalar" or "vector".
+    * @return returns the chosen kernels.
+    */
+   static Kernels select(String name)
+   {
+      Kernels kernels = new ScalarKernels();
+
+      if (name.equals("vector"))
+      {
+         try
+         {
+            kernels = (Kernels) Class.forName("neuralnet.VectorKernels").getDeclaredConstructor().newInstance();
+         }
+         catch (ReflectiveOperationException | LinkageError e)
+         {
+            System.out.println("Vector kernels are not available (" + e + ") -- using scalar kernels.");
+         }
+      }
+
+      return kernels;
+   }  // static Kernels select(String name)
+}     // public interface Kernels
@@ -0,0 +1,88 @@
+package neuralnet;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Records the latency of every request served and the number of sets and batches, and reports latency percentiles and
+ * throughput. The most recent SAMPLES latencies are kept in a ring buffer, so recording never allocates and the
+ * percentiles describe recent traffic. Every method may be called from any thread.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class LatencyStats
+{
+   static final int SAMPLES = 1 << 16;
+
+   private final long[] latencies = new long[SAMPLES];
+   private final long startNanos = System.nanoTime();
+   private long requests;
+   private long sets;
+   private long batches;
+   private long batchedSets;
+
+   /**
+    * Records one request.
+    *
+    * @param nanos the time from receiving the request to having its outputs.
+    * @param count the number of sets in the request.
+    */
+   public synchronized void recordRequest(long nanos, int count)
+   {
+      latencies[(int) (requests % SAMPLES)] = nanos;
+      requests++;
+      sets += count;
+   }
+
+   /**
+    * Records one batched forward pass.
+    *
+    * @param count the number of sets in the batch.
+    */
+   public synchronized void recordBatch(int count)
+   {
+      batches++;
+      batchedSets += count;
+   }
+
+   /**
+    * Finds a percentile of the recorded latencies.
+    *
+    * @param percentile the percentile, from 0 to 100.
+    * @return returns the latency at the percentile in milliseconds, or 0 if nothing has been recorded.
+    */
+   public double percentileMillis(double percentile)
+   {
+      long[] sorted;
+      synchronized (this)
+      {
+         sorted = Arrays.copyOf(latencies, (int) Math.min(requests, SAMPLES));
+      }
+      if (sorted.length == 0) return 0.0;
+
+      Arrays.sort(sorted);
+      int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+      return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+   }  // public double percentileMillis(double percentile)
+
+   /**
+    * Summarizes the statistics as a JSON object.
+    *
+    * @return returns the counts, the average batch size, the p50 and p99 latencies and the throughput in sets per
+    *         second since the statistics were created.
+    */
+   public String toJson()
+   {
+      double p50 = percentileMillis(50.0);
+      double p99 = percentileMillis(99.0);
+
+      synchronized (this)
+      {
+         double seconds = (System.nanoTime() - startNanos) / 1e9;
+         return String.format(Locale.ROOT, "{\"requests\": %d, \"sets\": %d, \"batches\": %d, \"averageBatchSize\": %.2f, "
+                     + "\"p50Ms\": %.3f, \"p99Ms\": %.3f, \"setsPerSecond\": %.1f}",
+               requests, sets, batches, batches == 0 ? 0.0 : (double) batchedSets / batches, p50, p99, sets / seconds);
+      }
+   }  // public String toJson()
+}     // public class LatencyStats
@@ -0,0 +1,296 @@
+package neuralnet;
+
+/**
+ * Holds the preallocated per-layer buffers of a perceptron with any number of hidden layers, and propagates patterns
+ * forward and errors backward through them without allocating.
+ * Layer 0 is the input layer and the last layer is the output layer. h[0] refers to the current input set rather than
+ * a copy of it. The derivative of the activation function is taken from the stored activations as f(1-f), so the
+ * backward pass never evaluates the activation function again.
+ * The loops over a row of weights run through Kernels.ACTIVE, so they use SIMD instructions when the vector kernels
+ * are selected.
+ * A sparse input set, given as the indices and values of its non-zero inputs, is kept as is instead of h[0], and the
+ * first layer of the forward pass and of the weight update only visits the weights of those inputs, so their cost
+ * scales with the number of non-zeros rather than the number of input nodes.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class LayerState
+{
+   public int[] nodes;
+
+   public double[][] Theta;
+   public double[][] h;
+   public double[][] Psi;
+
+   public Activation activation;
+
+   public double totalError;
+
+   private int[] sparseIndex;
+   private double[] sparseValue;
+
+   /**
+    * Constructs a new LayerState object with the exact sigmoid and allocates the buffers of every layer.
+    *
+    * @param nodes the number of nodes in each layer of the network, from the input layer to the output layer.
+    */
+   public LayerState(int... nodes)
+   {
+      this(new Sigmoid(), nodes);
+   }
+
+   /**
+    * Constructs a new LayerState object and allocates the buffers of every layer.
+    *
+    * @param activation the activation function of every node.
+    * @param nodes      the number of nodes in each layer of the network, from the input layer to the output layer.
+    */
+   public LayerState(Activation activation, int... nodes)
+   {
+      this.activation = activation;
+      this.nodes = nodes.clone();
+
+      Theta = new double[nodes.length][];
+      h = new double[nodes.length][];
+      Psi = new double[nodes.length][];
+
+      for (int n = 1; n < nodes.length; n++)
+      {
+         Theta[n] = new double[nodes[n]];
+         h[n] = new double[nodes[n]];
+         Psi[n] = new double[nodes[n]];
+      }
+   }  // public LayerState(Activation activation, int... nodes)
+
+   /**
+    * Calculates f' of a node from its activation, which for sigmoid is f(1-f).
+    *
+    * @param f the activation of the node.
+    * @return returns f' of the node as a double.
+    */
+   private static double fPrime(double f)
+   {
+      return f * (1.0 - f);
+   }
+
+   /**
+    * Finds the activations of the output layer.
+    *
+    * @return returns the output activations, which are overwritten by the next forward pass.
+    */
+   public double[] output()
+   {
+      return h[nodes.length - 1];
+   }
+
+   /**
+    * Propagates an input set forward one layer at a time, evaluating every node of a layer before any node of the
+    * next layer.
+    *
+    * @param W        the weights of the network.
+    * @param inputSet the input values of the set.
+    * @return returns the output activations, which are overwritten by the next forward pass.
+    */
+   public double[] forward(Weights W, double[] inputSet)
+   {
+      h[0] = inputSet;
+      sparseIndex = null;
+      sparseValue = null;
+
+      forwardFrom(W, 0);
+      return output();
+   }  // public double[] forward(Weights W, double[] inputSet)
+
+   /**
+    * Propagates a sparse input set forward, the first layer summing only the weights of the non-zero inputs. With the
+    * scalar kernels the outputs are bit-identical to those of the same set stored densely, since every input left out
+    * only adds a product of zero.
+    *
+    * @param W     the weights of the network.
+    * @param index the indices of the non-zero input values, in ascending order.
+    * @param value the non-zero input values, one for each index.
+    * @return returns the output activations, which are overwritten by the next forward pass.
+    */
+   public double[] forward(Weights W, int[] index, double[] value)
+   {
+      h[0] = null;
+      sparseIndex = index;
+      sparseValue = value;
+
+      double[] w = W.values[0];
+      double[] theta = Theta[1];
+      double[] to = h[1];
+      int fromNodes = nodes[0];
+
+      for (int j = 0; j < to.length; j++)
+      {
+         int row = j * fromNodes;
+         double sum = 0.0;
+
+         for (int p = 0; p < index.length; p++)
+         {
+            sum += w[row + index[p]] * value[p];
+         }
+
+         theta[j] = sum;
+         to[j] = activation.f(sum);
+      }  // for (int j = 0; j < to.length; j++)
+
+      forwardFrom(W, 1);
+      return output();
+   }  // public double[] forward(Weights W, int[] index, double[] value)
+
+   /**
+    * Propagates the activations of one layer forward through every layer after it, evaluating every node of a layer
+    * before any node of the next layer.
+    *
+    * @param W     the weights of the network.
+    * @param first the index of the layer whose activations are already known.
+    */
+   private void forwardFrom(Weights W, int first)
+   {
+      for (int n = first; n < nodes.length - 1; n++)
+      {
+         double[] w = W.values[n];
+         double[] from = h[n];
+         double[] theta = Theta[n + 1];
+         double[] to = h[n + 1];
+         int fromNodes = nodes[n];
+
+         for (int j = 0; j < to.length; j++)
+         {
+            theta[j] = Kernels.ACTIVE.dot(w, j * fromNodes, from, fromNodes);
+            to[j] = activation.f(theta[j]);
+         }
+      }  // for (int n = first; n < nodes.length - 1; n++)
+   }     // private void forwardFrom(Weights W, int first)
+
+   /**
+    * Propagates the error of the last forward pass backward, adding it to totalError and storing the delta of every
+    * node in Psi. The weights are only read.
+    *
+    * @param W         the weights of the network, as used by the last forward pass.
+    * @param outputSet the expected output values of the set.
+    */
+   public void backward(Weights W, double[] outputSet)
+   {
+      int last = nodes.length - 1;
+      double[] F = h[last];
+      double[] psi = Psi[last];
+
+      for (int i = 0; i < nodes[last]; i++)
+      {
+         totalError += 0.5 * (outputSet[i] - F[i]) * (outputSet[i] - F[i]);
+         psi[i] = (outputSet[i] - F[i]) * fPrime(F[i]);
+      }
+
+      for (int n = last - 1; n > 0; n--)
+      {
+         double[] w = W.values[n];
+         double[] next = Psi[n + 1];
+         double[] Omega = Psi[n];
+         double[] f = h[n];
+         int nodesHere = nodes[n];
+
+         for (int j = 0; j < nodesHere; j++)
+         {
+            Omega[j] = 0.0;
+         }
+
+         for (int i = 0; i < next.length; i++)
+         {
+            Kernels.ACTIVE.axpy(next[i], w, i * nodesHere, Omega, 0, nodesHere);
+         }
+
+         for (int j = 0; j < nodesHere; j++)
+         {
+            Omega[j] *= fPrime(f[j]);
+         }
+      }  // for (int n = last - 1; n > 0; n--)
+   }     // public void backward(Weights W, double[] outputSet)
+
+   /**
+    * Applies the gradient descent step of the last backward pass to the weights, touching only the first-layer weights
+    * of the non-zero inputs when the last forward pass was sparse.
+    *
+    * @param W      the weights to be updated.
+    * @param lambda the learning rate applied to each weight change.
+    */
+   public void update(Weights W, double lambda)
+   {
+      int first = 0;
+
+      if (sparseIndex != null)
+      {
+         double[] w = W.values[0];
+         double[] psi = Psi[1];
+         int fromNodes = nodes[0];
+
+         for (int j = 0; j < psi.length; j++)
+         {
+            int row = j * fromNodes;
+            for (int p = 0; p < sparseIndex.length; p++)
+            {
+               w[row + sparseIndex[p]] += lambda * sparseValue[p] * psi[j];
+            }
+         }
+         first = 1;
+      }  // if (sparseIndex != null)
+
+      for (int n = first; n < nodes.length - 1; n++)
+      {
+         double[] w = W.values[n];
+         double[] from = h[n];
+         double[] psi = Psi[n + 1];
+         int fromNodes = nodes[n];
+
+         for (int j = 0; j < psi.length; j++)
+         {
+            Kernels.ACTIVE.update(lambda, from, psi[j], w, j * fromNodes, fromNodes);
+         }
+      }  // for (int n = 0; n < nodes.length - 1; n++)
+   }     // public void update(Weights W, double lambda)
+
+   /**
+    * Adds the gradient descent step of the last backward pass, before scaling by the learning rate, to a gradient
+    * buffer instead of applying it to the weights, touching only the first-layer gradients of the non-zero inputs
+    * when the last forward pass was sparse.
+    *
+    * @param G the gradient buffer, shaped like the weights of the network.
+    */
+   public void accumulate(Weights G)
+   {
+      int first = 0;
+
+      if (sparseIndex != null)
+      {
+         double[] g = G.values[0];
+         double[] psi = Psi[1];
+         int fromNodes = nodes[0];
+
+         for (int j = 0; j < psi.length; j++)
+         {
+            int row = j * fromNodes;
+            for (int p = 0; p < sparseIndex.length; p++)
+            {
+               g[row + sparseIndex[p]] += psi[j] * sparseValue[p];
+            }
+         }
+         first = 1;
+      }  // if (sparseIndex != null)
+
+      for (int n = first; n < nodes.length - 1; n++)
+      {
+         double[] g = G.values[n];
+         double[] from = h[n];
+         double[] psi = Psi[n + 1];
+         int fromNodes = nodes[n];
+
+         for (int j = 0; j < psi.length; j++)
+         {
+            Kernels.ACTIVE.axpy(psi[j], from, 0, g, j * fromNodes, fromNodes);
+         }
+      }  // for (int n = 0; n < nodes.length - 1; n++)
+   }     // public void accumulate(Weights G)
+}        // public class LayerState
@@ -0,0 +1,70 @@
+package neuralnet;
+
+/**
+ * Supplies sets that are already loaded into arrays, handing them all out as a single chunk.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class MemorySource implements PatternSource
+{
+   private double[][] inputSets;
+   private double[][] outputSets;
+   private int inputNodes;
+   private int outputNodes;
+   private boolean read;
+
+   /**
+    * Constructs a new MemorySource object over arrays of sets.
+    *
+    * @param inputNodes  the number of input values in each set.
+    * @param outputNodes the number of output values in each set.
+    * @param inputSets   the input values of each set.
+    * @param outputSets  the output values of each set.
+    */
+   public MemorySource(int inputNodes, int outputNodes, double[][] inputSets, double[][] outputSets)
+   {
+      this.inputNodes = inputNodes;
+      this.outputNodes = outputNodes;
+      this.inputSets = inputSets;
+      this.outputSets = outputSets;
+   }
+
+   @Override
+   public int inputNodes()
+   {
+      return inputNodes;
+   }
+
+   @Override
+   public int outputNodes()
+   {
+      return outputNodes;
+   }
+
+   @Override
+   public void rewind()
+   {
+      read = false;
+   }
+
+   @Override
+   public int next()
+   {
+      int count = read ? 0 : inputSets.length;
+      read = true;
+      return count;
+   }
+
+   @Override
+   public double[][] inputs()
+   {
+      return inputSets;
+   }
+
+   @Override
+   public double[][] outputs()
+   {
+      return outputSets;
+   }
+}  // public class MemorySource implements PatternSource
@@ -0,0 +1,240 @@
+package neuralnet;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces prediction requests from many threads into batches for the batched forward pass.
+ * A single batching thread takes the first waiting request, then keeps collecting requests until the batch holds
+ * maxBatchSize sets or maxWaitMicros have passed since the first one arrived, and runs the whole batch through one
+ * BatchRunner. A lone request therefore waits at most maxWaitMicros, while under load each pass of the weights serves
+ * many requests. A request with more sets than maxBatchSize is run as a batch of its own.
+ * A request is rejected rather than left waiting when the batcher is closed, or when the queue stays full for
+ * QUEUE_TIMEOUT_MILLIS, so a caller never blocks on a batcher that will not run it.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class MicroBatcher implements Closeable
+{
+   static final int QUEUE_CAPACITY = 4096;
+   static final long QUEUE_TIMEOUT_MILLIS = 1000;
+
+   private final Network network;
+   private final int inputNodes;
+   private final int outputNodes;
+   private final int maxBatchSize;
+   private final long maxWaitNanos;
+   private final LatencyStats stats;
+
+   private final BlockingQueue<Request> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+   private final Thread batcher;
+   private volatile boolean closed;
+
+   /**
+    * A group of sets waiting to be run, with the future its outputs are delivered through.
+    */
+   private static class Request
+   {
+      final double[][] inputs;
+      final CompletableFuture<double[][]> outputs = new CompletableFuture<>();
+
+      /**
+       * Constructs a new Request object.
+       *
+       * @param inputs the input values of each set.
+       */
+      Request(double[][] inputs)
+      {
+         this.inputs = inputs;
+      }
+   }  // private static class Request
+
+   /**
+    * Constructs a new MicroBatcher object and starts its batching thread.
+    *
+    * @param network       the network to run.
+    * @param maxBatchSize  the most sets run together, unless a single request has more, which must be positive.
+    * @param maxWaitMicros the longest the first request of a batch waits for more requests to join it.
+    * @param stats         the statistics every batch is recorded in.
+    * @throws IllegalArgumentException if maxBatchSize is not positive.
+    */
+   public MicroBatcher(Network network, int maxBatchSize, long maxWaitMicros, LatencyStats stats)
+   {
+      if (maxBatchSize < 1) throw new IllegalArgumentException("maxBatchSize must be positive, not " + maxBatchSize);
+
+      int[] nodes = network.nodes();
+      this.network = network;
+      this.inputNodes = nodes[0];
+      this.outputNodes = nodes[nodes.length - 1];
+      this.maxBatchSize = maxBatchSize;
+      this.maxWaitNanos = maxWaitMicros * 1000L;
+      this.stats = stats;
+
+      batcher = new Thread(this::runBatches, "micro-batcher");
+      batcher.setDaemon(true);
+      batcher.start();
+   }  // public MicroBatcher(Network network, int maxBatchSize, long maxWaitMicros, LatencyStats stats)
+
+   /**
+    * Runs the network on a group of sets as part of the next batch, blocking until the outputs are ready.
+    * A request enqueued just as the batcher closes is either taken back out of the queue and rejected, or has already
+    * been taken by the batching thread, which runs or rejects everything it takes.
+    *
+    * @param inputs the input values of each set, which must not be changed until this returns.
+    * @return returns the output values of each set.
+    * @throws InterruptedException if the calling thread is interrupted while waiting.
+    * @throws RejectedExecutionException if the batcher is closed or its queue stays full.
+    * @throws IllegalStateException if running the batch failed, with the failure as its cause.
+    */
+   public double[][] predict(double[][] inputs) throws InterruptedException
+   {
+      if (closed) throw new RejectedExecutionException("batcher is closed");
+
+      Request request = new Request(inputs);
+      if (!queue.offer(request, QUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+         throw new RejectedExecutionException("batcher queue is full");
+
+      // The batcher may have drained the queue for the last time between the check above and the offer
+      if (closed && queue.remove(request)) throw new RejectedExecutionException("batcher is closed");
+
+      try
+      {
+         return request.outputs.get();
+      }
+      catch (ExecutionException e)
+      {
+         if (e.getCause() instanceof RejectedExecutionException) throw (RejectedExecutionException) e.getCause();
+         throw new IllegalStateException(e.getCause());
+      }
+   }  // public double[][] predict(double[][] inputs)
+
+   /**
+    * Collects and runs batches until the batcher is closed. A request that would overfill a batch is carried over to
+    * start the next one.
+    */
+   private void runBatches()
+   {
+      BatchRunner runner = network.newBatchRunner(maxBatchSize);
+      double[] inputs = new double[maxBatchSize * inputNodes];
+      double[] outputs = new double[maxBatchSize * outputNodes];
+      Request[] batch = new Request[maxBatchSize];
+      Request carried = null;
+
+      while (!closed)
+      {
+         int requests = 0;
+         int sets = 0;
+
+         try
+         {
+            Request first = carried != null ? carried : queue.poll(100, TimeUnit.MILLISECONDS);
+            carried = null;
+            if (first == null) continue;
+
+            batch[requests++] = first;
+            sets += first.inputs.length;
+            long deadline = System.nanoTime() + maxWaitNanos;
+
+            while (sets < maxBatchSize)
+            {
+               long remaining = deadline - System.nanoTime();
+               Request next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+               if (next == null) break;
+
+               if (sets + next.inputs.length > maxBatchSize)
+               {
+                  carried = next;
+                  break;
+               }
+
+               batch[requests++] = next;
+               sets += next.inputs.length;
+            }
+         }  // try
+         catch (InterruptedException e)
+         {
+            for (int r = 0; r < requests; r++)
+            {
+               batch[r].outputs.completeExceptionally(new RejectedExecutionException("batcher is closed"));
+            }
+            break;
+         }
+
+         try
+         {
+            if (sets > maxBatchSize)
+            {
+               batch[0].outputs.complete(network.runBatch(network.newBatchRunner(maxBatchSize), batch[0].inputs));
+            }
+            else
+            {
+               int set = 0;
+               for (int r = 0; r < requests; r++)
+               {
+                  for (double[] row : batch[r].inputs)
+                  {
+                     System.arraycopy(row, 0, inputs, set * inputNodes, inputNodes);
+                     set++;
+                  }
+               }
+
+               network.runBatch(runner, inputs, sets, outputs);
+
+               set = 0;
+               for (int r = 0; r < requests; r++)
+               {
+                  double[][] result = new double[batch[r].inputs.length][outputNodes];
+                  for (double[] row : result)
+                  {
+                     System.arraycopy(outputs, set * outputNodes, row, 0, outputNodes);
+                     set++;
+                  }
+                  batch[r].outputs.complete(result);
+               }
+            }  // else
+
+            stats.recordBatch(sets);
+         }     // try
+         catch (RuntimeException e)
+         {
+            for (int r = 0; r < requests; r++)
+            {
+               batch[r].outputs.completeExceptionally(e);
+            }
+         }
+      }  // while (!closed)
+
+      if (carried != null) carried.outputs.completeExceptionally(new RejectedExecutionException("batcher is closed"));
+
+      Request request;
+      while ((request = queue.poll()) != null)
+      {
+         request.outputs.completeExceptionally(new RejectedExecutionException("batcher is closed"));
+      }
+   }  // private void runBatches()
+
+   /**
+    * Stops the batching thread after its current batch, failing any requests still waiting.
+    */
+   @Override
+   public void close()
+   {
+      closed = true;
+      batcher.interrupt();
+
+      try
+      {
+         batcher.join();
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+      }
+   }  // public void close()
+}     // public class MicroBatcher implements Closeable
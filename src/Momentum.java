@@ -0,0 +1,58 @@
+package neuralnet;
+
+/**
+ * Applies gradient descent with momentum: every weight moves by a velocity that keeps a fraction of its last move and
+ * adds lambda times the new mean gradient, which speeds up progress along directions the gradient keeps pointing in.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class Momentum extends BufferedOptimizer
+{
+   public double momentum;
+
+   private Weights V;
+
+   /**
+    * Constructs a new Momentum object with zero velocity.
+    *
+    * @param nodes    the number of nodes in each layer of the network.
+    * @param momentum the fraction of the last move kept in each move, such as 0.9.
+    */
+   public Momentum(int[] nodes, double momentum)
+   {
+      super(nodes);
+      this.momentum = momentum;
+      V = new Weights(nodes);
+   }
+
+   @Override
+   public void beginStep()
+   {
+   }
+
+   @Override
+   public void update(int n, double[] w, double[] g, int count, double lambda, int start, int end)
+   {
+      double[] v = V.values[n];
+      double step = lambda / count;
+
+      for (int i = start; i < end; i++)
+      {
+         v[i] = momentum * v[i] + step * g[i];
+         w[i] += v[i];
+      }
+   }
+
+   @Override
+   public void save(Checkpoint checkpoint)
+   {
+      save(checkpoint, "momentum.v", V);
+   }
+
+   @Override
+   public void restore(Checkpoint checkpoint)
+   {
+      restore(checkpoint, "momentum.v", V);
+   }
+}  // public class Momentum extends BufferedOptimizer
@@ -0,0 +1,135 @@
+package neuralnet;
+
+/**
+ * Holds a trained network as an immutable model that any number of threads can run at once.
+ * The model keeps a private copy of the weights that is never written, and every evaluation works in a LayerState or
+ * BatchRunner owned by the caller, so one copy of the weights serves a whole pool of threads without locking.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public final class Network
+{
+   private final int[] nodes;
+   private final Weights W;
+   private final Activation activation;
+   private final ThreadLocal<LayerState> states;
+
+   /**
+    * Constructs a new Network object with the exact sigmoid from a copy of the given weights, so later changes to them
+    * are not seen.
+    *
+    * @param W the trained weights.
+    */
+   public Network(Weights W)
+   {
+      this(W, new Sigmoid());
+   }
+
+   /**
+    * Constructs a new Network object from a copy of the given weights, so later changes to them are not seen.
+    *
+    * @param W          the trained weights.
+    * @param activation the activation function of every node, which must not keep any state of its own.
+    */
+   public Network(Weights W, Activation activation)
+   {
+      this.W = W.copy();
+      this.activation = activation;
+      nodes = this.W.nodes.clone();
+      states = ThreadLocal.withInitial(this::newState);
+   }
+
+   /**
+    * Finds the number of nodes in each layer.
+    *
+    * @return returns a copy of the layer sizes, from the input layer to the output layer.
+    */
+   public int[] nodes()
+   {
+      return nodes.clone();
+   }
+
+   /**
+    * Creates an evaluation context for a single thread.
+    *
+    * @return returns new per-layer buffers sized for this network.
+    */
+   public LayerState newState()
+   {
+      return new LayerState(activation, nodes);
+   }
+
+   /**
+    * Creates a batched evaluation context for a single thread.
+    *
+    * @param blockSize the number of sets evaluated together.
+    * @return returns a new BatchRunner sized for this network.
+    */
+   public BatchRunner newBatchRunner(int blockSize)
+   {
+      return new BatchRunner(nodes, blockSize, activation);
+   }
+
+   /**
+    * Runs the network in an evaluation context owned by the calling thread.
+    *
+    * @param state    the evaluation context, which must not be used by another thread at the same time.
+    * @param inputSet the input values of the set.
+    * @return returns the output values, which are overwritten by the next run in the same context.
+    */
+   public double[] run(LayerState state, double[] inputSet)
+   {
+      return state.forward(W, inputSet);
+   }
+
+   /**
+    * Runs the network on a sparse set in an evaluation context owned by the calling thread.
+    *
+    * @param state the evaluation context, which must not be used by another thread at the same time.
+    * @param index the ascending indices of the non-zero input values of the set.
+    * @param value the non-zero input values, one for each index.
+    * @return returns the output values, which are overwritten by the next run in the same context.
+    */
+   public double[] run(LayerState state, int[] index, double[] value)
+   {
+      return state.forward(W, index, value);
+   }
+
+   /**
+    * Runs the network on a block of sets in a batched evaluation context owned by the calling thread.
+    *
+    * @param runner    the batched evaluation context, which must not be used by another thread at the same time.
+    * @param inputSets the input values of each set.
+    * @return returns the output values of each set.
+    */
+   public double[][] runBatch(BatchRunner runner, double[][] inputSets)
+   {
+      return runner.run(W, inputSets);
+   }
+
+   /**
+    * Runs the network on sets stored one after another in a flat array, in a batched evaluation context owned by the
+    * calling thread.
+    *
+    * @param runner  the batched evaluation context, which must not be used by another thread at the same time.
+    * @param inputs  the input values, inputNodes per set.
+    * @param count   the number of sets.
+    * @param outputs the array the output values are written to, outputNodes per set.
+    */
+   public void runBatch(BatchRunner runner, double[] inputs, int count, double[] outputs)
+   {
+      runner.run(W, inputs, count, outputs);
+   }
+
+   /**
+    * Runs the network in a context kept for the calling thread, so it can be called from any thread.
+    *
+    * @param inputSet the input values of the set.
+    * @return returns a new array holding the output values.
+    */
+   public double[] predict(double[] inputSet)
+   {
+      return run(states.get(), inputSet).clone();
+   }
+}  // public final class Network
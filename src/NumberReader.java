@@ -0,0 +1,289 @@
+package neuralnet;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads whitespace-separated numbers from a text file or stream through a buffered channel, parsing them by hand
+ * instead of with the regular expressions Scanner uses. Commas and colons also separate numbers, so a sparse set can
+ * be written as index:value pairs.
+ * Numbers with at most 15 significant digits and a small decimal exponent are built exactly from their digits, which
+ * covers the usual training sets; anything else falls back to Double.parseDouble, so every number reads exactly as
+ * Double.parseDouble would read it.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class NumberReader implements Closeable
+{
+   static final int BUFFER_BYTES = 1 << 16;
+   static final int MAX_EXACT_DIGITS = 15;
+   static final double[] POWERS_OF_TEN = {
+         1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+         1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+   private ReadableByteChannel channel;
+   private byte[] bytes = new byte[BUFFER_BYTES];
+   private ByteBuffer buffer = ByteBuffer.wrap(bytes);
+   private long bufferStart;
+   private int index;
+   private int limit;
+
+   private StringBuilder token = new StringBuilder();
+
+   /**
+    * Constructs a new NumberReader object reading from the start of a file.
+    *
+    * @param filePath the file path of the text file.
+    * @throws IOException if the file cannot be opened.
+    */
+   public NumberReader(String filePath) throws IOException
+   {
+      channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ);
+   }
+
+   /**
+    * Constructs a new NumberReader object reading from a channel, such as standard input, which cannot seek.
+    *
+    * @param channel the channel to be read.
+    */
+   public NumberReader(ReadableByteChannel channel)
+   {
+      this.channel = channel;
+   }
+
+   /**
+    * Finds the position of the next unread byte.
+    *
+    * @return returns the offset from the start of the file of the next byte to be read.
+    */
+   public long position()
+   {
+      return bufferStart + index;
+   }
+
+   /**
+    * Moves to a position in the file, such as one returned by position.
+    *
+    * @param position the offset from the start of the file to continue reading at.
+    * @throws IOException if the file cannot be read or the reader is not reading a file.
+    */
+   public void seek(long position) throws IOException
+   {
+      if (!(channel instanceof SeekableByteChannel)) throw new IOException("stream cannot seek");
+      ((SeekableByteChannel) channel).position(position);
+      bufferStart = position;
+      index = 0;
+      limit = 0;
+   }
+
+   /**
+    * Reads the next byte of the file, refilling the buffer when it runs out.
+    *
+    * @return returns the next byte as a value from 0 to 255, or -1 at the end of the file.
+    * @throws IOException if the file cannot be read.
+    */
+   private int read() throws IOException
+   {
+      if (index == limit)
+      {
+         bufferStart += limit;
+         buffer.clear();
+
+         int count = channel.read(buffer);
+         index = 0;
+         limit = Math.max(count, 0);
+
+         if (count <= 0) return -1;
+      }
+
+      return bytes[index++] & 0xFF;
+   }  // private int read()
+
+   /**
+    * Reads the next byte without consuming it.
+    *
+    * @return returns the next byte, or -1 at the end of the file.
+    * @throws IOException if the file cannot be read.
+    */
+   private int peek() throws IOException
+   {
+      int c = read();
+      if (c >= 0) index--;
+      return c;
+   }
+
+   /**
+    * Determines whether a byte separates one number from the next.
+    *
+    * @param c the byte to be checked.
+    * @return returns whether c is whitespace, a comma or a colon.
+    */
+   private static boolean isSeparator(int c)
+   {
+      return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == ',' || c == ':';
+   }
+
+   /**
+    * Determines whether a byte can be part of a number, including the NaN and Infinity that Double.parseDouble reads.
+    *
+    * @param c the byte to be checked.
+    * @return returns whether c is a digit, a sign, a decimal point, an exponent or a letter of NaN or Infinity.
+    */
+   private static boolean isNumberByte(int c)
+   {
+      return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E'
+            || "NaInfinity".indexOf(c) >= 0;
+   }
+
+   /**
+    * Skips past any whitespace.
+    *
+    * @return returns the first byte after the whitespace without consuming it, or -1 at the end of the file.
+    * @throws IOException if the file cannot be read.
+    */
+   private int skipWhitespace() throws IOException
+   {
+      int c = peek();
+
+      while (isSeparator(c))
+      {
+         index++;
+         c = peek();
+      }
+
+      return c;
+   }  // private int skipWhitespace()
+
+   /**
+    * Determines whether another number remains in the file.
+    *
+    * @return returns whether anything but whitespace is left.
+    * @throws IOException if the file cannot be read.
+    */
+   public boolean hasNext() throws IOException
+   {
+      return skipWhitespace() >= 0;
+   }
+
+   /**
+    * Reads the next number as an integer.
+    *
+    * @return returns the next number, which must be an integer.
+    * @throws IOException if the file cannot be read or has no more numbers.
+    */
+   public int nextInt() throws IOException
+   {
+      double value = nextDouble();
+      if (value != (int) value) throw new NumberFormatException("Expected an integer but read " + value);
+      return (int) value;
+   }
+
+   /**
+    * Reads the next number.
+    *
+    * @return returns the next number as a double.
+    * @throws IOException if the file cannot be read or has no more numbers.
+    * @throws NumberFormatException if the number is malformed or contains a byte that cannot be part of a number,
+    *                               such as a byte order mark or any other non-ASCII byte.
+    */
+   public double nextDouble() throws IOException
+   {
+      if (skipWhitespace() < 0) throw new EOFException("No numbers left");
+
+      token.setLength(0);
+      boolean negative = false;
+      long mantissa = 0;
+      int digits = 0;
+      int exponent = 0;
+      boolean exact = true;
+
+      int c = read();
+      token.append((char) c);
+      if (c == '-' || c == '+')
+      {
+         negative = c == '-';
+         c = read();
+         token.append((char) c);
+      }
+
+      boolean seenDigit = false;
+      while (c >= '0' && c <= '9')
+      {
+         seenDigit = true;
+         if (mantissa != 0 || c != '0') digits++;
+         mantissa = mantissa * 10 + (c - '0');
+         if (digits > MAX_EXACT_DIGITS) exact = false;
+
+         c = read();
+         token.append((char) c);
+      }
+
+      if (c == '.')
+      {
+         c = read();
+         token.append((char) c);
+
+         while (c >= '0' && c <= '9')
+         {
+            seenDigit = true;
+            if (mantissa != 0 || c != '0') digits++;
+            mantissa = mantissa * 10 + (c - '0');
+            exponent--;
+            if (digits > MAX_EXACT_DIGITS) exact = false;
+
+            c = read();
+            token.append((char) c);
+         }
+      }  // if (c == '.')
+
+      if (c == 'e' || c == 'E' || !seenDigit) exact = false;
+
+      while (c >= 0 && !isSeparator(c))
+      {
+         if (!isNumberByte(c)) throw unexpectedByte(c);
+         c = read();
+         token.append((char) c);
+      }
+      token.setLength(token.length() - 1);
+
+      double value;
+      if (exact && exponent >= -22)
+      {
+         value = exponent == 0 ? mantissa : mantissa / POWERS_OF_TEN[-exponent];
+         if (negative) value = -value;
+      }
+      else value = Double.parseDouble(token.toString());
+
+      return value;
+   }  // public double nextDouble()
+
+   /**
+    * Builds the error for a byte that is neither a separator nor part of a number.
+    *
+    * @param c the byte that was just read.
+    * @return returns the exception to be thrown, naming the byte and its position.
+    */
+   private NumberFormatException unexpectedByte(int c)
+   {
+      return new NumberFormatException(String.format("Unexpected byte 0x%02X at position %d", c, position() - 1));
+   }
+
+   /**
+    * Closes the file.
+    *
+    * @throws IOException if the file cannot be closed.
+    */
+   @Override
+   public void close() throws IOException
+   {
+      channel.close();
+   }
+}  // public class NumberReader implements Closeable
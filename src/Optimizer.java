@@ -0,0 +1,79 @@
+package neuralnet;
+
+/**
+ * Applies gradients to the weights during training. The gradient of each weight is h * psi, the direction that lowers
+ * the error, summed over the sets of a step. Every optimizer keeps whatever state it needs in flat arrays shaped like
+ * the weights, allocated once up front, so steps allocate nothing.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public interface Optimizer
+{
+   /**
+    * Applies the gradient of the set in the last backward pass of a LayerState to the weights.
+    *
+    * @param state  the buffers holding the last forward and backward pass.
+    * @param W      the weights to be updated.
+    * @param lambda the learning rate.
+    */
+   void update(LayerState state, Weights W, double lambda);
+
+   /**
+    * Starts a new step, which is followed by calls to update for disjoint ranges of every layer, possibly from several
+    * threads at once.
+    */
+   void beginStep();
+
+   /**
+    * Applies part of a summed gradient to one layer of weights.
+    *
+    * @param n      the index of the layer of weights.
+    * @param w      the layer of weights to be updated.
+    * @param g      the layer of gradients, summed over count sets.
+    * @param count  the number of sets the gradients were summed over.
+    * @param lambda the learning rate.
+    * @param start  the first index to update (inclusive).
+    * @param end    the last index to update (exclusive).
+    */
+   void update(int n, double[] w, double[] g, int count, double lambda, int start, int end);
+
+   /**
+    * Copies the state of the optimizer into a checkpoint.
+    *
+    * @param checkpoint the checkpoint to be written to.
+    */
+   void save(Checkpoint checkpoint);
+
+   /**
+    * Restores the state of the optimizer from a checkpoint, leaving it fresh if the checkpoint holds no state for it.
+    *
+    * @param checkpoint the checkpoint to be read from.
+    */
+   void restore(Checkpoint checkpoint);
+
+   /**
+    * Creates the optimizer with a given name.
+    *
+    * @param name     the name of the optimizer, "sgd", "momentum", "rmsprop" or "adam".
+    * @param nodes    the number of nodes in each layer of the network.
+    * @param momentum the momentum of the momentum optimizer.
+    * @param decay    the decay of the squared gradient average of RMSProp.
+    * @param beta1    the decay of the gradient average of Adam.
+    * @param beta2    the decay of the squared gradient average of Adam.
+    * @param epsilon  the small value keeping RMSProp and Adam from dividing by zero.
+    * @return returns the optimizer, or null if the name is not known.
+    */
+   static Optimizer forName(String name, int[] nodes, double momentum, double decay, double beta1, double beta2,
+                            double epsilon)
+   {
+      Optimizer optimizer = null;
+
+      if (name.equals("sgd")) optimizer = new Sgd();
+      else if (name.equals("momentum")) optimizer = new Momentum(nodes, momentum);
+      else if (name.equals("rmsprop")) optimizer = new RmsProp(nodes, decay, epsilon);
+      else if (name.equals("adam")) optimizer = new Adam(nodes, beta1, beta2, epsilon);
+
+      return optimizer;
+   }  // static Optimizer forName(String name, int[] nodes, double momentum, double decay, double beta1, double beta2, double epsilon)
+}     // public interface Optimizer
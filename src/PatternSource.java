@@ -0,0 +1,77 @@
+package neuralnet;
+
+/**
+ * Supplies the sets of a training or testing file one chunk at a time, so a pass over the sets does not need them all
+ * in memory at once.
+ * A pass starts with rewind and calls next until it returns 0. The rows returned by inputs and outputs belong to the
+ * source and are only valid until the next call to next or rewind.
+ * A sparse source stores only the non-zero input values of each set, returning them from inputIndices and inputValues
+ * and null from inputs, so code that reads the inputs checks inputIndices first.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public interface PatternSource
+{
+   /**
+    * Finds the number of input values in each set.
+    *
+    * @return returns the number of input nodes the sets are for.
+    */
+   int inputNodes();
+
+   /**
+    * Finds the number of output values in each set.
+    *
+    * @return returns the number of output nodes the sets are for, or 0 for testing sets.
+    */
+   int outputNodes();
+
+   /**
+    * Moves back to the first set so another pass can begin.
+    */
+   void rewind();
+
+   /**
+    * Loads the next chunk of sets.
+    *
+    * @return returns the number of sets in the chunk, or 0 once every set of the pass has been read.
+    */
+   int next();
+
+   /**
+    * Retrieves the input values of the current chunk.
+    *
+    * @return returns one row of input values per set; only the first next() rows belong to the chunk. A sparse source
+    * returns null.
+    */
+   double[][] inputs();
+
+   /**
+    * Retrieves the indices of the non-zero input values of the current chunk, for a sparse source.
+    *
+    * @return returns one row of ascending input indices per set, or null when the inputs are stored densely.
+    */
+   default int[][] inputIndices()
+   {
+      return null;
+   }
+
+   /**
+    * Retrieves the non-zero input values of the current chunk, for a sparse source.
+    *
+    * @return returns one row of input values per set, matching the rows of inputIndices, or null when the inputs are
+    * stored densely.
+    */
+   default double[][] inputValues()
+   {
+      return null;
+   }
+
+   /**
+    * Retrieves the expected output values of the current chunk.
+    *
+    * @return returns one row of output values per set; only the first next() rows belong to the chunk.
+    */
+   double[][] outputs();
+}  // public interface PatternSource
@@ -1,273 +1,541 @@
+package neuralnet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
- * Models a one hidden layer perceptron algorithm with any number of input, hidden, and output nodes.
+ * Models a perceptron algorithm with any number of hidden layers and any number of nodes in each layer.
  *
  * @author Brandon Park
- * @version 11/9/21
+ * @version 10/18/26
  */
 public class Perceptron
 {
    public double startTime;
 
-   public double[][][] W;
-   public double[][] Theta = new double[3][];
+   public Weights W;
 
+   public int[] nodes;
    public int inputNodes;
-   public double[] a;
-
-   public int hiddenNodes;
-   public double[] h;
-
    public int outputNodes;
-   public double[] F;
+
+   public LayerState state;
 
    public double totalError;
 
-   public double[] Omega;
+   public int batchSize;
+   public int threads = 1;
 
-   public double[] psi;
-   public double[] Psi;
+   public Activation activation;
+   public Optimizer optimizer = new Sgd();
+   public boolean float32;
+   public boolean shuffle;
+   public boolean quiet;
+   public List<StoppingPolicy> stopping = new ArrayList<>();
+   public RandomGenerator random = new RandomGenerator();
+
+   public TrainingListener listener;
+   public int reportInterval;
+
+   public int iteration;
+   public double bestError = Double.MAX_VALUE;
+   public String checkpointPath;
+
+   private double[] errorHistory = new double[0];
+   private BatchRunner batchRunner;
+   private FloatLayerState floatState;
+   private FloatWeights floatW;
+   private Weights floatSource;
+   private volatile boolean stopRequested;
 
    /**
-    * Constructs a new Perceptron object and initializes the arrays.
+    * Constructs a new Perceptron object with the exact sigmoid and allocates the per-layer buffers.
     *
-    * @param inputNodes  the number of input nodes in the network.
-    * @param hiddenNodes the number of hidden nodes in the network.
-    * @param outputNodes the number of output nodes in the network.
+    * @param nodes the number of nodes in each layer of the network, from the input layer to the output layer.
     */
-   public Perceptron(int inputNodes, int hiddenNodes, int outputNodes)
+   public Perceptron(int... nodes)
    {
-      this.inputNodes = inputNodes;
-      a = new double[inputNodes];
+      this(new Sigmoid(), nodes);
+   }
 
-      this.hiddenNodes = hiddenNodes;
-      h = new double[hiddenNodes];
+   /**
+    * Constructs a new Perceptron object and allocates the per-layer buffers.
+    *
+    * @param activation the activation function of every node.
+    * @param nodes      the number of nodes in each layer of the network, from the input layer to the output layer.
+    */
+   public Perceptron(Activation activation, int... nodes)
+   {
+      this.activation = activation;
+      this.nodes = nodes.clone();
+      inputNodes = nodes[0];
+      outputNodes = nodes[nodes.length - 1];
 
-      this.outputNodes = outputNodes;
-      F = new double[outputNodes];
+      state = new LayerState(activation, nodes);
+   }  // public Perceptron(Activation activation, int... nodes)
 
-      Theta[1] = new double[hiddenNodes];
-      Theta[2] = new double[outputNodes];
+   /**
+    * Finds the number of nodes in each hidden layer.
+    *
+    * @return returns the sizes of the hidden layers, from the first hidden layer to the last.
+    */
+   public int[] hiddenNodes()
+   {
+      int[] hidden = new int[nodes.length - 2];
+      System.arraycopy(nodes, 1, hidden, 0, hidden.length);
+      return hidden;
+   }
 
-      Omega = new double[hiddenNodes];
+   /**
+    * Runs the perceptron, propagating each activation result forward, in float32 when float32 is set.
+    *
+    * @param inputSet the input values of the testing set.
+    * @return returns the output activations, which are overwritten by the next run.
+    */
+   public double[] run(double[] inputSet)
+   {
+      if (float32) return floatState().forward(floatWeights(), inputSet);
+      return state.forward(W, inputSet);
+   }
 
-      psi = new double[outputNodes];
-      Psi = new double[hiddenNodes];
-   }  // public Perceptron(int inputNodes, int hiddenNodes, int outputNodes)
+   /**
+    * Runs the perceptron on a sparse set, the first layer visiting only the weights of its non-zero inputs. Sparse sets
+    * always run in double.
+    *
+    * @param index the ascending indices of the non-zero input values of the set.
+    * @param value the non-zero input values, one for each index.
+    * @return returns the output activations, which are overwritten by the next run.
+    */
+   public double[] run(int[] index, double[] value)
+   {
+      return state.forward(W, index, value);
+   }
 
    /**
-    * Calculates the sigmoid of an input: 1/(1+e^-input)
+    * Runs the perceptron in float32 on a set that is already stored as floats.
     *
-    * @param input the input value.
-    * @return returns the sigmoid of input as a double.
+    * @param inputSet the input values of the testing set.
+    * @return returns the output activations, which are overwritten by the next run.
     */
-   private double sigmoid(double input)
+   public float[] run(float[] inputSet)
    {
-      return 1.0 / (1.0 + Math.exp(-input));
+      return floatState().forward(floatWeights(), inputSet);
    }
 
    /**
-    * Calculates f' of an input, which for sigmoid is F(input)(1-F(input)).
+    * Finds the float32 evaluation buffers, allocating them on first use.
+    *
+    * @return returns the float32 evaluation buffers.
+    */
+   private FloatLayerState floatState()
+   {
+      if (floatState == null) floatState = new FloatLayerState(activation, nodes);
+      return floatState;
+   }
+
+   /**
+    * Finds the current weights rounded to float, rounding them again only when W has been replaced or trained since
+    * they were last rounded.
+    *
+    * @return returns the float32 copy of the weights.
+    */
+   private FloatWeights floatWeights()
+   {
+      if (floatSource != W)
+      {
+         if (floatW == null) floatW = new FloatWeights(W);
+         else floatW.copyFrom(W);
+         floatSource = W;
+      }
+
+      return floatW;
+   }  // private FloatWeights floatWeights()
+
+   /**
+    * Runs the perceptron on a block of input sets at once, which is faster than calling run once per set when there
+    * are many sets to score. The outputs are the same as those of run.
     *
-    * @param input the input value;
-    * @return returns f' of input as a double.
+    * @param inputSets the input values of each testing set.
+    * @return returns the output values of each testing set.
     */
-   private double fPrime(double input)
+   public double[][] runBatch(double[][] inputSets)
    {
-      double f = sigmoid(input);
-      return f * (1.0 - f);
+      if (batchRunner == null) batchRunner = new BatchRunner(nodes, BatchRunner.DEFAULT_BLOCK_SIZE, activation);
+      return batchRunner.run(W, inputSets);
    }
 
    /**
-    * Runs the perceptron, propagating each activation result forward.
+    * Freezes the current weights into an immutable model that many threads can run at once.
+    *
+    * @return returns a Network holding a copy of the current weights.
     */
-   public void run(double[] inputSet)
+   public Network toNetwork()
    {
-      a = inputSet;
+      return new Network(W, activation);
+   }
 
-      for (int i = 0; i < outputNodes; i++)
+   /**
+    * Scores the perceptron on every set of a source, counting the summary metrics and optionally writing the results
+    * of each set. The sets are split across threads by an Evaluator and run through the batched forward pass, or run
+    * one at a time through the float32 engine when float32 is set, so the results match those of run either way.
+    * Sparse sets always go through the Evaluator in double.
+    *
+    * @param source    the sets to be scored, with or without expected outputs.
+    * @param sink      the sink the results of every set are written to, or null to only count the metrics.
+    * @param threshold the value that divides the outputs into two classes when counting accuracy.
+    * @return returns the metrics of the sets, which count no sets when the source has no expected outputs.
+    * @throws IOException if the results cannot be written.
+    */
+   public Evaluation evaluate(PatternSource source, ResultsSink sink, double threshold) throws IOException
+   {
+      if (!float32 || source.inputIndices() != null)
       {
-         Theta[2][i] = 0.0;
+         Evaluator evaluator = new Evaluator(toNetwork(), Math.max(1, threads));
+         evaluator.threshold = threshold;
 
-         for (int j = 0; j < hiddenNodes; j++)
+         try
+         {
+            return evaluator.evaluate(source, sink);
+         }
+         finally
          {
-            Theta[1][j] = 0.0;
+            evaluator.shutdown();
+         }
+      }  // if (!float32 || source.inputIndices() != null)
 
-            for (int k = 0; k < inputNodes; k++)
-            {
-               Theta[1][j] += W[0][k][j] * a[k];
-            }
+      Evaluation evaluation = new Evaluation(outputNodes, threshold);
+      boolean labeled = source.outputNodes() > 0;
+      source.rewind();
+      int count;
 
-            h[j] = sigmoid(Theta[1][j]);
-            Theta[2][i] += W[1][j][i] * h[j];
+      while ((count = source.next()) > 0)
+      {
+         for (int t = 0; t < count; t++)
+         {
+            double[] F = run(source.inputs()[t]);
+            if (labeled) evaluation.add(source.outputs()[t], F, 0);
+            if (sink != null) sink.write(source.inputs()[t], labeled ? source.outputs()[t] : null, F);
          }
+      }
 
-         F[i] = sigmoid(Theta[2][i]);
-      }  // for (int i = 0; i < outputNodes; i++)
-   }  // public void run()
+      return evaluation;
+   }  // public Evaluation evaluate(PatternSource source, ResultsSink sink, double threshold)
 
    /**
-    * Runs the perceptron and outputs the results.
+    * Runs the perceptron and writes the results to a sink.
     *
     * @param inputSet the input values of the testing set.
+    * @param sink     the sink the results are written to.
+    * @throws IOException if the results cannot be written.
     */
-   public void runWithOutput(double[] inputSet)
+   public void runWithOutput(double[] inputSet, ResultsSink sink) throws IOException
    {
-      run(inputSet);
-
-      System.out.println();
-      System.out.print("Inputs:");
-      for (int k = 0; k < inputNodes; k++)
-      {
-         System.out.print(" " + a[k]);
-      }
-      System.out.print(", ");
+      sink.write(inputSet, null, run(inputSet));
+   }
 
-      System.out.print("F:");
-      for (int i = 0; i < outputNodes; i++)
-      {
-         System.out.print(" " + F[i]);
-      }
-   }  // public void runWithOutput(double[] inputSet)
+   /**
+    * Runs the perceptron in float32 and writes the results to a sink.
+    *
+    * @param inputSet the input values of the testing set.
+    * @param sink     the sink the results are written to.
+    * @throws IOException if the results cannot be written.
+    */
+   public void runWithOutput(float[] inputSet, ResultsSink sink) throws IOException
+   {
+      sink.write(inputSet, run(inputSet));
+   }
 
    /**
-    * Runs the perceptron and outputs both the results and expected values.
+    * Runs the perceptron and writes both the results and expected values to a sink.
     *
     * @param inputSet  the input values of the testing set.
     * @param outputSet the output values of the testing set.
+    * @param sink      the sink the results are written to.
+    * @throws IOException if the results cannot be written.
     */
-   public void runWithOutput(double[] inputSet, double[] outputSet)
+   public void runWithOutput(double[] inputSet, double[] outputSet, ResultsSink sink) throws IOException
    {
-      run(inputSet);
-
-      System.out.println();
-      System.out.print("Inputs:");
-      for (int k = 0; k < inputNodes; k++)
-      {
-         System.out.print(" " + a[k]);
-      }
-      System.out.print(", ");
-
-      System.out.print("T:");
-      for (int i = 0; i < outputNodes; i++)
-      {
-         System.out.print(" " + outputSet[i]);
-      }
-      System.out.print(", ");
-
-      System.out.print("F:");
-      for (int i = 0; i < outputNodes; i++)
-      {
-         System.out.print(" " + F[i]);
-      }
-   }  // public void runWithOutput(double[] inputSet, double[] outputSet)
+      sink.write(inputSet, outputSet, run(inputSet));
+   }
 
    /**
-    * Runs the perceptron, propagating each activation result forward and storing values to be used in backpropagation.
+    * Runs the perceptron, propagating each activation result forward and the error backward so that the deltas of
+    * every layer are stored for the weight update.
     *
     * @param inputSet  the input values of the testing set.
     * @param outputSet the output values of the testing set.
     */
    public void runDetailed(double[] inputSet, double[] outputSet)
    {
-      a = inputSet;
+      state.forward(W, inputSet);
+      state.backward(W, outputSet);
+   }
 
-      for (int i = 0; i < outputNodes; i++)
-      {
-         Theta[2][i] = 0.0;
+   /**
+    * Trains the perceptron on sets that are already in memory.
+    *
+    * @param maxIterations    the max number of training cycles.
+    * @param lambda           the learning rate applied to each weight change.
+    * @param errorThreshold   the error threshold to be reached.
+    * @param trainInput       the input values of the training set.
+    * @param trainOutput      the output values of the training set.
+    * @param weightsFilePath  the file path where the weights are saved.
+    * @param autosaveInterval the number of training cycles before each autosave occurs.
+    */
+   public void train(int maxIterations, double lambda, double errorThreshold, double[][] trainInput, double[][] trainOutput, String weightsFilePath, int autosaveInterval)
+   {
+      PatternSource source = new MemorySource(inputNodes, outputNodes, trainInput, trainOutput);
+      train(maxIterations, lambda, errorThreshold, source, weightsFilePath, autosaveInterval);
+   }
 
-         for (int j = 0; j < hiddenNodes; j++)
-         {
-            Theta[1][j] = 0.0;
+   /**
+    * Copies the full training state into a checkpoint: the weights, the number of training cycles completed, the best
+    * total error, the total error of every cycle and the state of the optimizer.
+    *
+    * @param checkpoint the checkpoint to be overwritten, whose arrays are reused where possible.
+    */
+   public void checkpoint(Checkpoint checkpoint)
+   {
+      checkpoint.W.copyFrom(W);
+      checkpoint.iteration = iteration;
+      checkpoint.bestError = bestError;
+      checkpoint.setErrorHistory(errorHistory);
+      checkpoint.putLongs("random.state", new long[]{random.state(), random.gamma()});
+      optimizer.save(checkpoint);
+   }
 
-            for (int k = 0; k < inputNodes; k++)
-            {
-               Theta[1][j] += W[0][k][j] * a[k];
-            }
+   /**
+    * Restores the full training state from a checkpoint, so the next call to train continues the run as if it had
+    * never stopped.
+    *
+    * @param checkpoint the checkpoint to be restored, which must be for a network with the same layer sizes.
+    */
+   public void restore(Checkpoint checkpoint)
+   {
+      W = checkpoint.W.copy();
+      iteration = checkpoint.iteration;
+      bestError = checkpoint.bestError;
+      errorHistory = checkpoint.errorHistory.clone();
+      long[] randomState = checkpoint.getLongs("random.state");
+      if (randomState != null && randomState.length > 1) random.setState(randomState[0], randomState[1]);
+      else if (randomState != null) random.setState(randomState[0]);
+      optimizer.restore(checkpoint);
+   }
 
-            h[j] = sigmoid(Theta[1][j]);
-            Theta[2][i] += W[1][j][i] * h[j];
-         }
+   /**
+    * Finds the total error of every training cycle completed so far.
+    *
+    * @return returns a new array holding the total error of each cycle in order.
+    */
+   public double[] errorHistory()
+   {
+      double[] history = new double[iteration];
+      System.arraycopy(errorHistory, 0, history, 0, iteration);
+      return history;
+   }
+
+   /**
+    * Prints a line of training progress unless the perceptron is quiet.
+    *
+    * @param message the line to be printed.
+    */
+   private void print(String message)
+   {
+      if (!quiet) System.out.println(message);
+   }
 
-         F[i] = sigmoid(Theta[2][i]);
-         totalError += 0.5 * (outputSet[i] - F[i]) * (outputSet[i] - F[i]);
-         psi[i] = (outputSet[i] - F[i]) * fPrime(Theta[2][i]);
-      }  // for (int i = 0; i < outputNodes; i++)
-   }  // public void runDetailed(double[] inputSet, double[] outputSet)
+   /**
+    * Asks a training run to stop at the end of its current epoch. Can be called from any thread, including from a
+    * TrainingListener.
+    */
+   public void stop()
+   {
+      stopRequested = true;
+   }
 
    /**
     * Trains the perceptron, using the gradient descent algorithm with backpropagation to update the weights until one of the following conditions is met:
     * 1. The max number of iterations is reached.
     * 2. The total error of the training sets is below the threshold.
+    * 3. stop() is called.
+    * 4. One of the stopping policies asks to stop, such as when the error has reached a plateau.
+    * The optimizer updates the weights after every set, or after every batch of batchSize sets spread across threads
+    * when batchSize is greater than 1. The sets are read from the source one chunk at a time during every pass, in file
+    * order, or in a new order drawn from random on every pass when shuffle is set. When the source is sparse, the
+    * first layer of every forward pass and weight update only visits the weights of the non-zero inputs.
+    * Training continues from iteration, which is 0 for a new perceptron and is set by restore, so maxIterations counts
+    * every cycle of the run rather than only those of this call.
+    * Autosaves copy the weights and write them on a background thread, replacing the file atomically, along with a
+    * checkpoint of the full training state when checkpointPath is set.
+    * When a listener is set, it is told about every epoch and, if reportInterval is positive, every reportInterval
+    * sets; nothing is timed or reported otherwise. When quiet is set, nothing is printed, for runs that train side by
+    * side such as those of a Sweep.
+    * Training always runs in double, since the small deltas of a nearly trained network vanish in float. When float32
+    * is set, only the autosaved binary weights are float32. Nothing is run on the training sets once training ends;
+    * evaluate scores them when their metrics or results are wanted.
     *
     * @param maxIterations    the max number of training cycles.
     * @param lambda           the learning rate applied to each weight change.
     * @param errorThreshold   the error threshold to be reached.
-    * @param trainInput       the input values of the training set.
-    * @param trainOutput      the output values of the training set.
+    * @param source           the training sets.
     * @param weightsFilePath  the file path where the weights are saved.
     * @param autosaveInterval the number of training cycles before each autosave occurs.
     */
-   public void train(int maxIterations, double lambda, double errorThreshold, double[][] trainInput, double[][] trainOutput, String weightsFilePath, int autosaveInterval)
+   public void train(int maxIterations, double lambda, double errorThreshold, PatternSource source, String weightsFilePath, int autosaveInterval)
    {
       startTime = System.currentTimeMillis();
       boolean done = false;
-      int iteration = 0;
+      stopRequested = false;
+
+      TrainingStats stats = null;
+      if (listener != null)
+      {
+         stats = new TrainingStats();
+         stats.startNanos = System.nanoTime();
+      }
+
+      Autosaver autosaver = null;
+      if (autosaveInterval > 0)
+         autosaver = new Autosaver(nodes, weightsFilePath, checkpointPath, float32 ? Float.BYTES : Double.BYTES);
+
+      PatternSource epochSets = shuffle ? new ShuffledSource(source, random) : source;
+      for (StoppingPolicy policy : stopping)
+      {
+         policy.start(this);
+      }
+
+      BatchTrainer batchTrainer = null;
+      if (batchSize > 1)
+      {
+         batchTrainer = new BatchTrainer(nodes, batchSize, threads, activation);
+         batchTrainer.optimizer = optimizer;
+         batchTrainer.listener = listener;
+         batchTrainer.reportInterval = reportInterval;
+         batchTrainer.stats = stats;
+      }
 
       while (!done)
       {
-         totalError = 0.0;
+         if (stats != null)
+         {
+            stats.epoch = iteration + 1;
+            stats.startEpoch(System.nanoTime());
+         }
 
-         for (int t = 0; t < trainInput.length; t++)
+         if (batchTrainer != null)
          {
-            runDetailed(trainInput[t], trainOutput[t]);
+            totalError = batchTrainer.trainEpoch(W, lambda, epochSets);
+         }
+         else
+         {
+            state.totalError = 0.0;
+            epochSets.rewind();
+            int count;
 
-            for (int j = 0; j < hiddenNodes; j++)
+            while ((count = epochSets.next()) > 0)
             {
-               Omega[j] = 0.0;
-
-               for (int i = 0; i < outputNodes; i++)
-               {
-                  Omega[j] += psi[i] * W[1][j][i];
-                  W[1][j][i] += lambda * h[j] * psi[i];
-               }
+               double[][] trainInput = epochSets.inputs();
+               int[][] trainIndex = epochSets.inputIndices();
+               double[][] trainValue = epochSets.inputValues();
+               double[][] trainOutput = epochSets.outputs();
 
-               Psi[j] = Omega[j] * fPrime(Theta[1][j]);
-               for (int k = 0; k < inputNodes; k++)
+               for (int t = 0; t < count; t++)
                {
-                  W[0][k][j] += lambda * a[k] * Psi[j];
-               }
-            } // for (int j = 0; j < hiddenNodes; j++)
-         }  // for (int t = 0; t < trainInput.length; t++)
+                  if (stats == null)
+                  {
+                     if (trainIndex != null) state.forward(W, trainIndex[t], trainValue[t]);
+                     else state.forward(W, trainInput[t]);
+                     state.backward(W, trainOutput[t]);
+                     optimizer.update(state, W, lambda);
+                  }
+                  else
+                  {
+                     long start = System.nanoTime();
+                     if (trainIndex != null) state.forward(W, trainIndex[t], trainValue[t]);
+                     else state.forward(W, trainInput[t]);
+                     long forwardEnd = System.nanoTime();
+                     state.backward(W, trainOutput[t]);
+                     optimizer.update(state, W, lambda);
+                     stats.forwardNanos += forwardEnd - start;
+                     stats.backwardNanos += System.nanoTime() - forwardEnd;
+
+                     stats.patterns++;
+                     stats.epochPatterns++;
+                     if (reportInterval > 0 && stats.epochPatterns % reportInterval == 0)
+                     {
+                        stats.totalError = state.totalError;
+                        listener.patternsTrained(stats);
+                     }
+                  }  // else
+               }     // for (int t = 0; t < count; t++)
+            }        // while ((count = epochSets.next()) > 0)
+
+            totalError = state.totalError;
+         }  // else
 
          iteration++;
+         if (errorHistory.length < iteration) errorHistory = Arrays.copyOf(errorHistory, Math.max(1024, 2 * errorHistory.length));
+         errorHistory[iteration - 1] = totalError;
+         bestError = Math.min(bestError, totalError);
 
-         if (autosaveInterval > 0 && iteration % autosaveInterval == 0)
+         if (autosaver != null && iteration % autosaveInterval == 0)
          {
-            System.out.println("Autosaving... (at " + iteration + " total iterations with autosave interval of " + autosaveInterval + ")");
-            WeightsHandler.writeWeights(W, weightsFilePath);
+            long start = System.nanoTime();
+            print("Autosaving... (at " + iteration + " total iterations with autosave interval of " + autosaveInterval + ")");
+            autosaver.save(this);
+            if (stats != null) stats.autosaveNanos = System.nanoTime() - start;
+         }
+
+         if (stats != null)
+         {
+            stats.totalError = totalError;
+            listener.epochEnded(stats);
          }
 
          if (iteration > maxIterations)
          {
-            System.out.println();
-            System.out.println("Max number of iterations reached (" + maxIterations + ").");
+            print("");
+            print("Max number of iterations reached (" + maxIterations + ").");
             done = true;
          }
 
          else if (totalError < errorThreshold)
          {
-            System.out.println();
-            System.out.println(iteration + " total iterations.");
-            System.out.println("Error threshold met: " + totalError + " total error compared to threshold " + errorThreshold + ".");
+            print("");
+            print(iteration + " total iterations.");
+            print("Error threshold met: " + totalError + " total error compared to threshold " + errorThreshold + ".");
             done = true;
          }
-      }     // while (!done)
 
-      System.out.println((System.currentTimeMillis() - startTime) + "ms elapsed.");
+         else if (stopRequested)
+         {
+            print("");
+            print("Training stopped after " + iteration + " total iterations with total error " + totalError + ".");
+            done = true;
+         }
+
+         for (int p = 0; !done && p < stopping.size(); p++)
+         {
+            String reason = stopping.get(p).check(this);
+            if (reason != null)
+            {
+               print("");
+               print(reason);
+               done = true;
+            }
+         }
+      }     // while (!done)
 
-      for (int t = 0; t < trainInput.length; t++)
+      for (StoppingPolicy policy : stopping)
       {
-         runWithOutput(trainInput[t], trainOutput[t]);
+         String message = policy.finish(this);
+         if (message != null) print(message);
       }
-   }  // public void train(int maxIterations, double lambda, double errorThreshold, double[][] trainInput, double[][] trainOutput, String weightsFilePath, int autosaveInterval)
+      floatSource = null;
+      if (batchTrainer != null) batchTrainer.shutdown();
+      if (autosaver != null) autosaver.close();
+      print((System.currentTimeMillis() - startTime) + "ms elapsed.");
+   }  // public void train(int maxIterations, double lambda, double errorThreshold, PatternSource source, String weightsFilePath, int autosaveInterval)
 }     // public class Perceptron
@@ -1,3 +1,10 @@
+package neuralnet;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Scanner;
 
 /**
@@ -22,31 +29,88 @@ public class PerceptronRunner
    static boolean useTestingWeights;
    static boolean useTestingSets;
    static String testingSetsPath;
+   static String resultsFormat = "debug";
+   static boolean saveResults;
+   static String resultsPath;
 
    // Training related
    static boolean useTrainingWeights;
    static boolean useTrainingSets;
    static String trainingSetsPath;
    static double lambda;
+   static String optimizer;
+   static double momentum;
+   static double decay;
+   static double beta1;
+   static double beta2;
+   static double epsilon;
    static int maxIterations;
    static double errorThreshold;
    static double minRandom;
    static double maxRandom;
+   static long seed;
+   static int plateauWindow;
+   static double minImprovement;
+   static double maxSeconds;
+   static boolean useValidationSets;
+   static String validationSetsPath;
+   static int validationInterval;
+   static int validationPatience;
+   static boolean shuffle;
    static boolean saveWeights;
    static String savedWeightsPath;
    static int autosaveInterval;
+   static int batchSize;
+   static int threads;
+   static boolean labeledTestingSets;
+   static boolean sparseInputs;
+   static boolean printResults;
+   static double accuracyThreshold = 0.5;
+   static int chunkSize;
+   static boolean saveCheckpoints;
+   static boolean resumeTraining;
+   static String checkpointPath;
+   static boolean saveMetrics;
+   static String metricsPath;
+   static int metricsInterval;
+
+   /**
+    * Reads the layer sizes from a configuration file, from layers when it is set and from inputNodes, hiddenNodes and
+    * outputNodes otherwise.
+    *
+    * @param config the configuration file.
+    * @return returns the number of nodes in each layer.
+    */
+   static int[] readNodes(Config config)
+   {
+      int[] nodes;
+
+      if (config.has("layers"))
+      {
+         nodes = Validator.parseIntArray(config.get("layers", "intPosArray"));   // Nodes in each layer
+      }
+      else
+      {
+         int inputNodes = Integer.parseInt(config.get("inputNodes", "intPos"));    // Number of input nodes
+         int hiddenNodes = Integer.parseInt(config.get("hiddenNodes", "intPos"));  // Number of hidden nodes
+         int outputNodes = Integer.parseInt(config.get("outputNodes", "intPos"));  // Number of output nodes
+         nodes = new int[]{inputNodes, hiddenNodes, outputNodes};
+      }
+
+      return nodes;
+   }  // static int[] readNodes(Config config)
 
    /**
     * Automatically configures the network using options from a configuration file.
     */
-   private static void autoConfigNetwork()
+   static void autoConfigNetwork()
    {
-      int inputNodes = Integer.parseInt(config.get("inputNodes", "intPos"));    // Number of input nodes
-      int hiddenNodes = Integer.parseInt(config.get("hiddenNodes", "intPos"));  // Number of hidden nodes
-      int outputNodes = Integer.parseInt(config.get("outputNodes", "intPos"));  // Number of output nodes
+      int[] nodes = readNodes(config);
 
-      perceptron = new Perceptron(inputNodes, hiddenNodes, outputNodes);
-   }
+      Activation activation = Activation.forName(config.get("activation", "activation"));  // Activation function
+      perceptron = new Perceptron(activation, nodes);
+      perceptron.float32 = config.get("precision", "precision").equals("float");           // Precision
+   }  // static void autoConfigNetwork()
 
    /**
     * Manually configures the network using options from the console inputted by the user.
@@ -56,12 +120,21 @@ public class PerceptronRunner
       System.out.println();
       System.out.println("Reading configuration options.");
 
-      int inputNodes = Integer.parseInt(ConsoleHandler.input("Number of input nodes", "intPos"));    // Number of input nodes
-      int hiddenNodes = Integer.parseInt(ConsoleHandler.input("Number of hidden nodes", "intPos"));  // Number of hidden nodes
-      int outputNodes = Integer.parseInt(ConsoleHandler.input("Number of output nodes", "intPos"));  // Number of output nodes
+      int inputNodes = Integer.parseInt(ConsoleHandler.input("Number of input nodes", "intPos"));      // Number of input nodes
+      int hiddenLayers = Integer.parseInt(ConsoleHandler.input("Number of hidden layers", "intPos"));  // Number of hidden layers
+
+      int[] nodes = new int[hiddenLayers + 2];
+      nodes[0] = inputNodes;
+      for (int n = 1; n <= hiddenLayers; n++)
+      {
+         nodes[n] = Integer.parseInt(ConsoleHandler.input("Number of hidden nodes in layer " + n, "intPos"));
+      }
+      nodes[hiddenLayers + 1] = Integer.parseInt(ConsoleHandler.input("Number of output nodes", "intPos"));
 
-      perceptron = new Perceptron(inputNodes, hiddenNodes, outputNodes);
-   }
+      Activation activation = Activation.forName(ConsoleHandler.input("Activation (exact or table)", "activation"));
+      perceptron = new Perceptron(activation, nodes);
+      perceptron.float32 = ConsoleHandler.input("Precision (double or float)", "precision").equals("float");
+   }  // private static void manualConfigNetwork()
 
    /**
     * Automatically configures the runtime options using options from a configuration file.
@@ -76,6 +149,16 @@ public class PerceptronRunner
          if (useTestingWeights) weightsPath = config.get("weightsPath", "filePath");               // Weights path
          useTestingSets = Boolean.parseBoolean(config.get("useTestingSets", "boolean"));           // Use testing sets
          if (useTestingSets) testingSetsPath = config.get("testingSetsPath", "filePath");          // Testing sets path
+         if (useTestingSets)
+            sparseInputs = Boolean.parseBoolean(config.get("sparseInputs", "boolean"));            // Sparse inputs
+         if (useTestingSets)
+            labeledTestingSets = Boolean.parseBoolean(config.get("labeledTestingSets", "boolean"));  // Labeled testing sets
+         if (labeledTestingSets)
+            accuracyThreshold = Double.parseDouble(config.get("accuracyThreshold", "double"));     // Accuracy threshold
+         threads = Integer.parseInt(config.get("threads", "intPos"));                              // Threads
+         resultsFormat = config.get("resultsFormat", "resultsFormat");                             // Results format
+         saveResults = Boolean.parseBoolean(config.get("saveResults", "boolean"));                 // Save results
+         if (saveResults) resultsPath = config.get("resultsPath", "filePath");                     // Results path
       }
 
       else if (operation.equals("train"))
@@ -84,19 +167,56 @@ public class PerceptronRunner
          if (useTrainingWeights) weightsPath = config.get("weightsPath", "filePath");              // Weights path
          useTrainingSets = Boolean.parseBoolean(config.get("useTrainingSets", "boolean"));         // Use training sets
          if (useTrainingSets) trainingSetsPath = config.get("trainingSetsPath", "filePath");       // Training sets path
+         if (useTrainingSets)
+            sparseInputs = Boolean.parseBoolean(config.get("sparseInputs", "boolean"));            // Sparse inputs
+         if (useTrainingSets) chunkSize = Integer.parseInt(config.get("chunkSize", "intPos"));     // Chunk size
 
          lambda = Double.parseDouble(config.get("lambda", "doublePos"));                           // Lambda
+         optimizer = config.get("optimizer", "optimizer");                                         // Optimizer
+         momentum = Double.parseDouble(config.get("momentum", "doublePos"));                       // Momentum
+         decay = Double.parseDouble(config.get("decay", "doublePos"));                             // RMSProp decay
+         beta1 = Double.parseDouble(config.get("beta1", "doublePos"));                             // Adam beta1
+         beta2 = Double.parseDouble(config.get("beta2", "doublePos"));                             // Adam beta2
+         epsilon = Double.parseDouble(config.get("epsilon", "doublePos"));                         // Epsilon
          maxIterations = Integer.parseInt(config.get("maxIterations", "intPos"));                  // Max iterations
          errorThreshold = Double.parseDouble(config.get("errorThreshold", "doublePos"));           // Error threshold
          minRandom = Double.parseDouble(config.get("minRandom", "double"));                        // Min random
          maxRandom = Double.parseDouble(config.get("maxRandom", "double"));                        // Max random
+         seed = Long.parseLong(config.get("seed", "int"));                                         // Random seed
+         shuffle = Boolean.parseBoolean(config.get("shuffle", "boolean"));                         // Shuffle sets
+         plateauWindow = Integer.parseInt(config.get("plateauWindow", "intPos"));                  // Plateau window
+         if (plateauWindow > 0)
+            minImprovement = Double.parseDouble(config.get("minImprovement", "doublePos"));        // Min improvement
+         maxSeconds = Double.parseDouble(config.get("maxSeconds", "doublePos"));                   // Time budget
+         useValidationSets = Boolean.parseBoolean(config.get("useValidationSets", "boolean"));     // Use validation sets
+         if (useValidationSets)
+         {
+            validationSetsPath = config.get("validationSetsPath", "filePath");                     // Validation sets path
+            validationInterval = Integer.parseInt(config.get("validationInterval", "intPos"));     // Validation interval
+            validationPatience = Integer.parseInt(config.get("validationPatience", "intPos"));     // Validation patience
+         }
+         batchSize = Integer.parseInt(config.get("batchSize", "intPos"));                          // Batch size
+         threads = Integer.parseInt(config.get("threads", "intPos"));                              // Threads
 
          saveWeights = Boolean.parseBoolean(config.get("saveWeights", "boolean"));                 // Save weights
-         if (saveWeights)
-         {
-            savedWeightsPath = config.get("savedWeightsPath", "filePath");                         // Saved weights path
+         if (saveWeights) savedWeightsPath = config.get("savedWeightsPath", "filePath");           // Saved weights path
+         saveCheckpoints = Boolean.parseBoolean(config.get("saveCheckpoints", "boolean"));         // Save checkpoints
+         resumeTraining = Boolean.parseBoolean(config.get("resumeTraining", "boolean"));           // Resume training
+         if (saveCheckpoints || resumeTraining)
+            checkpointPath = config.get("checkpointPath", "filePath");                             // Checkpoint path
+         if (saveWeights || saveCheckpoints)
             autosaveInterval = Integer.parseInt(config.get("autosaveInterval", "int"));            // Autosave interval
+
+         saveMetrics = Boolean.parseBoolean(config.get("saveMetrics", "boolean"));                 // Save metrics
+         if (saveMetrics)
+         {
+            metricsPath = config.get("metricsPath", "filePath");                                   // Metrics path
+            metricsInterval = Integer.parseInt(config.get("metricsInterval", "intPos"));           // Metrics interval
          }
+
+         printResults = Boolean.parseBoolean(config.get("printResults", "boolean"));               // Print results
+         if (printResults) resultsFormat = config.get("resultsFormat", "resultsFormat");           // Results format
+         accuracyThreshold = Double.parseDouble(config.get("accuracyThreshold", "double"));        // Accuracy threshold
       }  // else if (operation.equals("train"))
    }     // private static void autoConfig(String operation)
 
@@ -113,6 +233,12 @@ public class PerceptronRunner
          if (useTestingWeights) weightsPath = ConsoleHandler.input("weightsPath", "filePath");               // Weights path
          useTestingSets = Boolean.parseBoolean(ConsoleHandler.input("useTestingSets", "boolean"));           // Use testing sets
          if (useTestingSets) testingSetsPath = ConsoleHandler.input("testingSetsPath", "filePath");          // Testing sets path
+         if (useTestingSets)
+            sparseInputs = Boolean.parseBoolean(ConsoleHandler.input("sparseInputs", "boolean"));            // Sparse inputs
+         if (useTestingSets)
+            labeledTestingSets = Boolean.parseBoolean(ConsoleHandler.input("labeledTestingSets", "boolean"));  // Labeled testing sets
+         if (labeledTestingSets)
+            accuracyThreshold = Double.parseDouble(ConsoleHandler.input("accuracyThreshold", "double"));     // Accuracy threshold
       }
 
       else if (operation.equals("train"))
@@ -121,22 +247,93 @@ public class PerceptronRunner
          if (useTrainingWeights) weightsPath = ConsoleHandler.input("weightsPath", "filePath");              // Weights path
          useTrainingSets = Boolean.parseBoolean(ConsoleHandler.input("useTrainingSets", "boolean"));         // Use training sets
          if (useTrainingSets) trainingSetsPath = ConsoleHandler.input("trainingSetsPath", "filePath");       // Training sets path
+         if (useTrainingSets)
+            sparseInputs = Boolean.parseBoolean(ConsoleHandler.input("sparseInputs", "boolean"));            // Sparse inputs
+         if (useTrainingSets) chunkSize = Integer.parseInt(ConsoleHandler.input("chunkSize", "intPos"));     // Chunk size
 
          lambda = Double.parseDouble(ConsoleHandler.input("lambda", "doublePos"));                           // Lambda
+         optimizer = ConsoleHandler.input("optimizer", "optimizer");                                         // Optimizer
+         if (optimizer.equals("momentum"))
+            momentum = Double.parseDouble(ConsoleHandler.input("momentum", "doublePos"));                    // Momentum
+         if (optimizer.equals("rmsprop"))
+            decay = Double.parseDouble(ConsoleHandler.input("decay", "doublePos"));                          // RMSProp decay
+         if (optimizer.equals("adam"))
+         {
+            beta1 = Double.parseDouble(ConsoleHandler.input("beta1", "doublePos"));                          // Adam beta1
+            beta2 = Double.parseDouble(ConsoleHandler.input("beta2", "doublePos"));                          // Adam beta2
+         }
+         if (optimizer.equals("rmsprop") || optimizer.equals("adam"))
+            epsilon = Double.parseDouble(ConsoleHandler.input("epsilon", "doublePos"));                      // Epsilon
          maxIterations = Integer.parseInt(ConsoleHandler.input("maxIterations", "intPos"));                  // Max iterations
          errorThreshold = Double.parseDouble(ConsoleHandler.input("errorThreshold", "doublePos"));           // Error threshold
          minRandom = Double.parseDouble(ConsoleHandler.input("minRandom", "double"));                        // Min random
          maxRandom = Double.parseDouble(ConsoleHandler.input("maxRandom", "double"));                        // Max random
+         seed = Long.parseLong(ConsoleHandler.input("seed", "int"));                                         // Random seed
+         shuffle = Boolean.parseBoolean(ConsoleHandler.input("shuffle", "boolean"));                         // Shuffle sets
+         plateauWindow = Integer.parseInt(ConsoleHandler.input("plateauWindow", "intPos"));                  // Plateau window
+         if (plateauWindow > 0)
+            minImprovement = Double.parseDouble(ConsoleHandler.input("minImprovement", "doublePos"));        // Min improvement
+         maxSeconds = Double.parseDouble(ConsoleHandler.input("maxSeconds", "doublePos"));                   // Time budget
+         useValidationSets = Boolean.parseBoolean(ConsoleHandler.input("useValidationSets", "boolean"));     // Use validation sets
+         if (useValidationSets)
+         {
+            validationSetsPath = ConsoleHandler.input("validationSetsPath", "filePath");                     // Validation sets path
+            validationInterval = Integer.parseInt(ConsoleHandler.input("validationInterval", "intPos"));     // Validation interval
+            validationPatience = Integer.parseInt(ConsoleHandler.input("validationPatience", "intPos"));     // Validation patience
+         }
+         batchSize = Integer.parseInt(ConsoleHandler.input("batchSize", "intPos"));                          // Batch size
+         if (batchSize > 1) threads = Integer.parseInt(ConsoleHandler.input("threads", "intPos"));           // Threads
 
          saveWeights = Boolean.parseBoolean(ConsoleHandler.input("saveWeights", "boolean"));                 // Save weights
-         if (saveWeights)
-         {
-            savedWeightsPath = ConsoleHandler.input("savedWeightsPath", "filePath");                         // Saved weights path
+         if (saveWeights) savedWeightsPath = ConsoleHandler.input("savedWeightsPath", "filePath");           // Saved weights path
+         saveCheckpoints = Boolean.parseBoolean(ConsoleHandler.input("saveCheckpoints", "boolean"));         // Save checkpoints
+         resumeTraining = Boolean.parseBoolean(ConsoleHandler.input("resumeTraining", "boolean"));           // Resume training
+         if (saveCheckpoints || resumeTraining)
+            checkpointPath = ConsoleHandler.input("checkpointPath", "filePath");                             // Checkpoint path
+         if (saveWeights || saveCheckpoints)
             autosaveInterval = Integer.parseInt(ConsoleHandler.input("autosaveInterval", "int"));            // Autosave interval
+
+         saveMetrics = Boolean.parseBoolean(ConsoleHandler.input("saveMetrics", "boolean"));                 // Save metrics
+         if (saveMetrics)
+         {
+            metricsPath = ConsoleHandler.input("metricsPath", "filePath");                                   // Metrics path
+            metricsInterval = Integer.parseInt(ConsoleHandler.input("metricsInterval", "intPos"));           // Metrics interval
          }
+
+         printResults = Boolean.parseBoolean(ConsoleHandler.input("printResults", "boolean"));               // Print results
+         accuracyThreshold = Double.parseDouble(ConsoleHandler.input("accuracyThreshold", "double"));        // Accuracy threshold
       }  // else if (operation.equals("train"))
    }     // private static void manualConfig(String operation)
 
+   /**
+    * Opens the sink the results of running the network are written to, ending the process if the file cannot be
+    * created.
+    *
+    * @param format  the name of the results format.
+    * @param path    the file path of the results file, or null to write to the console.
+    * @param console the stream written to when there is no results file.
+    * @return returns the opened sink.
+    */
+   static ResultsSink openResults(String format, String path, OutputStream console)
+   {
+      OutputStream out = console;
+
+      if (path != null)
+      {
+         try
+         {
+            out = new FileOutputStream(path);
+         }
+         catch (FileNotFoundException e)
+         {
+            System.out.println("Results file could not be created (" + e.getMessage() + ") -- ending process.");
+            System.exit(1);
+         }
+      }
+
+      return ResultsSink.forName(format, out);
+   }  // static ResultsSink openResults(String format, String path, OutputStream console)
+
    /**
     * Runs the network on a testing set.
     */
@@ -146,22 +343,71 @@ public class PerceptronRunner
       else manualConfig("run");
 
       if (useTestingWeights)
-         perceptron.W = WeightsHandler.readWeights(perceptron.inputNodes, perceptron.hiddenNodes, perceptron.outputNodes, weightsPath);
-      else perceptron.W = WeightsHandler.inputWeights(perceptron.inputNodes, perceptron.hiddenNodes, perceptron.outputNodes);
+         perceptron.W = WeightsHandler.readWeights(perceptron.nodes, weightsPath);
+      else perceptron.W = WeightsHandler.inputWeights(perceptron.nodes);
 
-      if (useTestingSets) inputSets = SetsHandler.readTestingSets(perceptron.inputNodes, testingSetsPath);
-      else inputSets = SetsHandler.inputTestingSets(perceptron.inputNodes);
+      ResultsSink results = openResults(resultsFormat, saveResults ? resultsPath : null, System.out);
+      if (threads == 0) threads = Runtime.getRuntime().availableProcessors();
+      perceptron.threads = threads;
 
-      for (int t = 0; t < inputSets.length; t++)
+      try
       {
-         perceptron.runWithOutput(inputSets[t]);
+         Evaluation evaluation = null;
+
+         if (sparseInputs)
+         {
+            int outputNodes = labeledTestingSets ? perceptron.outputNodes : 0;
+            SparseSource testingSets = SetsHandler.readSparseSets(perceptron.inputNodes, outputNodes, testingSetsPath);
+            Evaluation sparseEvaluation = perceptron.evaluate(testingSets, results, accuracyThreshold);
+            if (labeledTestingSets) evaluation = sparseEvaluation;
+         }
+
+         else if (perceptron.float32 && useTestingSets && !labeledTestingSets)
+         {
+            float[][] floatSets = SetsHandler.readFloatTestingSets(perceptron.inputNodes, testingSetsPath);
+            for (int t = 0; t < floatSets.length; t++)
+            {
+               perceptron.runWithOutput(floatSets[t], results);
+            }
+         }
+
+         else if (labeledTestingSets)
+         {
+            Object[] sets = SetsHandler.readTrainingSets(perceptron.inputNodes, perceptron.outputNodes, testingSetsPath);
+            PatternSource testingSets = new MemorySource(perceptron.inputNodes, perceptron.outputNodes,
+                  (double[][]) sets[0], (double[][]) sets[1]);
+            evaluation = perceptron.evaluate(testingSets, results, accuracyThreshold);
+         }
+
+         else
+         {
+            if (useTestingSets) inputSets = SetsHandler.readTestingSets(perceptron.inputNodes, testingSetsPath);
+            else inputSets = SetsHandler.inputTestingSets(perceptron.inputNodes);
+
+            perceptron.evaluate(new MemorySource(perceptron.inputNodes, 0, inputSets, null), results, accuracyThreshold);
+         }
+
+         if (saveResults) results.close();
+         else results.flush();
+
+         if (evaluation != null)
+         {
+            System.out.println();
+            System.out.println("Testing metrics");
+            evaluation.print(System.out);
+         }
+      }  // try
+      catch (IOException e)
+      {
+         System.out.println("Results could not be written (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
       }
-   }     // private static void runNetwork()
+   }  // private static void runNetwork()
 
    /**
     * Trains the network on a training set.
     */
-   private static void trainNetwork()
+   static void trainNetwork()
    {
       if (config != null) autoConfig("train");
       else manualConfig("train");
@@ -169,24 +415,165 @@ public class PerceptronRunner
       System.out.println(" - Random weight range: " + minRandom + " to " + maxRandom);
       System.out.println(" - Max iterations: " + maxIterations);
       System.out.println(" - Lambda: " + lambda);
+      if (!optimizer.equals("sgd")) System.out.println(" - Optimizer: " + optimizer);
+      if (seed != 0) System.out.println(" - Seed: " + seed);
+      if (shuffle) System.out.println(" - Shuffling sets every iteration");
+
+      perceptron.stopping.clear();
+      if (plateauWindow > 0)
+      {
+         System.out.println(" - Plateau: at least " + minImprovement + " improvement every " + plateauWindow + " iterations");
+         perceptron.stopping.add(new PlateauStop(plateauWindow, minImprovement));
+      }
+      if (maxSeconds > 0)
+      {
+         System.out.println(" - Time budget: " + maxSeconds + " seconds");
+         perceptron.stopping.add(new WallClockStop(maxSeconds));
+      }
+      if (useValidationSets)
+      {
+         System.out.println(" - Validation: every " + validationInterval + " iterations, patience " + validationPatience);
+         int interval = Math.max(1, validationInterval);
+         int patience = Math.max(1, validationPatience);
+
+         if (sparseInputs)
+         {
+            SparseSource sets = SetsHandler.readSparseSets(perceptron.inputNodes, perceptron.outputNodes, validationSetsPath);
+            perceptron.stopping.add(new ValidationStop(perceptron.nodes, perceptron.activation, sets, interval, patience));
+         }
+         else
+         {
+            Object[] sets = SetsHandler.readTrainingSets(perceptron.inputNodes, perceptron.outputNodes, validationSetsPath);
+            perceptron.stopping.add(new ValidationStop(perceptron.nodes, perceptron.activation, (double[][]) sets[0],
+                  (double[][]) sets[1], interval, patience));
+         }
+      }
+
+      if (threads == 0) threads = Runtime.getRuntime().availableProcessors();
+      if (batchSize > 1) System.out.println(" - Batch size: " + batchSize + " (" + threads + " threads)");
+      perceptron.batchSize = batchSize;
+      perceptron.threads = threads;
 
-      if (useTrainingWeights)
-         perceptron.W = WeightsHandler.readWeights(perceptron.inputNodes, perceptron.hiddenNodes, perceptron.outputNodes, weightsPath);
+      if (seed != 0) perceptron.random = new RandomGenerator(seed);
+      perceptron.shuffle = shuffle;
+      perceptron.optimizer = Optimizer.forName(optimizer, perceptron.nodes, momentum, decay, beta1, beta2, epsilon);
+
+      if (resumeTraining) resumeFromCheckpoint();
+
+      if (perceptron.iteration > 0)
+         System.out.println(" - Resuming from iteration " + perceptron.iteration + " (best error " + perceptron.bestError + ")");
+      else if (useTrainingWeights)
+         perceptron.W = WeightsHandler.readWeights(perceptron.nodes, weightsPath);
+      else
+         perceptron.W = WeightsHandler.randomizeWeights(perceptron.nodes, minRandom, maxRandom, perceptron.random);
+
+      if (saveCheckpoints) perceptron.checkpointPath = checkpointPath;
+
+      PatternSource trainingSets;
+      if (sparseInputs)
+      {
+         SparseSource sets = SetsHandler.readSparseSets(perceptron.inputNodes, perceptron.outputNodes, trainingSetsPath);
+         System.out.println(" - Sparse inputs: " + sets.nonZeros() + " non-zeros in " + perceptron.inputNodes + " inputs");
+         trainingSets = sets;
+      }
+      else if (useTrainingSets && chunkSize > 0)
+      {
+         trainingSets = SetsHandler.openTrainingSets(perceptron.inputNodes, perceptron.outputNodes, trainingSetsPath, chunkSize);
+      }
       else
-         perceptron.W = WeightsHandler.randomizeWeights(perceptron.inputNodes, perceptron.hiddenNodes, perceptron.outputNodes, minRandom, maxRandom);
+      {
+         Object[] sets;
+         if (useTrainingSets)
+            sets = SetsHandler.readTrainingSets(perceptron.inputNodes, perceptron.outputNodes, trainingSetsPath);
+         else sets = SetsHandler.inputTrainingSets(perceptron.inputNodes, perceptron.outputNodes);
+
+         inputSets = (double[][]) sets[0];
+         outputSets = (double[][]) sets[1];
+         trainingSets = new MemorySource(perceptron.inputNodes, perceptron.outputNodes, inputSets, outputSets);
+      }
+
+      TrainingLog log = null;
+      if (saveMetrics)
+      {
+         try
+         {
+            log = new TrainingLog(metricsPath);
+            perceptron.listener = log;
+            perceptron.reportInterval = metricsInterval;
+         }
+         catch (IOException e)
+         {
+            System.out.println("Metrics file could not be created (" + e.getMessage() + ") -- training without metrics.");
+         }
+      }  // if (saveMetrics)
 
-      Object[] trainingSets;
-      if (useTrainingSets)
-         trainingSets = SetsHandler.readTrainingSets(perceptron.inputNodes, perceptron.outputNodes, trainingSetsPath);
-      else trainingSets = SetsHandler.inputTrainingSets(perceptron.inputNodes, perceptron.outputNodes);
+      perceptron.train(maxIterations, lambda, errorThreshold, trainingSets, savedWeightsPath, autosaveInterval);
 
-      inputSets = (double[][]) trainingSets[0];
-      outputSets = (double[][]) trainingSets[1];
+      if (log != null)
+      {
+         try
+         {
+            log.close();
+         }
+         catch (IOException e)
+         {
+            System.out.println("Metrics file could not be written (" + e.getMessage() + ").");
+         }
+      }
+
+      if (saveWeights)
+         WeightsHandler.writeWeights(perceptron.W, savedWeightsPath, perceptron.float32 ? Float.BYTES : Double.BYTES);
 
-      perceptron.train(maxIterations, lambda, errorThreshold, inputSets, outputSets, savedWeightsPath, autosaveInterval);
+      if (saveCheckpoints)
+      {
+         Checkpoint checkpoint = new Checkpoint(perceptron.nodes);
+         perceptron.checkpoint(checkpoint);
 
-      if (saveWeights) WeightsHandler.writeWeights(perceptron.W, savedWeightsPath);
-   }  // private static void trainNetwork()
+         try
+         {
+            checkpoint.write(checkpointPath);
+         }
+         catch (IOException e)
+         {
+            System.out.println("Checkpoint file could not be written (" + e.getMessage() + ").");
+         }
+      }  // if (saveCheckpoints)
+
+      try
+      {
+         ResultsSink results = printResults ? openResults(resultsFormat, null, System.out) : null;
+         Evaluation evaluation = perceptron.evaluate(trainingSets, results, accuracyThreshold);
+         if (results != null) results.flush();
+
+         System.out.println();
+         System.out.println("Training metrics");
+         evaluation.print(System.out);
+      }  // try
+      catch (IOException e)
+      {
+         System.out.println("Results could not be written (" + e.getMessage() + ").");
+      }
+   }     // static void trainNetwork()
+
+   /**
+    * Restores the training state saved in the checkpoint file, leaving a fresh run when there is no checkpoint yet.
+    */
+   private static void resumeFromCheckpoint()
+   {
+      try
+      {
+         perceptron.restore(Checkpoint.read(perceptron.nodes, checkpointPath));
+      }
+      catch (FileNotFoundException e)
+      {
+         System.out.println("Checkpoint file not found -- starting training from the beginning.");
+      }
+      catch (IOException e)
+      {
+         System.out.println("Checkpoint file could not be read (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
+   }  // private static void resumeFromCheckpoint()
 
    /**
     * Executes the perceptron interface.
@@ -208,8 +595,10 @@ public class PerceptronRunner
       System.out.println();
       System.out.println("Network configuration");
       System.out.println(" - Number of input nodes: " + perceptron.inputNodes);
-      System.out.println(" - Number of hidden nodes: " + perceptron.hiddenNodes);
+      System.out.println(" - Number of hidden nodes: " + Arrays.toString(perceptron.hiddenNodes()).replaceAll("[\\[\\]]", ""));
       System.out.println(" - Number of output nodes: " + perceptron.outputNodes);
+      if (perceptron.activation instanceof TableSigmoid) System.out.println(" - Activation: table");
+      if (perceptron.float32) System.out.println(" - Precision: float");
 
       System.out.println();
       System.out.print("Run or train network? ");
@@ -0,0 +1,51 @@
+package neuralnet;
+
+/**
+ * Stops training once the best total error has improved by less than a fraction of itself over the last window
+ * iterations, such as when a run has settled on a plateau or saturated. The best error of each of the last window
+ * iterations is kept in a ring buffer allocated once, so checking allocates nothing.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class PlateauStop implements StoppingPolicy
+{
+   private final double minImprovement;
+   private final double[] bestErrors;
+   private int epochs;
+
+   /**
+    * Constructs a new PlateauStop object.
+    *
+    * @param window         the number of iterations the improvement is measured over.
+    * @param minImprovement the smallest fraction of the best error it must improve by over the window, such as 0.001.
+    */
+   public PlateauStop(int window, double minImprovement)
+   {
+      this.minImprovement = minImprovement;
+      bestErrors = new double[window];
+   }
+
+   @Override
+   public void start(Perceptron perceptron)
+   {
+      epochs = 0;
+   }
+
+   @Override
+   public String check(Perceptron perceptron)
+   {
+      int slot = epochs % bestErrors.length;
+      double windowAgo = bestErrors[slot];
+      bestErrors[slot] = perceptron.bestError;
+      epochs++;
+
+      if (epochs <= bestErrors.length) return null;
+
+      double improvement = (windowAgo - perceptron.bestError) / windowAgo;
+      if (improvement >= minImprovement) return null;
+
+      return "Best error improved by only " + improvement + " of itself over the last " + bestErrors.length
+            + " iterations (at " + perceptron.iteration + " total iterations with best error " + perceptron.bestError + ").";
+   }  // public String check(Perceptron perceptron)
+}     // public class PlateauStop implements StoppingPolicy
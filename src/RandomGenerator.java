@@ -1,21 +1,267 @@
+package neuralnet;
+
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * Generates random numbers.
+ * Generates random numbers with the SplitMix64 algorithm, the generator behind java.util.SplittableRandom. Its state
+ * is a long that advances by an odd gamma on every draw. A seeded generator uses the golden gamma, so its whole state
+ * is one long and it can be seeded for reproducible runs, saved in a checkpoint and restored exactly; split derives a
+ * new gamma for every generator it creates, as SplittableRandom does, so the streams it hands out never run along the
+ * same sequence of states. A generator is not thread-safe; split gives each thread an independent stream instead, and
+ * the static random method draws from a stream of the calling thread's own, split from a shared root, so threads never
+ * contend.
  *
  * @author Brandon Park
- * @version 10/15/21
+ * @version 10/18/26
  */
 public class RandomGenerator
 {
+   static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+   private static final AtomicLong SEEDS = new AtomicLong(System.nanoTime());
+   private static final RandomGenerator ROOT = new RandomGenerator();
+   private static final ThreadLocal<RandomGenerator> CURRENT = ThreadLocal.withInitial(RandomGenerator::splitRoot);
+
+   private long state;
+   private long gamma;
+
    /**
-    * Generates a random floating point number between min (inclusive) and max (exclusive).
+    * Constructs a new RandomGenerator object with a seed that differs on every call and in every run.
+    */
+   public RandomGenerator()
+   {
+      this(mix64(SEEDS.getAndAdd(GOLDEN_GAMMA)) ^ mix64(System.nanoTime()));
+   }
+
+   /**
+    * Constructs a new RandomGenerator object with a seed, so the same seed always generates the same numbers.
+    *
+    * @param seed the seed of the generator.
+    */
+   public RandomGenerator(long seed)
+   {
+      this(seed, GOLDEN_GAMMA);
+   }
+
+   /**
+    * Constructs a new RandomGenerator object with a seed and the gamma its state advances by.
+    *
+    * @param seed  the seed of the generator.
+    * @param gamma the amount added to the state on every draw, which must be odd.
+    */
+   private RandomGenerator(long seed, long gamma)
+   {
+      state = seed;
+      this.gamma = gamma;
+   }
+
+   /**
+    * Scrambles the bits of a long, the output function of SplitMix64.
+    *
+    * @param z the value to be scrambled.
+    * @return returns the scrambled value.
+    */
+   private static long mix64(long z)
+   {
+      z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+      z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+      return z ^ (z >>> 31);
+   }
+
+   /**
+    * Turns a long into an odd gamma with enough bit transitions to make a good stream, as SplittableRandom does.
+    *
+    * @param z the value to be turned into a gamma.
+    * @return returns the gamma.
+    */
+   private static long mixGamma(long z)
+   {
+      z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+      z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+      z = (z ^ (z >>> 33)) | 1L;
+      int transitions = Long.bitCount(z ^ (z >>> 1));
+      return transitions < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+   }
+
+   /**
+    * Splits a new stream off the shared root generator for a thread.
+    *
+    * @return returns the new generator.
+    */
+   private static RandomGenerator splitRoot()
+   {
+      synchronized (ROOT)
+      {
+         return ROOT.split();
+      }
+   }
+
+   /**
+    * Finds the generator of the calling thread, which is created the first time the thread asks for it.
+    *
+    * @return returns the calling thread's generator.
+    */
+   public static RandomGenerator current()
+   {
+      return CURRENT.get();
+   }
+
+   /**
+    * Generates a random floating point number between min (inclusive) and max (exclusive) from the calling thread's
+    * generator.
     *
     * @param min the lower bound of the random generation (inclusive).
     * @param max the upper bound of the random generation (exclusive).
     * @return returns a random double between min (inclusive) and max (exclusive).
     */
    public static double random(double min, double max)
+   {
+      return CURRENT.get().nextDouble(min, max);
+   }
+
+   /**
+    * Generates a random long, every value being equally likely.
+    *
+    * @return returns the next random long.
+    */
+   public long nextLong()
+   {
+      state += gamma;
+      return mix64(state);
+   }
+
+   /**
+    * Generates a random floating point number between 0 (inclusive) and 1 (exclusive) from the top 53 bits of a long.
+    *
+    * @return returns a random double between 0 (inclusive) and 1 (exclusive).
+    */
+   public double nextDouble()
+   {
+      return (nextLong() >>> 11) * 0x1.0p-53;
+   }
+
+   /**
+    * Generates a random floating point number between min (inclusive) and max (exclusive).
+    *
+    * @param min the lower bound of the random generation (inclusive).
+    * @param max the upper bound of the random generation (exclusive).
+    * @return returns a random double between min (inclusive) and max (exclusive).
+    */
+   public double nextDouble(double min, double max)
    {
       double difference = max - min;
-      return difference * Math.random() + min;
+      return difference * nextDouble() + min;
+   }
+
+   /**
+    * Generates a random int from 0 (inclusive) to bound (exclusive) by scaling the top 32 bits of a long, which is
+    * biased by at most bound / 2^32 and far cheaper than rejection.
+    *
+    * @param bound the upper bound of the random generation (exclusive), which must be positive.
+    * @return returns a random int from 0 (inclusive) to bound (exclusive).
+    */
+   public int nextInt(int bound)
+   {
+      return (int) (((nextLong() >>> 32) * bound) >>> 32);
+   }
+
+   /**
+    * Shuffles the first count rows of two arrays in place with the same Fisher-Yates permutation, so rows that belong
+    * together stay together.
+    *
+    * @param a     the first array to be shuffled.
+    * @param b     the second array to be shuffled, with at least count rows.
+    * @param count the number of rows to shuffle.
+    */
+   public void shuffle(Object[] a, Object[] b, int count)
+   {
+      shuffle(a, b, null, count);
+   }
+
+   /**
+    * Shuffles the first count rows of up to three arrays in place with the same Fisher-Yates permutation, drawing the
+    * same numbers as shuffling two arrays, so rows that belong together stay together.
+    *
+    * @param a     the first array to be shuffled.
+    * @param b     the second array to be shuffled, with at least count rows.
+    * @param c     the third array to be shuffled, with at least count rows, or null to shuffle only two.
+    * @param count the number of rows to shuffle.
+    */
+   public void shuffle(Object[] a, Object[] b, Object[] c, int count)
+   {
+      for (int i = count - 1; i > 0; i--)
+      {
+         int j = nextInt(i + 1);
+
+         Object row = a[i];
+         a[i] = a[j];
+         a[j] = row;
+
+         row = b[i];
+         b[i] = b[j];
+         b[j] = row;
+
+         if (c != null)
+         {
+            row = c[i];
+            c[i] = c[j];
+            c[j] = row;
+         }
+      }  // for (int i = count - 1; i > 0; i--)
+   }     // public void shuffle(Object[] a, Object[] b, Object[] c, int count)
+
+   /**
+    * Creates a new generator whose stream is independent of this one's, for use on another thread, seeded from the
+    * next long and advancing by a gamma mixed from the state after it.
+    *
+    * @return returns the new generator.
+    */
+   public RandomGenerator split()
+   {
+      long seed = nextLong();
+      state += gamma;
+      return new RandomGenerator(seed, mixGamma(state));
+   }
+
+   /**
+    * Finds the state of the generator, which restores it exactly when passed to setState along with gamma.
+    *
+    * @return returns the state of the generator.
+    */
+   public long state()
+   {
+      return state;
+   }
+
+   /**
+    * Finds the gamma the state of the generator advances by, which is GOLDEN_GAMMA unless the generator was split.
+    *
+    * @return returns the gamma of the generator.
+    */
+   public long gamma()
+   {
+      return gamma;
+   }
+
+   /**
+    * Restores the state of the generator, keeping its gamma.
+    *
+    * @param state a state returned by state.
+    */
+   public void setState(long state)
+   {
+      this.state = state;
+   }
+
+   /**
+    * Restores the state and the gamma of the generator.
+    *
+    * @param state a state returned by state.
+    * @param gamma a gamma returned by gamma.
+    */
+   public void setState(long state, long gamma)
+   {
+      this.state = state;
+      this.gamma = gamma;
    }
 }  // public class RandomGenerator
@@ -0,0 +1,60 @@
+package neuralnet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Receives the results of running the network on each set and writes them somewhere, such as a file or standard output.
+ * Every sink buffers what it writes, so nothing reaches the stream until the buffer fills or flush or close is called.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public interface ResultsSink extends Closeable
+{
+   /**
+    * Writes the results of one set.
+    *
+    * @param inputSet  the input values of the set.
+    * @param outputSet the expected output values of the set, or null for a testing set.
+    * @param F         the output values the network found.
+    * @throws IOException if the results cannot be written.
+    */
+   void write(double[] inputSet, double[] outputSet, double[] F) throws IOException;
+
+   /**
+    * Writes the results of one set run by the float32 engine.
+    *
+    * @param inputSet the input values of the set.
+    * @param F        the output values the network found.
+    * @throws IOException if the results cannot be written.
+    */
+   void write(float[] inputSet, float[] F) throws IOException;
+
+   /**
+    * Writes everything buffered so far to the stream.
+    *
+    * @throws IOException if the results cannot be written.
+    */
+   void flush() throws IOException;
+
+   /**
+    * Creates the sink for a results format.
+    *
+    * @param format the name of the format, "text", "csv", "binary" or "debug".
+    * @param out    the stream the results are written to, which the sink closes when it is closed.
+    * @return returns the sink, or null if the format is not known.
+    */
+   static ResultsSink forName(String format, OutputStream out)
+   {
+      ResultsSink sink = null;
+
+      if (format.equals("text")) sink = new TextSink(out);
+      else if (format.equals("csv")) sink = new CsvSink(out);
+      else if (format.equals("binary")) sink = new BinarySink(out);
+      else if (format.equals("debug")) sink = new DebugSink(out);
+
+      return sink;
+   }  // static ResultsSink forName(String format, OutputStream out)
+}     // public interface ResultsSink extends Closeable
@@ -0,0 +1,61 @@
+package neuralnet;
+
+/**
+ * Applies RMSProp: every weight moves by lambda times its mean gradient divided by the root of a running average of
+ * its squared gradients, so each weight gets a step size suited to the scale of its own gradients.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class RmsProp extends BufferedOptimizer
+{
+   public double decay;
+   public double epsilon;
+
+   private Weights S;
+
+   /**
+    * Constructs a new RmsProp object with zero squared gradient averages.
+    *
+    * @param nodes   the number of nodes in each layer of the network.
+    * @param decay   the fraction of the running average kept at each step, such as 0.9.
+    * @param epsilon the small value added to the root so it is never zero, such as 1e-8.
+    */
+   public RmsProp(int[] nodes, double decay, double epsilon)
+   {
+      super(nodes);
+      this.decay = decay;
+      this.epsilon = epsilon;
+      S = new Weights(nodes);
+   }
+
+   @Override
+   public void beginStep()
+   {
+   }
+
+   @Override
+   public void update(int n, double[] w, double[] g, int count, double lambda, int start, int end)
+   {
+      double[] s = S.values[n];
+
+      for (int i = start; i < end; i++)
+      {
+         double gradient = g[i] / count;
+         s[i] = decay * s[i] + (1.0 - decay) * gradient * gradient;
+         w[i] += lambda * gradient / (Math.sqrt(s[i]) + epsilon);
+      }
+   }
+
+   @Override
+   public void save(Checkpoint checkpoint)
+   {
+      save(checkpoint, "rmsprop.s", S);
+   }
+
+   @Override
+   public void restore(Checkpoint checkpoint)
+   {
+      restore(checkpoint, "rmsprop.s", S);
+   }
+}  // public class RmsProp extends BufferedOptimizer
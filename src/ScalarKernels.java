@@ -0,0 +1,42 @@
+package neuralnet;
+
+/**
+ * Performs the kernel loops one element at a time, in the same order as the original loops of LayerState, so training
+ * and running with these kernels is bit-identical to before kernels existed.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class ScalarKernels implements Kernels
+{
+   @Override
+   public double dot(double[] x, int xOffset, double[] y, int length)
+   {
+      double sum = 0.0;
+
+      for (int k = 0; k < length; k++)
+      {
+         sum += x[xOffset + k] * y[k];
+      }
+
+      return sum;
+   }
+
+   @Override
+   public void axpy(double a, double[] x, int xOffset, double[] y, int yOffset, int length)
+   {
+      for (int k = 0; k < length; k++)
+      {
+         y[yOffset + k] += a * x[xOffset + k];
+      }
+   }
+
+   @Override
+   public void update(double lambda, double[] h, double psi, double[] w, int wOffset, int length)
+   {
+      for (int k = 0; k < length; k++)
+      {
+         w[wOffset + k] += lambda * h[k] * psi;
+      }
+   }
+}  // public class ScalarKernels implements Kernels
@@ -0,0 +1,147 @@
+package neuralnet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Converts a text training or testing sets file into the binary sets format read by BinarySource, streaming the text
+ * file so it never has to fit in memory.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class SetsConverter
+{
+   static final int CHUNK_SIZE = 4096;
+   static final int BUFFER_BYTES = 1 << 20;
+
+   /**
+    * Converts a text sets file into a binary sets file.
+    *
+    * @param textPath     the file path of the text sets file.
+    * @param binaryPath   the file path of the binary sets file to be written.
+    * @param inputNodes   the number of input values in each set.
+    * @param outputNodes  the number of output values in each set, or 0 for a testing file.
+    * @param elementBytes the bytes per value to be written, 8 for float64 or 4 for float32.
+    * @return returns the number of sets converted.
+    * @throws IOException if either file cannot be read or written.
+    */
+   public static long convert(String textPath, String binaryPath, int inputNodes, int outputNodes, int elementBytes)
+         throws IOException
+   {
+      // Wide sets are parsed fewer at a time, so a chunk of them stays around the size of the buffer
+      long rowBytes = (long) (inputNodes + outputNodes) * Double.BYTES;
+      int chunkSize = (int) Math.max(1, Math.min(CHUNK_SIZE, BUFFER_BYTES / rowBytes));
+
+      try (TextSource source = new TextSource(inputNodes, outputNodes, textPath, chunkSize);
+           FileChannel channel = FileChannel.open(Path.of(binaryPath), StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+      {
+         BinarySource.writeHeader(channel, elementBytes, inputNodes, outputNodes, source.size());
+
+         // A set wider than the usual buffer gets a buffer of its own size, so every set fits after a drain
+         int setBytes = (inputNodes + outputNodes) * elementBytes;
+         ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_BYTES, setBytes)).order(ByteOrder.LITTLE_ENDIAN);
+
+         source.rewind();
+         int count;
+         while ((count = source.next()) > 0)
+         {
+            for (int t = 0; t < count; t++)
+            {
+               if (buffer.remaining() < setBytes) drain(channel, buffer);
+
+               put(buffer, source.inputs()[t], inputNodes, elementBytes);
+               put(buffer, source.outputs()[t], outputNodes, elementBytes);
+            }
+         }
+
+         drain(channel, buffer);
+         return source.size();
+      }  // try
+   }     // public static long convert(String textPath, String binaryPath, int inputNodes, int outputNodes, int elementBytes)
+
+   /**
+    * Appends values to a buffer at the given precision.
+    *
+    * @param buffer       the buffer to be written to.
+    * @param row          the values to be written.
+    * @param count        the number of values to write.
+    * @param elementBytes the bytes per value, 8 for float64 or 4 for float32.
+    */
+   private static void put(ByteBuffer buffer, double[] row, int count, int elementBytes)
+   {
+      for (int i = 0; i < count; i++)
+      {
+         if (elementBytes == Double.BYTES) buffer.putDouble(row[i]);
+         else buffer.putFloat((float) row[i]);
+      }
+   }
+
+   /**
+    * Writes everything in a buffer to a channel and empties the buffer.
+    *
+    * @param channel the channel to be written to.
+    * @param buffer  the buffer to be written, ready for putting.
+    * @throws IOException if the channel cannot be written.
+    */
+   private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException
+   {
+      buffer.flip();
+      while (buffer.hasRemaining())
+      {
+         channel.write(buffer);
+      }
+      buffer.clear();
+   }
+
+   /**
+    * Converts a text sets file given on the command line.
+    *
+    * @param args the text file path, the binary file path, the number of input values per set, the number of output
+    *             values per set (0 for a testing file) and optionally "float32" to store values as floats and "sparse"
+    *             to convert a sparse text sets file into a sparse binary sets file, which is read into memory first.
+    */
+   public static void main(String[] args)
+   {
+      if (args.length < 4)
+      {
+         System.out.println("Usage: SetsConverter textPath binaryPath inputNodes outputNodes [float32] [sparse]");
+         System.exit(1);
+      }
+
+      int elementBytes = Double.BYTES;
+      boolean sparse = false;
+      for (int a = 4; a < args.length; a++)
+      {
+         if (args[a].equals("float32")) elementBytes = Float.BYTES;
+         else if (args[a].equals("sparse")) sparse = true;
+      }
+
+      try
+      {
+         int inputNodes = Integer.parseInt(args[2]);
+         int outputNodes = Integer.parseInt(args[3]);
+         long sets;
+
+         if (sparse)
+         {
+            SparseSource source = SparseSource.read(inputNodes, outputNodes, args[0]);
+            source.writeBinary(args[1], elementBytes);
+            sets = source.size();
+         }
+         else sets = convert(args[0], args[1], inputNodes, outputNodes, elementBytes);
+
+         System.out.println("Converted " + sets + " sets to " + args[1] + ".");
+      }
+      catch (IOException | NumberFormatException e)
+      {
+         System.out.println("Sets file could not be converted (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
+   }  // public static void main(String[] args)
+}     // public class SetsConverter
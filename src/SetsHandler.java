@@ -1,6 +1,7 @@
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.util.Scanner;
+package neuralnet;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
 
 /**
  * Handles reading input sets from files and the console.
@@ -10,6 +11,8 @@ import java.util.Scanner;
  */
 public class SetsHandler
 {
+   static final int FLOAT_CHUNK_SIZE = 4096;
+
    /**
     * Reads testing sets from the console.
     *
@@ -40,7 +43,7 @@ public class SetsHandler
    }  // public static double[][] inputTestingSets(int inputNodes)
 
    /**
-    * Reads testing sets from a file.
+    * Reads testing sets from a text or binary file.
     *
     * @param inputNodes the number of input nodes in the network.
     * @param filePath   the file path of the testing sets file.
@@ -48,35 +51,137 @@ public class SetsHandler
     */
    public static double[][] readTestingSets(int inputNodes, String filePath)
    {
-      double[][] inputSets;
+      double[][] inputSets = null;
 
-      try
+      if (BinarySource.isBinary(filePath))
       {
-         FileReader fileReader = new FileReader(filePath);
-         Scanner scanner = new Scanner(fileReader);
+         try
+         {
+            inputSets = readBinarySets(inputNodes, 0, filePath)[0];
+         }
+         catch (IOException e)
+         {
+            System.out.println("Testing file could not be read (" + e.getMessage() + ") -- ending process.");
+            System.exit(1);
+         }
 
-         int numSets = scanner.nextInt();
+         return inputSets;
+      }  // if (BinarySource.isBinary(filePath))
+
+      try (NumberReader reader = new NumberReader(filePath))
+      {
+         int numSets = reader.nextInt();
          inputSets = new double[numSets][inputNodes];
 
          for (int t = 0; t < inputSets.length; t++)
          {
             for (int k = 0; k < inputSets[t].length; k++)
             {
-               inputSets[t][k] = scanner.nextDouble();
+               inputSets[t][k] = reader.nextDouble();
             }
          }
-
-         scanner.close();
       }  // try
-      catch (FileNotFoundException e)
+      catch (NoSuchFileException e)
       {
+         ConsoleHandler.requireInteractive("Testing file " + filePath + " not found");
          System.out.println("Testing file not found -- getting testing input sets manually.");
          inputSets = inputTestingSets(inputNodes);
       }
+      catch (IOException | NumberFormatException e)
+      {
+         System.out.println("Testing file could not be read (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
 
       return inputSets;
    }  // public static double[][] readTestingSets(int inputNodes, String filePath)
 
+   /**
+    * Reads testing sets from a text or binary file straight into floats for the float32 engine, so the sets take half
+    * the memory of readTestingSets. A binary file is read one chunk at a time, so its sets are never all held as
+    * doubles.
+    *
+    * @param inputNodes the number of input nodes in the network.
+    * @param filePath   the file path of the testing sets file.
+    * @return returns an array of testing sets.
+    */
+   public static float[][] readFloatTestingSets(int inputNodes, String filePath)
+   {
+      float[][] inputSets = null;
+
+      if (BinarySource.isBinary(filePath))
+      {
+         try (BinarySource source = new BinarySource(inputNodes, 0, filePath, FLOAT_CHUNK_SIZE))
+         {
+            inputSets = new float[(int) source.size()][inputNodes];
+            int done = 0;
+            int count;
+
+            while ((count = source.next()) > 0)
+            {
+               for (int t = 0; t < count; t++)
+               {
+                  toFloat(source.inputs()[t], inputSets[done + t]);
+               }
+               done += count;
+            }
+         }  // try (BinarySource source = new BinarySource(inputNodes, 0, filePath, FLOAT_CHUNK_SIZE))
+         catch (IOException e)
+         {
+            System.out.println("Testing file could not be read (" + e.getMessage() + ") -- ending process.");
+            System.exit(1);
+         }
+
+         return inputSets;
+      }  // if (BinarySource.isBinary(filePath))
+
+      try (NumberReader reader = new NumberReader(filePath))
+      {
+         int numSets = reader.nextInt();
+         inputSets = new float[numSets][inputNodes];
+
+         for (int t = 0; t < inputSets.length; t++)
+         {
+            for (int k = 0; k < inputSets[t].length; k++)
+            {
+               inputSets[t][k] = (float) reader.nextDouble();
+            }
+         }
+      }  // try
+      catch (NoSuchFileException e)
+      {
+         ConsoleHandler.requireInteractive("Testing file " + filePath + " not found");
+         System.out.println("Testing file not found -- getting testing input sets manually.");
+         double[][] sets = inputTestingSets(inputNodes);
+         inputSets = new float[sets.length][inputNodes];
+         for (int t = 0; t < sets.length; t++)
+         {
+            toFloat(sets[t], inputSets[t]);
+         }
+      }
+      catch (IOException | NumberFormatException e)
+      {
+         System.out.println("Testing file could not be read (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
+
+      return inputSets;
+   }  // public static float[][] readFloatTestingSets(int inputNodes, String filePath)
+
+   /**
+    * Rounds a row of values to the nearest floats.
+    *
+    * @param values the values to be rounded.
+    * @param floats the array the rounded values are written to.
+    */
+   private static void toFloat(double[] values, float[] floats)
+   {
+      for (int k = 0; k < floats.length; k++)
+      {
+         floats[k] = (float) values[k];
+      }
+   }
+
    /**
     * Reads training sets from the console.
     *
@@ -114,7 +219,7 @@ public class SetsHandler
    }  // public static Object[] inputTrainingSets(int inputNodes, int outputNodes)
 
    /**
-    * Reads training sets from a file.
+    * Reads training sets from a text or binary file.
     *
     * @param inputNodes  the number of input nodes in the network.
     * @param outputNodes the number of output nodes in the network.
@@ -123,17 +228,30 @@ public class SetsHandler
     */
    public static Object[] readTrainingSets(int inputNodes, int outputNodes, String filePath)
    {
-      Object[] trainingSets;
+      Object[] trainingSets = null;
 
-      try
+      if (BinarySource.isBinary(filePath))
+      {
+         try
+         {
+            double[][][] sets = readBinarySets(inputNodes, outputNodes, filePath);
+            trainingSets = new Object[]{sets[0], sets[1]};
+         }
+         catch (IOException e)
+         {
+            System.out.println("Training file could not be read (" + e.getMessage() + ") -- ending process.");
+            System.exit(1);
+         }
+
+         return trainingSets;
+      }  // if (BinarySource.isBinary(filePath))
+
+      try (NumberReader reader = new NumberReader(filePath))
       {
          double[][] inputSets;
          double[][] outputSets;
 
-         FileReader fileReader = new FileReader(filePath);
-         Scanner scanner = new Scanner(fileReader);
-
-         int numSets = scanner.nextInt();
+         int numSets = reader.nextInt();
          inputSets = new double[numSets][inputNodes];
          outputSets = new double[numSets][outputNodes];
 
@@ -141,22 +259,110 @@ public class SetsHandler
          {
             for (int k = 0; k < inputNodes; k++)
             {
-               inputSets[t][k] = scanner.nextDouble();
+               inputSets[t][k] = reader.nextDouble();
             }
             for (int i = 0; i < outputNodes; i++)
             {
-               outputSets[t][i] = scanner.nextDouble();
+               outputSets[t][i] = reader.nextDouble();
             }
          }
 
          trainingSets = new Object[]{inputSets, outputSets};
       }  // try
-      catch (FileNotFoundException e)
+      catch (NoSuchFileException e)
       {
+         ConsoleHandler.requireInteractive("Training file " + filePath + " not found");
          System.out.println("Training file not found -- getting training input sets manually.");
          trainingSets = inputTrainingSets(inputNodes, outputNodes);
       }
+      catch (IOException | NumberFormatException e)
+      {
+         System.out.println("Training file could not be read (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
 
       return trainingSets;
    }  // public static Object[] readTrainingSets(int inputNodes, int outputNodes, String filePath)
+
+   /**
+    * Reads sets whose inputs are stored sparsely from a sparse text or binary file.
+    *
+    * @param inputNodes  the number of input nodes in the network.
+    * @param outputNodes the number of output nodes in the network, or 0 for testing sets.
+    * @param filePath    the file path of the sparse sets file.
+    * @return returns a source of the sparse sets.
+    */
+   public static SparseSource readSparseSets(int inputNodes, int outputNodes, String filePath)
+   {
+      SparseSource sets = null;
+
+      try
+      {
+         sets = SparseSource.read(inputNodes, outputNodes, filePath);
+      }
+      catch (NoSuchFileException e)
+      {
+         System.out.println("Sparse sets file " + filePath + " not found -- ending process.");
+         System.exit(1);
+      }
+      catch (IOException | NumberFormatException e)
+      {
+         System.out.println("Sparse sets file could not be read (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
+
+      return sets;
+   }  // public static SparseSource readSparseSets(int inputNodes, int outputNodes, String filePath)
+
+   /**
+    * Reads every set of a binary sets file into memory.
+    *
+    * @param inputNodes  the number of input nodes in the network.
+    * @param outputNodes the number of output nodes in the network, or 0 to skip the outputs.
+    * @param filePath    the file path of the binary sets file.
+    * @return returns the input sets followed by the output sets.
+    * @throws IOException if the file cannot be read or does not match the network.
+    */
+   private static double[][][] readBinarySets(int inputNodes, int outputNodes, String filePath) throws IOException
+   {
+      try (BinarySource source = new BinarySource(inputNodes, outputNodes, filePath, Integer.MAX_VALUE))
+      {
+         source.next();
+         return new double[][][]{source.inputs(), source.outputs()};
+      }
+   }  // private static double[][][] readBinarySets(int inputNodes, int outputNodes, String filePath)
+
+   /**
+    * Opens training sets from a text or binary file to be streamed one chunk at a time instead of read into memory.
+    *
+    * @param inputNodes  the number of input nodes in the network.
+    * @param outputNodes the number of output nodes in the network.
+    * @param filePath    the file path of the training sets file.
+    * @param chunkSize   the number of sets read at a time.
+    * @return returns a source of the training sets.
+    */
+   public static PatternSource openTrainingSets(int inputNodes, int outputNodes, String filePath, int chunkSize)
+   {
+      PatternSource source = null;
+
+      try
+      {
+         if (BinarySource.isBinary(filePath)) source = new BinarySource(inputNodes, outputNodes, filePath, chunkSize);
+         else source = new TextSource(inputNodes, outputNodes, filePath, chunkSize);
+      }
+      catch (NoSuchFileException e)
+      {
+         ConsoleHandler.requireInteractive("Sets file " + filePath + " not found");
+         System.out.println("Training file not found -- getting training input sets manually.");
+         Object[] trainingSets = inputTrainingSets(inputNodes, outputNodes);
+         source = new MemorySource(inputNodes, outputNodes, (double[][]) trainingSets[0], (double[][]) trainingSets[1]);
+      }
+      catch (IOException | NumberFormatException e)
+      {
+         System.out.println("Training file could not be read (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
+
+      return source;
+   }  // public static PatternSource openTrainingSets(int inputNodes, int outputNodes, String filePath, int chunkSize)
 }     // public class SetsHandler
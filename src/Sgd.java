@@ -0,0 +1,44 @@
+package neuralnet;
+
+/**
+ * Applies plain gradient descent, moving every weight by lambda times its mean gradient. It keeps no state.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class Sgd implements Optimizer
+{
+   /**
+    * Applies the gradient of one set directly from the LayerState, without gathering it into a buffer first.
+    *
+    * @param state  the buffers holding the last forward and backward pass.
+    * @param W      the weights to be updated.
+    * @param lambda the learning rate.
+    */
+   @Override
+   public void update(LayerState state, Weights W, double lambda)
+   {
+      state.update(W, lambda);
+   }
+
+   @Override
+   public void beginStep()
+   {
+   }
+
+   @Override
+   public void update(int n, double[] w, double[] g, int count, double lambda, int start, int end)
+   {
+      Kernels.ACTIVE.axpy(lambda / count, g, start, w, start, end - start);
+   }
+
+   @Override
+   public void save(Checkpoint checkpoint)
+   {
+   }
+
+   @Override
+   public void restore(Checkpoint checkpoint)
+   {
+   }
+}  // public class Sgd implements Optimizer
@@ -0,0 +1,109 @@
+package neuralnet;
+
+/**
+ * Hands out the sets of another source in a new random order on every pass. Each chunk of the underlying source is
+ * shuffled in place with Fisher-Yates, moving only row references in arrays owned by this source, so the sets
+ * themselves are never copied and the underlying arrays keep their order. A source that streams its sets in chunks is
+ * shuffled within each chunk, so a larger chunk mixes the sets more thoroughly.
+ * The order depends only on the generator, so a seeded generator gives the same orders in every run. The indices and
+ * values of a sparse source are shuffled together in place of its inputs.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class ShuffledSource implements PatternSource
+{
+   private PatternSource source;
+   private RandomGenerator random;
+   private double[][] inputSets = new double[0][];
+   private double[][] outputSets = new double[0][];
+   private int[][] indexSets;
+   private double[][] valueSets;
+
+   /**
+    * Constructs a new ShuffledSource object.
+    *
+    * @param source the source whose sets are shuffled.
+    * @param random the generator the order is drawn from.
+    */
+   public ShuffledSource(PatternSource source, RandomGenerator random)
+   {
+      this.source = source;
+      this.random = random;
+   }
+
+   @Override
+   public int inputNodes()
+   {
+      return source.inputNodes();
+   }
+
+   @Override
+   public int outputNodes()
+   {
+      return source.outputNodes();
+   }
+
+   @Override
+   public void rewind()
+   {
+      source.rewind();
+   }
+
+   @Override
+   public int next()
+   {
+      int count = source.next();
+
+      if (outputSets.length < count)
+      {
+         inputSets = new double[count][];
+         outputSets = new double[count][];
+      }
+      System.arraycopy(source.outputs(), 0, outputSets, 0, count);
+
+      if (source.inputIndices() != null)
+      {
+         if (indexSets == null || indexSets.length < count)
+         {
+            indexSets = new int[count][];
+            valueSets = new double[count][];
+         }
+
+         System.arraycopy(source.inputIndices(), 0, indexSets, 0, count);
+         System.arraycopy(source.inputValues(), 0, valueSets, 0, count);
+         random.shuffle(indexSets, valueSets, outputSets, count);
+      }  // if (source.inputIndices() != null)
+      else
+      {
+         System.arraycopy(source.inputs(), 0, inputSets, 0, count);
+         random.shuffle(inputSets, outputSets, count);
+      }
+
+      return count;
+   }  // public int next()
+
+   @Override
+   public double[][] inputs()
+   {
+      return indexSets != null ? null : inputSets;
+   }
+
+   @Override
+   public int[][] inputIndices()
+   {
+      return indexSets;
+   }
+
+   @Override
+   public double[][] inputValues()
+   {
+      return valueSets;
+   }
+
+   @Override
+   public double[][] outputs()
+   {
+      return outputSets;
+   }
+}  // public class ShuffledSource implements PatternSource
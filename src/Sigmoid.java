@@ -0,0 +1,22 @@
+package neuralnet;
+
+/**
+ * Evaluates the sigmoid exactly with Math.exp.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class Sigmoid implements Activation
+{
+   /**
+    * Calculates the sigmoid of an input: 1/(1+e^-input)
+    *
+    * @param input the input value.
+    * @return returns the sigmoid of input as a double.
+    */
+   @Override
+   public double f(double input)
+   {
+      return 1.0 / (1.0 + Math.exp(-input));
+   }
+}  // public class Sigmoid implements Activation
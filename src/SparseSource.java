@@ -0,0 +1,438 @@
+package neuralnet;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Supplies sets whose inputs are stored sparsely, as the indices and values of their non-zero inputs, handing them all
+ * out as a single chunk. Wide inputs that are mostly zero, such as one-hot or bag-of-words vectors, take memory and
+ * training time in proportion to their non-zeros instead of their width.
+ * A sparse text sets file starts with the number of sets, followed by each set as its number of non-zero inputs, each
+ * non-zero input as index:value and then its output values, such as "2 3:1 17:0.5 1". A sparse binary sets file has
+ * the 32-byte header of a binary sets file with its own magic number, followed by each set as its number of non-zero
+ * inputs as an int, their indices as ints, their values and then its output values, all little-endian. Indices start
+ * at 0 and must be in ascending order.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class SparseSource implements PatternSource
+{
+   static final int MAGIC = 0x50534E4E;     // "NNSP" in little-endian order
+   static final int VERSION = 1;
+   static final int BUFFER_BYTES = 1 << 20;
+
+   private int[][] indexSets;
+   private double[][] valueSets;
+   private double[][] outputSets;
+   private int inputNodes;
+   private int outputNodes;
+   private boolean read;
+
+   /**
+    * Constructs a new SparseSource object over arrays of sparse sets.
+    *
+    * @param inputNodes  the number of input values in each set, counting the zeros.
+    * @param outputNodes the number of output values in each set, or 0 for testing sets.
+    * @param indexSets   the ascending indices of the non-zero input values of each set.
+    * @param valueSets   the non-zero input values of each set.
+    * @param outputSets  the output values of each set, or null for testing sets.
+    */
+   public SparseSource(int inputNodes, int outputNodes, int[][] indexSets, double[][] valueSets, double[][] outputSets)
+   {
+      this.inputNodes = inputNodes;
+      this.outputNodes = outputNodes;
+      this.indexSets = indexSets;
+      this.valueSets = valueSets;
+      this.outputSets = outputSets;
+   }
+
+   /**
+    * Creates a sparse copy of sets stored densely, keeping only their non-zero input values.
+    *
+    * @param outputNodes the number of output values in each set, or 0 for testing sets.
+    * @param inputSets   the input values of each set.
+    * @param outputSets  the output values of each set, which are shared rather than copied, or null for testing sets.
+    * @return returns the sparse sets.
+    */
+   public static SparseSource fromDense(int outputNodes, double[][] inputSets, double[][] outputSets)
+   {
+      int inputNodes = inputSets.length > 0 ? inputSets[0].length : 0;
+      int[][] indexSets = new int[inputSets.length][];
+      double[][] valueSets = new double[inputSets.length][];
+
+      for (int t = 0; t < inputSets.length; t++)
+      {
+         int nonZeros = 0;
+         for (double x : inputSets[t])
+         {
+            if (x != 0.0) nonZeros++;
+         }
+
+         indexSets[t] = new int[nonZeros];
+         valueSets[t] = new double[nonZeros];
+         int p = 0;
+         for (int k = 0; k < inputSets[t].length; k++)
+         {
+            if (inputSets[t][k] != 0.0)
+            {
+               indexSets[t][p] = k;
+               valueSets[t][p++] = inputSets[t][k];
+            }
+         }
+      }  // for (int t = 0; t < inputSets.length; t++)
+
+      return new SparseSource(inputNodes, outputNodes, indexSets, valueSets, outputSets);
+   }  // public static SparseSource fromDense(int outputNodes, double[][] inputSets, double[][] outputSets)
+
+   /**
+    * Reads every set of a sparse text or binary sets file into memory.
+    *
+    * @param inputNodes  the number of input values in each set, counting the zeros.
+    * @param outputNodes the number of output values in each set, or 0 to skip the outputs.
+    * @param filePath    the file path of the sparse sets file.
+    * @return returns the sparse sets.
+    * @throws IOException if the file cannot be read, is malformed or does not match the network.
+    */
+   public static SparseSource read(int inputNodes, int outputNodes, String filePath) throws IOException
+   {
+      if (isBinary(filePath)) return readBinary(inputNodes, outputNodes, filePath);
+
+      try (NumberReader reader = new NumberReader(filePath))
+      {
+         int numSets = reader.nextInt();
+         // Every set takes at least a digit and a separator, so a count beyond that is corrupt rather than large
+         if (numSets < 0 || numSets > Files.size(Path.of(filePath)) / 2)
+            throw new IOException("sets file cannot hold " + numSets + " sets");
+
+         int[][] indexSets = new int[numSets][];
+         double[][] valueSets = new double[numSets][];
+         double[][] outputSets = new double[numSets][outputNodes];
+
+         for (int t = 0; t < numSets; t++)
+         {
+            int nonZeros = reader.nextInt();
+            if (nonZeros < 0 || nonZeros > inputNodes)
+               throw new IOException("set " + t + " has " + nonZeros + " non-zero inputs");
+
+            indexSets[t] = new int[nonZeros];
+            valueSets[t] = new double[nonZeros];
+
+            for (int p = 0; p < nonZeros; p++)
+            {
+               indexSets[t][p] = reader.nextInt();
+               valueSets[t][p] = reader.nextDouble();
+            }
+            checkIndices(indexSets[t], inputNodes, t);
+
+            for (int i = 0; i < outputNodes; i++)
+            {
+               outputSets[t][i] = reader.nextDouble();
+            }
+         }  // for (int t = 0; t < numSets; t++)
+
+         return new SparseSource(inputNodes, outputNodes, indexSets, valueSets, outputSets);
+      }  // try (NumberReader reader = new NumberReader(filePath))
+   }     // public static SparseSource read(int inputNodes, int outputNodes, String filePath)
+
+   /**
+    * Checks that the indices of a set are in ascending order and within the input layer.
+    *
+    * @param index      the indices of the non-zero input values of the set.
+    * @param inputNodes the number of input values in each set.
+    * @param t          the position of the set in the file.
+    * @throws IOException if an index is out of order or out of range.
+    */
+   private static void checkIndices(int[] index, int inputNodes, int t) throws IOException
+   {
+      for (int p = 0; p < index.length; p++)
+      {
+         if (index[p] < 0 || index[p] >= inputNodes || (p > 0 && index[p] <= index[p - 1]))
+            throw new IOException("set " + t + " has input index " + index[p] + " out of order or out of range");
+      }
+   }
+
+   /**
+    * Determines whether a sets file is in the sparse binary format by checking for the magic number at its start.
+    *
+    * @param filePath the file path of the sets file.
+    * @return returns whether the file begins with the sparse binary sets magic number.
+    */
+   public static boolean isBinary(String filePath)
+   {
+      boolean binary;
+
+      try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ))
+      {
+         ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+         binary = channel.read(magic) == Integer.BYTES && magic.getInt(0) == MAGIC;
+      }
+      catch (IOException e)
+      {
+         binary = false;
+      }
+
+      return binary;
+   }  // public static boolean isBinary(String filePath)
+
+   /**
+    * Makes sure a buffer holds at least a given number of unread bytes, reading more of the file when it does not.
+    *
+    * @param channel the channel of the file.
+    * @param buffer  the buffer, ready to be read.
+    * @param bytes   the number of bytes needed, at most the capacity of the buffer.
+    * @throws IOException if the file ends first.
+    */
+   private static void fill(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException
+   {
+      if (buffer.remaining() >= bytes) return;
+
+      buffer.compact();
+      while (buffer.position() < bytes)
+      {
+         if (channel.read(buffer) < 0) throw new EOFException("sparse binary sets file ends early");
+      }
+      buffer.flip();
+   }  // private static void fill(FileChannel channel, ByteBuffer buffer, int bytes)
+
+   /**
+    * Reads one value at the precision of the file.
+    *
+    * @param buffer       the buffer holding the value.
+    * @param elementBytes the bytes per value, 8 for float64 or 4 for float32.
+    * @return returns the value.
+    */
+   private static double get(ByteBuffer buffer, int elementBytes)
+   {
+      return elementBytes == Double.BYTES ? buffer.getDouble() : buffer.getFloat();
+   }
+
+   /**
+    * Reads every set of a sparse binary sets file into memory, streaming it through one buffer.
+    *
+    * @param inputNodes  the number of input values in each set, which must match the file.
+    * @param outputNodes the number of output values in each set, which must be 0 or match the file.
+    * @param filePath    the file path of the sparse binary sets file.
+    * @return returns the sparse sets.
+    * @throws IOException if the file cannot be read, is malformed or does not match the network.
+    */
+   private static SparseSource readBinary(int inputNodes, int outputNodes, String filePath) throws IOException
+   {
+      try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ))
+      {
+         ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+         buffer.flip();
+         fill(channel, buffer, BinarySource.HEADER_BYTES);
+
+         int magic = buffer.getInt();
+         int version = buffer.getInt();
+         int elementBytes = buffer.getInt();
+         int fileInputNodes = buffer.getInt();
+         int fileOutputNodes = buffer.getInt();
+         buffer.getInt();
+         long numSets = buffer.getLong();
+
+         if (magic != MAGIC || version != VERSION || (elementBytes != Double.BYTES && elementBytes != Float.BYTES))
+            throw new IOException("unsupported sparse binary sets file");
+         if (fileInputNodes != inputNodes || (outputNodes != 0 && fileOutputNodes != outputNodes))
+            throw new IOException("sets file has " + fileInputNodes + " inputs and " + fileOutputNodes + " outputs per set");
+         if (fileOutputNodes < 0) throw new IOException("sets file has " + fileOutputNodes + " outputs per set");
+         if (numSets < 0) throw new IOException("sets file has a negative number of sets (" + numSets + ")");
+         long minSetBytes = Integer.BYTES + (long) fileOutputNodes * elementBytes;
+         if (numSets > (channel.size() - BinarySource.HEADER_BYTES) / minSetBytes)
+            throw new IOException("sets file is shorter than its " + numSets + " sets");
+         if (numSets > Integer.MAX_VALUE) throw new IOException("sets file has too many sets to read into memory");
+
+         int[][] indexSets = new int[(int) numSets][];
+         double[][] valueSets = new double[(int) numSets][];
+         double[][] outputSets = new double[(int) numSets][outputNodes];
+         int pairBytes = Integer.BYTES + elementBytes;
+
+         for (int t = 0; t < numSets; t++)
+         {
+            fill(channel, buffer, Integer.BYTES);
+            int nonZeros = buffer.getInt();
+            if (nonZeros < 0 || nonZeros > inputNodes)
+               throw new IOException("set " + t + " has " + nonZeros + " non-zero inputs");
+
+            indexSets[t] = new int[nonZeros];
+            valueSets[t] = new double[nonZeros];
+            for (int p = 0; p < nonZeros; p++)
+            {
+               fill(channel, buffer, Integer.BYTES);
+               indexSets[t][p] = buffer.getInt();
+            }
+            for (int p = 0; p < nonZeros; p++)
+            {
+               fill(channel, buffer, elementBytes);
+               valueSets[t][p] = get(buffer, elementBytes);
+            }
+            checkIndices(indexSets[t], inputNodes, t);
+
+            for (int i = 0; i < fileOutputNodes; i++)
+            {
+               fill(channel, buffer, elementBytes);
+               double value = get(buffer, elementBytes);
+               if (i < outputNodes) outputSets[t][i] = value;
+            }
+         }  // for (int t = 0; t < numSets; t++)
+
+         return new SparseSource(inputNodes, outputNodes, indexSets, valueSets, outputSets);
+      }  // try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ))
+   }     // private static SparseSource readBinary(int inputNodes, int outputNodes, String filePath)
+
+   /**
+    * Writes the sets to a sparse binary sets file.
+    *
+    * @param filePath     the file path of the sparse binary sets file to be written.
+    * @param elementBytes the bytes per value to be written, 8 for float64 or 4 for float32.
+    * @throws IOException if the file cannot be written.
+    */
+   public void writeBinary(String filePath, int elementBytes) throws IOException
+   {
+      try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+      {
+         ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+         buffer.putInt(MAGIC).putInt(VERSION).putInt(elementBytes).putInt(inputNodes).putInt(outputNodes).putInt(0);
+         buffer.putLong(indexSets.length);
+
+         for (int t = 0; t < indexSets.length; t++)
+         {
+            int[] index = indexSets[t];
+            if (buffer.remaining() < Integer.BYTES) drain(channel, buffer);
+            buffer.putInt(index.length);
+
+            for (int p = 0; p < index.length; p++)
+            {
+               if (buffer.remaining() < Integer.BYTES) drain(channel, buffer);
+               buffer.putInt(index[p]);
+            }
+            for (int p = 0; p < index.length; p++)
+            {
+               if (buffer.remaining() < elementBytes) drain(channel, buffer);
+               put(buffer, valueSets[t][p], elementBytes);
+            }
+            for (int i = 0; i < outputNodes; i++)
+            {
+               if (buffer.remaining() < elementBytes) drain(channel, buffer);
+               put(buffer, outputSets[t][i], elementBytes);
+            }
+         }  // for (int t = 0; t < indexSets.length; t++)
+
+         drain(channel, buffer);
+      }  // try
+   }     // public void writeBinary(String filePath, int elementBytes)
+
+   /**
+    * Appends a value to a buffer at the given precision.
+    *
+    * @param buffer       the buffer to be written to.
+    * @param value        the value to be written.
+    * @param elementBytes the bytes per value, 8 for float64 or 4 for float32.
+    */
+   private static void put(ByteBuffer buffer, double value, int elementBytes)
+   {
+      if (elementBytes == Double.BYTES) buffer.putDouble(value);
+      else buffer.putFloat((float) value);
+   }
+
+   /**
+    * Writes everything in a buffer to a channel and empties the buffer.
+    *
+    * @param channel the channel to be written to.
+    * @param buffer  the buffer to be drained.
+    * @throws IOException if the channel cannot be written.
+    */
+   private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException
+   {
+      buffer.flip();
+      while (buffer.hasRemaining())
+      {
+         channel.write(buffer);
+      }
+      buffer.clear();
+   }
+
+   /**
+    * Finds the number of sets.
+    *
+    * @return returns the number of sets held.
+    */
+   public int size()
+   {
+      return indexSets.length;
+   }
+
+   /**
+    * Counts the non-zero input values of every set.
+    *
+    * @return returns the total number of non-zero inputs.
+    */
+   public long nonZeros()
+   {
+      long nonZeros = 0;
+      for (int[] index : indexSets)
+      {
+         nonZeros += index.length;
+      }
+
+      return nonZeros;
+   }
+
+   @Override
+   public int inputNodes()
+   {
+      return inputNodes;
+   }
+
+   @Override
+   public int outputNodes()
+   {
+      return outputNodes;
+   }
+
+   @Override
+   public void rewind()
+   {
+      read = false;
+   }
+
+   @Override
+   public int next()
+   {
+      int count = read ? 0 : indexSets.length;
+      read = true;
+      return count;
+   }
+
+   @Override
+   public double[][] inputs()
+   {
+      return null;
+   }
+
+   @Override
+   public int[][] inputIndices()
+   {
+      return indexSets;
+   }
+
+   @Override
+   public double[][] inputValues()
+   {
+      return valueSets;
+   }
+
+   @Override
+   public double[][] outputs()
+   {
+      return outputSets;
+   }
+}  // public class SparseSource implements PatternSource
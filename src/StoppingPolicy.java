@@ -0,0 +1,41 @@
+package neuralnet;
+
+/**
+ * Decides when a training run should stop before it reaches maxIterations or the error threshold, so runs that have
+ * stopped making progress do not burn the rest of their iteration budget. A policy is told when training starts, is
+ * checked once after every epoch, and is told when training ends, whatever ended it.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public interface StoppingPolicy
+{
+   /**
+    * Resets the policy at the start of a call to train. Does nothing unless overridden.
+    *
+    * @param perceptron the perceptron being trained.
+    */
+   default void start(Perceptron perceptron)
+   {
+   }
+
+   /**
+    * Checks whether training should stop after the epoch that just ended.
+    *
+    * @param perceptron the perceptron being trained, with iteration, totalError and bestError updated for the epoch.
+    * @return returns why training should stop, or null to continue.
+    */
+   String check(Perceptron perceptron);
+
+   /**
+    * Finishes the policy at the end of a call to train, such as by restoring weights it kept. Does nothing unless
+    * overridden.
+    *
+    * @param perceptron the perceptron that was trained.
+    * @return returns a message about what was done, or null if there is nothing to report.
+    */
+   default String finish(Perceptron perceptron)
+   {
+      return null;
+   }
+}  // public interface StoppingPolicy
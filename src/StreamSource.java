@@ -0,0 +1,112 @@
+package neuralnet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+
+/**
+ * Streams testing sets from an input stream, such as standard input, in fixed-size chunks. Unlike a sets file, the
+ * stream does not begin with the number of sets: sets are read until the stream ends, so another program can pipe in
+ * as many as it likes. The stream can only be read once, so a source cannot be rewound after its first chunk.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class StreamSource implements PatternSource, Closeable
+{
+   private NumberReader reader;
+   private boolean started;
+
+   private int inputNodes;
+   private double[][] inputSets;
+   private double[][] outputSets;
+
+   /**
+    * Constructs a new StreamSource object.
+    *
+    * @param inputNodes the number of input values in each set.
+    * @param in         the stream the sets are read from.
+    * @param chunkSize  the number of sets parsed at a time.
+    */
+   public StreamSource(int inputNodes, InputStream in, int chunkSize)
+   {
+      this.inputNodes = inputNodes;
+
+      reader = new NumberReader(Channels.newChannel(in));
+      inputSets = new double[chunkSize][inputNodes];
+      outputSets = new double[chunkSize][0];
+   }  // public StreamSource(int inputNodes, InputStream in, int chunkSize)
+
+   @Override
+   public int inputNodes()
+   {
+      return inputNodes;
+   }
+
+   @Override
+   public int outputNodes()
+   {
+      return 0;
+   }
+
+   /**
+    * Does nothing before the first chunk has been read, since the stream is already at its first set.
+    *
+    * @throws UnsupportedOperationException if a chunk has already been read.
+    */
+   @Override
+   public void rewind()
+   {
+      if (started) throw new UnsupportedOperationException("a stream of sets can only be read once");
+   }
+
+   @Override
+   public int next()
+   {
+      started = true;
+      int count = 0;
+
+      try
+      {
+         while (count < inputSets.length && reader.hasNext())
+         {
+            for (int k = 0; k < inputNodes; k++)
+            {
+               inputSets[count][k] = reader.nextDouble();
+            }
+            count++;
+         }
+      }  // try
+      catch (IOException | NumberFormatException e)
+      {
+         System.out.println("Sets stream could not be read (set " + count + " of the chunk: " + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
+
+      return count;
+   }  // public int next()
+
+   @Override
+   public double[][] inputs()
+   {
+      return inputSets;
+   }
+
+   @Override
+   public double[][] outputs()
+   {
+      return outputSets;
+   }
+
+   /**
+    * Closes the stream.
+    *
+    * @throws IOException if the stream cannot be closed.
+    */
+   @Override
+   public void close() throws IOException
+   {
+      reader.close();
+   }
+}  // public class StreamSource implements PatternSource, Closeable
@@ -0,0 +1,407 @@
+package neuralnet;
+
+import org.json.simple.*;
+import org.json.simple.parser.*;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Trains many configurations of a network side by side to find good hyperparameters. A sweep file names a base
+ * configuration file and gives the values to try for lambda, hiddenNodes, minRandom and maxRandom; every other option
+ * comes from the base configuration. In a grid sweep each parameter is a list of values and every combination is
+ * trained; in a random sweep each parameter is a [min, max] range and trials configurations are drawn from the ranges.
+ * A parameter given as a single number, or left out, is the same in every configuration; when hiddenNodes is given,
+ * every hidden layer of a configuration has that many nodes, and when it is left out the configured layers are kept
+ * as they are. The sweep file may also set maxIterations and errorThreshold in place of the base configuration's, the
+ * number of threads (0 for one per core), the seed of the configurations' weights (0 for a new seed every sweep), and
+ * the divergence and patience below.
+ * Each configuration trains its own quiet Perceptron on a fixed pool of threads, one configuration per thread, and
+ * every one of them reads the same copy of the training sets. A configuration is stopped early once its error has
+ * stayed above divergence times its best error for patience iterations in a row, or is no longer a number, and the
+ * plateau and time budget options of the base configuration stop each configuration as they would a single run.
+ * Usage: java neuralnet.Sweep sweepPath
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class Sweep
+{
+   static final String[] PARAMETERS = {"lambda", "hiddenNodes", "minRandom", "maxRandom"};
+
+   /**
+    * One configuration of a sweep and the result of training it.
+    */
+   private static class Trial
+   {
+      final int index;
+      final double[] values;
+      final RandomGenerator random;
+
+      String status;
+      int iterations;
+      double millis;
+      double finalError;
+
+      /**
+       * Constructs a new Trial object.
+       *
+       * @param index  the number of the configuration in the sweep.
+       * @param values the value of each of PARAMETERS.
+       * @param random the generator of the configuration's starting weights and order of sets.
+       */
+      Trial(int index, double[] values, RandomGenerator random)
+      {
+         this.index = index;
+         this.values = values;
+         this.random = random;
+      }
+   }  // private static class Trial
+
+   /**
+    * Stops a training run once its error clearly diverges. As a StoppingPolicy it is checked once after every epoch
+    * without setting a listener, so nothing is timed.
+    */
+   private static class DivergenceStop implements StoppingPolicy
+   {
+      final double divergence;
+      final int patience;
+      boolean diverged;
+      private int worseEpochs;
+
+      /**
+       * Constructs a new DivergenceStop object.
+       *
+       * @param divergence how many times its best error the error must be to count as diverging.
+       * @param patience   the number of iterations in a row the error must be diverging before training is stopped.
+       */
+      DivergenceStop(double divergence, int patience)
+      {
+         this.divergence = divergence;
+         this.patience = patience;
+      }
+
+      @Override
+      public void start(Perceptron perceptron)
+      {
+         diverged = false;
+         worseEpochs = 0;
+      }
+
+      @Override
+      public String check(Perceptron perceptron)
+      {
+         if (!Double.isFinite(perceptron.totalError)) worseEpochs = patience;
+         else if (perceptron.totalError > divergence * perceptron.bestError) worseEpochs++;
+         else worseEpochs = 0;
+
+         if (worseEpochs < patience) return null;
+
+         diverged = true;
+         return "Error diverged for " + patience + " iterations (at " + perceptron.iteration + " total iterations).";
+      }  // public String check(Perceptron perceptron)
+   }     // private static class DivergenceStop implements StoppingPolicy
+
+   private JSONObject spec;
+   private Config config;
+
+   private int[] nodes;
+   private Activation activation;
+   private String optimizer;
+   private double momentum;
+   private double decay;
+   private double beta1;
+   private double beta2;
+   private double epsilon;
+   private int maxIterations;
+   private double errorThreshold;
+   private int batchSize;
+   private boolean shuffle;
+   private int plateauWindow;
+   private double minImprovement;
+   private double maxSeconds;
+
+   private double[][] inputSets;
+   private double[][] outputSets;
+
+   /**
+    * Constructs a new Sweep object, reading the sweep file, its base configuration file and the training sets, ending
+    * the process if any of them is missing or malformed when the process is not interactive.
+    *
+    * @param sweepPath the file path of the sweep file.
+    */
+   public Sweep(String sweepPath)
+   {
+      try
+      {
+         spec = (JSONObject) new JSONParser().parse(new FileReader(sweepPath));
+      }
+      catch (IOException e)
+      {
+         System.out.println("Sweep file could not be read (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
+      catch (ParseException | ClassCastException e)
+      {
+         System.out.println("Malformed sweep file -- ending process.");
+         System.exit(1);
+      }
+
+      if (!spec.containsKey("config"))
+      {
+         System.out.println("Sweep file must name a base configuration file -- ending process.");
+         System.exit(1);
+      }
+
+      config = new Config(spec.get("config").toString());
+
+      nodes = PerceptronRunner.readNodes(config);
+      activation = Activation.forName(config.get("activation", "activation"));
+      optimizer = config.get("optimizer", "optimizer");
+      momentum = Double.parseDouble(config.get("momentum", "doublePos"));
+      decay = Double.parseDouble(config.get("decay", "doublePos"));
+      beta1 = Double.parseDouble(config.get("beta1", "doublePos"));
+      beta2 = Double.parseDouble(config.get("beta2", "doublePos"));
+      epsilon = Double.parseDouble(config.get("epsilon", "doublePos"));
+      maxIterations = (int) number("maxIterations", Integer.parseInt(config.get("maxIterations", "intPos")));
+      errorThreshold = number("errorThreshold", Double.parseDouble(config.get("errorThreshold", "doublePos")));
+      batchSize = Integer.parseInt(config.get("batchSize", "intPos"));
+      shuffle = Boolean.parseBoolean(config.get("shuffle", "boolean"));
+      plateauWindow = Integer.parseInt(config.get("plateauWindow", "intPos"));
+      minImprovement = Double.parseDouble(config.get("minImprovement", "doublePos"));
+      maxSeconds = Double.parseDouble(config.get("maxSeconds", "doublePos"));
+
+      Object[] sets = SetsHandler.readTrainingSets(nodes[0], nodes[nodes.length - 1],
+            config.get("trainingSetsPath", "filePath"));
+      inputSets = (double[][]) sets[0];
+      outputSets = (double[][]) sets[1];
+   }  // public Sweep(String sweepPath)
+
+   /**
+    * Reads a number from the sweep file.
+    *
+    * @param key          the name of the number.
+    * @param defaultValue the value used when the sweep file does not give one.
+    * @return returns the number.
+    */
+   private double number(String key, double defaultValue)
+   {
+      Object value = spec.get(key);
+      return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+   }
+
+   /**
+    * Reads the values of a parameter from the sweep file.
+    *
+    * @param parameter the name of the parameter.
+    * @return returns the listed values, or the single value of the base configuration if the sweep file has none.
+    */
+   private double[] values(String parameter)
+   {
+      Object value = spec.get(parameter);
+      double[] values;
+
+      if (value instanceof JSONArray)
+      {
+         JSONArray array = (JSONArray) value;
+         values = new double[array.size()];
+         for (int v = 0; v < values.length; v++)
+         {
+            values[v] = ((Number) array.get(v)).doubleValue();
+         }
+      }
+      else if (value instanceof Number) values = new double[]{((Number) value).doubleValue()};
+      else if (parameter.equals("hiddenNodes")) values = new double[]{nodes[1]};
+      else values = new double[]{Double.parseDouble(config.get(parameter, "double"))};
+
+      return values;
+   }  // private double[] values(String parameter)
+
+   /**
+    * Lists the configurations of the sweep, each with its own generator split from the sweep's seed, so a seeded sweep
+    * trains the same configurations from the same weights every time.
+    *
+    * @return returns every configuration to be trained.
+    */
+   private List<Trial> trials()
+   {
+      long seed = (long) number("seed", 0);
+      RandomGenerator root = seed == 0 ? new RandomGenerator() : new RandomGenerator(seed);
+
+      double[][] values = new double[PARAMETERS.length][];
+      for (int p = 0; p < PARAMETERS.length; p++)
+      {
+         values[p] = values(PARAMETERS[p]);
+      }
+
+      List<Trial> trials = new ArrayList<>();
+
+      if ("random".equals(spec.get("mode")))
+      {
+         int count = (int) number("trials", 20);
+         for (int t = 0; t < count; t++)
+         {
+            double[] trial = new double[PARAMETERS.length];
+            for (int p = 0; p < PARAMETERS.length; p++)
+            {
+               double min = values[p][0];
+               double max = values[p][values[p].length - 1];
+               if (PARAMETERS[p].equals("hiddenNodes")) trial[p] = (int) min + root.nextInt((int) max - (int) min + 1);
+               else trial[p] = root.nextDouble(min, max);
+            }
+            trials.add(new Trial(t, trial, root.split()));
+         }
+      }  // if ("random".equals(spec.get("mode")))
+
+      else
+      {
+         int[] choice = new int[PARAMETERS.length];
+         boolean done = false;
+         while (!done)
+         {
+            double[] trial = new double[PARAMETERS.length];
+            for (int p = 0; p < PARAMETERS.length; p++)
+            {
+               trial[p] = values[p][choice[p]];
+            }
+            trials.add(new Trial(trials.size(), trial, root.split()));
+
+            int p = PARAMETERS.length - 1;
+            while (p >= 0 && ++choice[p] == values[p].length)
+            {
+               choice[p] = 0;
+               p--;
+            }
+            done = p < 0;
+         }  // while (!done)
+      }     // else
+
+      return trials;
+   }        // private List<Trial> trials()
+
+   /**
+    * Trains one configuration until it meets the error threshold, reaches the iteration limit or diverges.
+    *
+    * @param trial      the configuration to be trained, which receives the result.
+    * @param divergence how many times its best error the error must be to count as diverging.
+    * @param patience   the number of iterations in a row the error must be diverging before training is stopped.
+    * @return returns the trained configuration.
+    */
+   private Trial train(Trial trial, double divergence, int patience)
+   {
+      int[] trialNodes = nodes.clone();
+      if (spec.containsKey("hiddenNodes"))
+      {
+         for (int n = 1; n < trialNodes.length - 1; n++)
+         {
+            trialNodes[n] = (int) trial.values[1];
+         }
+      }
+
+      Perceptron perceptron = new Perceptron(activation, trialNodes);
+      perceptron.quiet = true;
+      perceptron.random = trial.random;
+      perceptron.shuffle = shuffle;
+      perceptron.batchSize = batchSize;
+      perceptron.threads = 1;
+      perceptron.optimizer = Optimizer.forName(optimizer, trialNodes, momentum, decay, beta1, beta2, epsilon);
+      perceptron.W = WeightsHandler.randomizeWeights(trialNodes, trial.values[2], trial.values[3], trial.random);
+
+      if (plateauWindow > 0) perceptron.stopping.add(new PlateauStop(plateauWindow, minImprovement));
+      if (maxSeconds > 0) perceptron.stopping.add(new WallClockStop(maxSeconds));
+
+      DivergenceStop divergenceStop = new DivergenceStop(divergence, patience);
+      perceptron.stopping.add(divergenceStop);
+
+      long start = System.nanoTime();
+      perceptron.train(maxIterations, trial.values[0], errorThreshold,
+            new MemorySource(trialNodes[0], trialNodes[trialNodes.length - 1], inputSets, outputSets), null, 0);
+      trial.millis = (System.nanoTime() - start) / 1e6;
+
+      trial.iterations = perceptron.iteration;
+      trial.finalError = perceptron.totalError;
+      if (divergenceStop.diverged) trial.status = "diverged";
+      else if (perceptron.totalError < errorThreshold) trial.status = "met";
+      else if (perceptron.iteration > maxIterations) trial.status = "max";
+      else trial.status = "stopped";
+
+      return trial;
+   }  // private Trial train(Trial trial, double divergence, int patience)
+
+   /**
+    * Trains every configuration of the sweep and prints the results, with the configurations that met the error
+    * threshold first, fastest first, and the rest after them, lowest final error first.
+    */
+   public void run()
+   {
+      int threads = (int) number("threads", 0);
+      if (threads == 0) threads = Runtime.getRuntime().availableProcessors();
+      double divergence = number("divergence", 10.0);
+      int patience = (int) number("patience", 10);
+
+      List<Trial> trials = trials();
+      System.out.println("Training " + trials.size() + " configurations on " + threads + " threads.");
+
+      ExecutorService pool = Executors.newFixedThreadPool(threads);
+      List<Future<Trial>> futures = new ArrayList<>();
+      long start = System.nanoTime();
+      for (Trial trial : trials)
+      {
+         futures.add(pool.submit(() -> train(trial, divergence, patience)));
+      }
+
+      try
+      {
+         for (Future<Trial> future : futures)
+         {
+            future.get();
+         }
+      }
+      catch (InterruptedException | ExecutionException e)
+      {
+         System.out.println("Sweep failed (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
+      pool.shutdown();
+      double seconds = (System.nanoTime() - start) / 1e9;
+
+      trials.sort(Comparator.comparing((Trial trial) -> !trial.status.equals("met"))
+            .thenComparingDouble(trial -> trial.status.equals("met") ? trial.millis : trial.finalError));
+
+      System.out.println();
+      System.out.println("  #       lambda hidden  minRandom  maxRandom   status iterations   time(ms)    final error");
+      for (Trial trial : trials)
+      {
+         System.out.println(String.format(Locale.ROOT, "%3d %12.6g %6d %10.4g %10.4g %8s %10d %10.1f %14.6e",
+               trial.index, trial.values[0], (int) trial.values[1], trial.values[2], trial.values[3], trial.status,
+               trial.iterations, trial.millis, trial.finalError));
+      }
+      System.out.println();
+      System.out.println(String.format(Locale.ROOT, "%d configurations in %.1f s.", trials.size(), seconds));
+   }  // public void run()
+
+   /**
+    * Runs the sweep named on the command line.
+    *
+    * @param args the file path of the sweep file.
+    */
+   public static void main(String[] args)
+   {
+      if (args.length < 1)
+      {
+         System.out.println("Usage: java neuralnet.Sweep sweepPath");
+         System.exit(1);
+      }
+
+      ConsoleHandler.interactive = false;
+      new Sweep(args[0]).run();
+   }
+}  // public class Sweep
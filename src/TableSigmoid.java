@@ -0,0 +1,41 @@
+package neuralnet;
+
+/**
+ * Evaluates the sigmoid by linear interpolation in a precomputed table, which avoids calling Math.exp for every node.
+ * The table samples the sigmoid 256 times per unit on [-16, 16], and inputs beyond that range are clamped to its ends,
+ * so no evaluation branches on its input. The error is at most 1.9e-7 anywhere, which is well below the changes made
+ * by a single weight update.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class TableSigmoid implements Activation
+{
+   static final int STEPS_PER_UNIT = 256;
+   static final int RANGE = 16;
+   static final double MAX_ERROR = 1.9e-7;
+
+   private static final double[] TABLE = new double[2 * RANGE * STEPS_PER_UNIT + 2];
+
+   static
+   {
+      for (int i = 0; i < TABLE.length; i++)
+      {
+         TABLE[i] = 1.0 / (1.0 + Math.exp(-((double) i / STEPS_PER_UNIT - RANGE)));
+      }
+   }
+
+   /**
+    * Calculates the sigmoid of an input by interpolating between the two nearest table entries.
+    *
+    * @param input the input value.
+    * @return returns the approximate sigmoid of input as a double.
+    */
+   @Override
+   public double f(double input)
+   {
+      double x = (Math.min(Math.max(input, -RANGE), RANGE) + RANGE) * STEPS_PER_UNIT;
+      int i = (int) x;
+      return TABLE[i] + (x - i) * (TABLE[i + 1] - TABLE[i]);
+   }
+}  // public class TableSigmoid implements Activation
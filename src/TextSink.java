@@ -0,0 +1,99 @@
+package neuralnet;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the outputs of each set as one line of text, the values separated by spaces. Each line is built in a reused
+ * StringBuilder and written through one large BufferedWriter, so a set costs a single write call instead of a print
+ * per value. The other text sinks extend it to write their own lines.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class TextSink implements ResultsSink
+{
+   static final int BUFFER_SIZE = 1 << 16;
+
+   protected final Writer writer;
+   protected final StringBuilder line = new StringBuilder();
+
+   /**
+    * Constructs a new TextSink object.
+    *
+    * @param out the stream the results are written to.
+    */
+   public TextSink(OutputStream out)
+   {
+      writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.US_ASCII), BUFFER_SIZE);
+   }
+
+   @Override
+   public void write(double[] inputSet, double[] outputSet, double[] F) throws IOException
+   {
+      line.setLength(0);
+      append(F, " ");
+      line.append('\n');
+      writer.append(line);
+   }
+
+   @Override
+   public void write(float[] inputSet, float[] F) throws IOException
+   {
+      line.setLength(0);
+      append(F, " ");
+      line.append('\n');
+      writer.append(line);
+   }
+
+   /**
+    * Appends values to the current line.
+    *
+    * @param values    the values to be appended.
+    * @param separator the text placed between values.
+    */
+   protected void append(double[] values, String separator)
+   {
+      for (int i = 0; i < values.length; i++)
+      {
+         if (i > 0) line.append(separator);
+         line.append(values[i]);
+      }
+   }
+
+   /**
+    * Appends float values to the current line, each written as the shortest text that reads back as the same float.
+    *
+    * @param values    the values to be appended.
+    * @param separator the text placed between values.
+    */
+   protected void append(float[] values, String separator)
+   {
+      for (int i = 0; i < values.length; i++)
+      {
+         if (i > 0) line.append(separator);
+         line.append(values[i]);
+      }
+   }
+
+   @Override
+   public void flush() throws IOException
+   {
+      writer.flush();
+   }
+
+   /**
+    * Writes everything buffered and closes the stream.
+    *
+    * @throws IOException if the results cannot be written.
+    */
+   @Override
+   public void close() throws IOException
+   {
+      writer.close();
+   }
+}  // public class TextSink implements ResultsSink
@@ -0,0 +1,136 @@
+package neuralnet;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streams the sets of a text training or testing file in fixed-size chunks, parsing each chunk as it is needed, so
+ * files larger than the heap can be used. The first number of the file is the number of sets, as in every sets file.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class TextSource implements PatternSource, Closeable
+{
+   private NumberReader reader;
+   private long firstSet;
+   private int numSets;
+   private int remaining;
+
+   private int inputNodes;
+   private int outputNodes;
+   private double[][] inputSets;
+   private double[][] outputSets;
+
+   /**
+    * Constructs a new TextSource object, reading only the number of sets from the file.
+    *
+    * @param inputNodes  the number of input values in each set.
+    * @param outputNodes the number of output values in each set, or 0 for a testing file.
+    * @param filePath    the file path of the sets file.
+    * @param chunkSize   the number of sets parsed at a time.
+    * @throws IOException if the file cannot be opened or read.
+    */
+   public TextSource(int inputNodes, int outputNodes, String filePath, int chunkSize) throws IOException
+   {
+      this.inputNodes = inputNodes;
+      this.outputNodes = outputNodes;
+
+      reader = new NumberReader(filePath);
+      numSets = reader.nextInt();
+      firstSet = reader.position();
+      remaining = numSets;
+
+      inputSets = new double[chunkSize][inputNodes];
+      outputSets = new double[chunkSize][outputNodes];
+   }  // public TextSource(int inputNodes, int outputNodes, String filePath, int chunkSize)
+
+   /**
+    * Finds the number of sets in the file.
+    *
+    * @return returns the number of sets given on the first line of the file.
+    */
+   public int size()
+   {
+      return numSets;
+   }
+
+   @Override
+   public int inputNodes()
+   {
+      return inputNodes;
+   }
+
+   @Override
+   public int outputNodes()
+   {
+      return outputNodes;
+   }
+
+   @Override
+   public void rewind()
+   {
+      try
+      {
+         reader.seek(firstSet);
+         remaining = numSets;
+      }
+      catch (IOException e)
+      {
+         System.out.println("Sets file could not be read -- ending process.");
+         System.exit(1);
+      }
+   }  // public void rewind()
+
+   @Override
+   public int next()
+   {
+      int count = Math.min(inputSets.length, remaining);
+
+      try
+      {
+         for (int t = 0; t < count; t++)
+         {
+            for (int k = 0; k < inputNodes; k++)
+            {
+               inputSets[t][k] = reader.nextDouble();
+            }
+            for (int i = 0; i < outputNodes; i++)
+            {
+               outputSets[t][i] = reader.nextDouble();
+            }
+         }
+      }  // try
+      catch (IOException | NumberFormatException e)
+      {
+         System.out.println("Sets file could not be read (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
+
+      remaining -= count;
+      return count;
+   }  // public int next()
+
+   @Override
+   public double[][] inputs()
+   {
+      return inputSets;
+   }
+
+   @Override
+   public double[][] outputs()
+   {
+      return outputSets;
+   }
+
+   /**
+    * Closes the file.
+    *
+    * @throws IOException if the file cannot be closed.
+    */
+   @Override
+   public void close() throws IOException
+   {
+      reader.close();
+   }
+}  // public class TextSource implements PatternSource, Closeable
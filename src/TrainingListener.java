@@ -0,0 +1,28 @@
+package neuralnet;
+
+/**
+ * Receives the progress of a training run. Every call is made on the training thread with the same TrainingStats
+ * object, which is only valid until the call returns.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public interface TrainingListener
+{
+   /**
+    * Called after every epoch, once the weights have been updated and any autosave has been written.
+    *
+    * @param stats the counters and timers of the run, with totalError holding the error of the whole epoch.
+    */
+   void epochEnded(TrainingStats stats);
+
+   /**
+    * Called every time another reportInterval sets have been trained within an epoch, or after the batch in which
+    * that happens when training in batches. Does nothing unless overridden.
+    *
+    * @param stats the counters and timers of the run, with totalError holding the error of the epoch so far.
+    */
+   default void patternsTrained(TrainingStats stats)
+   {
+   }
+}  // public interface TrainingListener
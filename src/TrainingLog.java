@@ -0,0 +1,100 @@
+package neuralnet;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Writes the progress of a training run to a file, one line per report. Paths ending in .csv are written as CSV with a
+ * header line, and any other path is written as JSON lines with one object per report. JSON has no NaN or Infinity, so
+ * a diverged error or an undefined rate is written there as null.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class TrainingLog implements TrainingListener, Closeable
+{
+   static final String[] COLUMNS = {"event", "epoch", "patterns", "error", "epochMs", "patternsPerSecond", "forwardMs",
+         "backwardMs", "autosaveMs", "elapsedMs"};
+
+   private BufferedWriter writer;
+   private boolean csv;
+
+   /**
+    * Constructs a new TrainingLog object, creating or replacing the log file.
+    *
+    * @param filePath the file path of the log, ending in .csv for CSV or anything else for JSON lines.
+    * @throws IOException if the file cannot be created.
+    */
+   public TrainingLog(String filePath) throws IOException
+   {
+      writer = new BufferedWriter(new FileWriter(filePath));
+      csv = filePath.endsWith(".csv");
+
+      if (csv)
+      {
+         writer.write(String.join(",", COLUMNS));
+         writer.newLine();
+      }
+   }  // public TrainingLog(String filePath)
+
+   @Override
+   public void epochEnded(TrainingStats stats)
+   {
+      write("epoch", stats);
+   }
+
+   @Override
+   public void patternsTrained(TrainingStats stats)
+   {
+      write("patterns", stats);
+   }
+
+   /**
+    * Writes one report as a line of the log.
+    *
+    * @param event the kind of report, "epoch" or "patterns".
+    * @param stats the counters and timers of the run.
+    */
+   private void write(String event, TrainingStats stats)
+   {
+      Object[] values = {event, stats.epoch, stats.patterns, stats.totalError, stats.epochMillis(),
+            stats.patternsPerSecond(), stats.forwardNanos / 1e6, stats.backwardNanos / 1e6, stats.autosaveNanos / 1e6,
+            stats.elapsedMillis()};
+
+      StringBuilder line = new StringBuilder(csv ? "" : "{");
+      for (int c = 0; c < COLUMNS.length; c++)
+      {
+         if (c > 0) line.append(csv ? "," : ", ");
+         if (!csv) line.append('"').append(COLUMNS[c]).append("\": ");
+
+         if (values[c] instanceof String && !csv) line.append('"').append(values[c]).append('"');
+         else if (values[c] instanceof Double && !csv && !Double.isFinite((Double) values[c])) line.append("null");
+         else line.append(values[c]);
+      }
+      if (!csv) line.append('}');
+
+      try
+      {
+         writer.write(line.toString());
+         writer.newLine();
+      }
+      catch (IOException e)
+      {
+         System.out.println("Training log could not be written (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
+   }  // private void write(String event, TrainingStats stats)
+
+   /**
+    * Flushes and closes the log file.
+    *
+    * @throws IOException if the file cannot be written.
+    */
+   @Override
+   public void close() throws IOException
+   {
+      writer.close();
+   }
+}  // public class TrainingLog implements TrainingListener, Closeable
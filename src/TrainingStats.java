@@ -0,0 +1,70 @@
+package neuralnet;
+
+/**
+ * Holds the counters and timers of a training run. One object is reused for the whole run and updated in place, so
+ * reporting allocates nothing; listeners must copy any values they want to keep.
+ * The forward and backward times are only measured when the weights are updated after every set, because batches
+ * are evaluated on several threads at once.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class TrainingStats
+{
+   public int epoch;
+   public long patterns;
+   public long epochPatterns;
+   public double totalError;
+
+   public long startNanos;
+   public long epochStartNanos;
+   public long forwardNanos;
+   public long backwardNanos;
+   public long autosaveNanos;
+
+   /**
+    * Clears the counters and timers of the current epoch.
+    *
+    * @param now the current value of System.nanoTime().
+    */
+   public void startEpoch(long now)
+   {
+      epochStartNanos = now;
+      epochPatterns = 0;
+      totalError = 0.0;
+      forwardNanos = 0;
+      backwardNanos = 0;
+      autosaveNanos = 0;
+   }
+
+   /**
+    * Finds the time spent in the current epoch so far.
+    *
+    * @return returns the elapsed milliseconds of the epoch.
+    */
+   public double epochMillis()
+   {
+      return (System.nanoTime() - epochStartNanos) / 1e6;
+   }
+
+   /**
+    * Finds the time spent in the whole run so far.
+    *
+    * @return returns the elapsed milliseconds of the run.
+    */
+   public double elapsedMillis()
+   {
+      return (System.nanoTime() - startNanos) / 1e6;
+   }
+
+   /**
+    * Finds the training throughput of the current epoch so far.
+    *
+    * @return returns the number of sets trained per second.
+    */
+   public double patternsPerSecond()
+   {
+      double seconds = (System.nanoTime() - epochStartNanos) / 1e9;
+      return seconds > 0.0 ? epochPatterns / seconds : 0.0;
+   }
+}  // public class TrainingStats
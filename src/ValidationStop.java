@@ -0,0 +1,177 @@
+package neuralnet;
+
+/**
+ * Measures the total error on a held-out set of validation sets every interval iterations and stops training once it
+ * has not improved for patience measurements in a row, since further training is then fitting the training sets at the
+ * expense of unseen ones. The validation sets are stored flat once and run through a BatchRunner, so a measurement
+ * costs one batched forward pass and allocates nothing. When the validation error improves, the full training state
+ * is copied into a checkpoint allocated once: the weights along with the iteration, the optimizer and the random
+ * generator that produced them. When training ends, the final weights are measured too, whatever interval they fell
+ * on, and the best state is restored only if it beats them, so a checkpoint written afterwards resumes the run from
+ * the restored weights rather than pairing them with the moments and random state of a later iteration.
+ * Sparse validation sets are kept sparse and run one at a time through a LayerState instead.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class ValidationStop implements StoppingPolicy
+{
+   private final int interval;
+   private final int patience;
+   private final int count;
+   private final double[] inputs;
+   private final double[] targets;
+   private final double[] outputs;
+   private final BatchRunner runner;
+   private final LayerState state;
+   private final int[][] indexSets;
+   private final double[][] valueSets;
+   private final double[][] outputSets;
+
+   private final Checkpoint best;
+   private double bestError;
+   private int bestIteration;
+   private int checksSinceBest;
+
+   /**
+    * Constructs a new ValidationStop object.
+    *
+    * @param nodes       the number of nodes in each layer of the network.
+    * @param activation  the activation function of every node.
+    * @param inputSets   the input values of each validation set.
+    * @param outputSets  the expected output values of each validation set.
+    * @param interval    the number of iterations between measurements.
+    * @param patience    the number of measurements in a row without improvement before training stops.
+    */
+   public ValidationStop(int[] nodes, Activation activation, double[][] inputSets, double[][] outputSets, int interval,
+                         int patience)
+   {
+      int inputNodes = nodes[0];
+      int outputNodes = nodes[nodes.length - 1];
+
+      this.interval = interval;
+      this.patience = patience;
+      count = inputSets.length;
+      inputs = new double[count * inputNodes];
+      targets = new double[count * outputNodes];
+      outputs = new double[count * outputNodes];
+      for (int t = 0; t < count; t++)
+      {
+         System.arraycopy(inputSets[t], 0, inputs, t * inputNodes, inputNodes);
+         System.arraycopy(outputSets[t], 0, targets, t * outputNodes, outputNodes);
+      }
+
+      runner = new BatchRunner(nodes, BatchRunner.DEFAULT_BLOCK_SIZE, activation);
+      state = null;
+      indexSets = null;
+      valueSets = null;
+      this.outputSets = null;
+      best = new Checkpoint(nodes);
+   }  // public ValidationStop(int[] nodes, Activation activation, double[][] inputSets, double[][] outputSets, int interval, int patience)
+
+   /**
+    * Constructs a new ValidationStop object over sparse validation sets.
+    *
+    * @param nodes      the number of nodes in each layer of the network.
+    * @param activation the activation function of every node.
+    * @param sets       the sparse validation sets, with their expected output values.
+    * @param interval   the number of iterations between measurements.
+    * @param patience   the number of measurements in a row without improvement before training stops.
+    */
+   public ValidationStop(int[] nodes, Activation activation, SparseSource sets, int interval, int patience)
+   {
+      this.interval = interval;
+      this.patience = patience;
+      sets.rewind();
+      count = sets.next();
+      indexSets = sets.inputIndices();
+      valueSets = sets.inputValues();
+      outputSets = sets.outputs();
+
+      inputs = null;
+      targets = null;
+      outputs = null;
+      runner = null;
+      state = new LayerState(activation, nodes);
+      best = new Checkpoint(nodes);
+   }  // public ValidationStop(int[] nodes, Activation activation, SparseSource sets, int interval, int patience)
+
+   /**
+    * Finds the total error of some weights on the validation sets.
+    *
+    * @param W the weights to be measured.
+    * @return returns the sum of half the squared difference between every output and its expected value.
+    */
+   public double error(Weights W)
+   {
+      double error = 0.0;
+
+      if (indexSets != null)
+      {
+         for (int t = 0; t < count; t++)
+         {
+            double[] F = state.forward(W, indexSets[t], valueSets[t]);
+            for (int i = 0; i < F.length; i++)
+            {
+               double omega = outputSets[t][i] - F[i];
+               error += 0.5 * omega * omega;
+            }
+         }
+
+         return error;
+      }  // if (indexSets != null)
+
+      runner.run(W, inputs, count, outputs);
+
+      for (int i = 0; i < outputs.length; i++)
+      {
+         double omega = targets[i] - outputs[i];
+         error += 0.5 * omega * omega;
+      }
+
+      return error;
+   }  // public double error(Weights W)
+
+   @Override
+   public void start(Perceptron perceptron)
+   {
+      bestError = Double.MAX_VALUE;
+      bestIteration = 0;
+      checksSinceBest = 0;
+   }
+
+   @Override
+   public String check(Perceptron perceptron)
+   {
+      if (perceptron.iteration % interval != 0) return null;
+
+      double error = error(perceptron.W);
+      if (error < bestError)
+      {
+         bestError = error;
+         bestIteration = perceptron.iteration;
+         perceptron.checkpoint(best);
+         checksSinceBest = 0;
+         return null;
+      }
+
+      checksSinceBest++;
+      if (checksSinceBest < patience) return null;
+
+      return "Validation error has not improved in " + patience + " checks (at " + perceptron.iteration
+            + " total iterations; best validation error " + bestError + " at iteration " + bestIteration + ").";
+   }  // public String check(Perceptron perceptron)
+
+   @Override
+   public String finish(Perceptron perceptron)
+   {
+      if (bestIteration == perceptron.iteration) return null;
+
+      double error = error(perceptron.W);
+      if (error <= bestError) return null;
+
+      perceptron.restore(best);
+      return "Restored the training state of iteration " + bestIteration + " with validation error " + bestError
+            + " (final validation error " + error + ").";
+   }
+}  // public class ValidationStop implements StoppingPolicy
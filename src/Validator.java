@@ -1,3 +1,5 @@
+package neuralnet;
+
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -177,14 +179,106 @@ public class Validator
    }  // public static boolean isValidBoolean(String s)
 
    /**
-    * Determines whether a String is a valid file path with a .json or .txt extension.
+    * Determines whether a String is a valid array of integers, such as [2, 5, 1], with every element greater than a
+    * given minimum (inclusive) and at least two elements.
+    *
+    * @param s   a String to be validated.
+    * @param min an integer denoting the minimum valid value of each element (inclusive).
+    * @return returns whether s can be successfully parsed as an array of integers greater than or equal to min.
+    */
+   public static boolean isValidIntArray(String s, int min)
+   {
+      boolean isValid;
+
+      try
+      {
+         int[] array = parseIntArray(s);
+         isValid = array.length >= 2;
+         for (int n : array)
+         {
+            isValid = isValid && n >= min;
+         }
+      }
+      catch (Exception e)
+      {
+         isValid = false;
+      }
+
+      return isValid;
+   }  // public static boolean isValidIntArray(String s, int min)
+
+   /**
+    * Parses an array of integers written as [2, 5, 1] or as 2 5 1.
+    *
+    * @param s a String containing the array.
+    * @return returns the parsed integers.
+    */
+   public static int[] parseIntArray(String s)
+   {
+      String[] elements = s.replaceAll("[\\[\\],]", " ").trim().split("\\s+");
+      int[] array = new int[elements.length];
+
+      for (int n = 0; n < elements.length; n++)
+      {
+         array[n] = Integer.parseInt(elements[n]);
+      }
+
+      return array;
+   }  // public static int[] parseIntArray(String s)
+
+   /**
+    * Determines whether a String is the name of a known activation function.
+    *
+    * @param s a String to be validated.
+    * @return returns whether s names an activation, "exact" or "table".
+    */
+   public static boolean isValidActivation(String s)
+   {
+      return Activation.forName(s) != null;
+   }
+
+   /**
+    * Determines whether a String is the name of a known numeric precision.
+    *
+    * @param s a String to be validated.
+    * @return returns whether s names a precision, "double" or "float".
+    */
+   public static boolean isValidPrecision(String s)
+   {
+      return s.equals("double") || s.equals("float");
+   }
+
+   /**
+    * Determines whether a String is the name of a known results format.
+    *
+    * @param s a String to be validated.
+    * @return returns whether s names a results format, "text", "csv", "binary" or "debug".
+    */
+   public static boolean isValidResultsFormat(String s)
+   {
+      return s.equals("text") || s.equals("csv") || s.equals("binary") || s.equals("debug");
+   }
+
+   /**
+    * Determines whether a String is the name of a known optimizer.
+    *
+    * @param s a String to be validated.
+    * @return returns whether s names an optimizer, "sgd", "momentum", "rmsprop" or "adam".
+    */
+   public static boolean isValidOptimizer(String s)
+   {
+      return s.equals("sgd") || s.equals("momentum") || s.equals("rmsprop") || s.equals("adam");
+   }
+
+   /**
+    * Determines whether a String is a valid file path with a .json, .txt, .bin, .csv, .jsonl or .ckpt extension.
     *
     * @param s a String to be validated.
-    * @return returns whether s can be successfully parsed as a JSON or text file path.
+    * @return returns whether s can be successfully parsed as a JSON, text, binary, CSV, JSON lines or checkpoint file path.
     */
    public static boolean isValidFilePath(String s)
    {
-      Pattern pattern = Pattern.compile(".(json|txt)$");
+      Pattern pattern = Pattern.compile(".(json|txt|bin|csv|jsonl|ckpt)$");
       Matcher matcher = pattern.matcher(s);
       return matcher.find();
    }
@@ -0,0 +1,39 @@
+package neuralnet;
+
+/**
+ * Stops training once it has run for a fixed amount of wall-clock time, checked at the end of every epoch, so a
+ * nightly job finishes in its time slot with the best weights it reached.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class WallClockStop implements StoppingPolicy
+{
+   private final long budgetNanos;
+   private long startNanos;
+
+   /**
+    * Constructs a new WallClockStop object.
+    *
+    * @param seconds the longest training may run.
+    */
+   public WallClockStop(double seconds)
+   {
+      budgetNanos = (long) (seconds * 1e9);
+   }
+
+   @Override
+   public void start(Perceptron perceptron)
+   {
+      startNanos = System.nanoTime();
+   }
+
+   @Override
+   public String check(Perceptron perceptron)
+   {
+      if (System.nanoTime() - startNanos < budgetNanos) return null;
+
+      return "Time budget of " + budgetNanos / 1e9 + " seconds used (at " + perceptron.iteration
+            + " total iterations with total error " + perceptron.totalError + ").";
+   }
+}  // public class WallClockStop implements StoppingPolicy
@@ -0,0 +1,137 @@
+package neuralnet;
+
+import java.util.Arrays;
+
+/**
+ * Stores the weights of a perceptron in one flat array per layer of weights.
+ * The weight connecting node a of layer n to node b of layer n + 1 is kept at values[n][b * nodes[n] + a], so the
+ * weights feeding a single node are contiguous and laid out in the order the forward pass reads them.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class Weights
+{
+   public int[] nodes;
+   public double[][] values;
+
+   /**
+    * Constructs a new Weights object with every weight set to zero.
+    *
+    * @param nodes the number of nodes in each layer of the network, from the input layer to the output layer.
+    */
+   public Weights(int... nodes)
+   {
+      this.nodes = nodes.clone();
+      values = new double[nodes.length - 1][];
+
+      for (int n = 0; n < values.length; n++)
+      {
+         values[n] = new double[nodes[n] * nodes[n + 1]];
+      }
+   }  // public Weights(int... nodes)
+
+   /**
+    * Finds the position of a weight within the flat array of its layer.
+    *
+    * @param n the layer of weights.
+    * @param a the node the weight connects from, in layer n.
+    * @param b the node the weight connects to, in layer n + 1.
+    * @return returns the index of the weight within values[n].
+    */
+   public int index(int n, int a, int b)
+   {
+      return b * nodes[n] + a;
+   }
+
+   /**
+    * Retrieves a single weight.
+    *
+    * @param n the layer of weights.
+    * @param a the node the weight connects from, in layer n.
+    * @param b the node the weight connects to, in layer n + 1.
+    * @return returns the weight connecting node a of layer n to node b of layer n + 1.
+    */
+   public double get(int n, int a, int b)
+   {
+      return values[n][index(n, a, b)];
+   }
+
+   /**
+    * Sets a single weight.
+    *
+    * @param n     the layer of weights.
+    * @param a     the node the weight connects from, in layer n.
+    * @param b     the node the weight connects to, in layer n + 1.
+    * @param value the new value of the weight.
+    */
+   public void set(int n, int a, int b, double value)
+   {
+      values[n][index(n, a, b)] = value;
+   }
+
+   /**
+    * Determines whether these weights fit a network with the given layer sizes.
+    *
+    * @param nodes the number of nodes in each layer of the network.
+    * @return returns whether the layer sizes of these weights are exactly nodes.
+    */
+   public boolean matches(int... nodes)
+   {
+      return Arrays.equals(this.nodes, nodes);
+   }
+
+   /**
+    * Copies every weight into a new Weights object.
+    *
+    * @return returns a copy of these weights that shares no arrays with them.
+    */
+   public Weights copy()
+   {
+      Weights copy = new Weights(nodes);
+      copy.copyFrom(this);
+      return copy;
+   }
+
+   /**
+    * Overwrites every weight with the matching weight of another Weights object with the same layer sizes, without
+    * allocating.
+    *
+    * @param W the weights to be copied.
+    */
+   public void copyFrom(Weights W)
+   {
+      for (int n = 0; n < values.length; n++)
+      {
+         System.arraycopy(W.values[n], 0, values[n], 0, values[n].length);
+      }
+   }
+
+   /**
+    * Sets every weight to zero.
+    */
+   public void clear()
+   {
+      for (double[] layer : values)
+      {
+         Arrays.fill(layer, 0.0);
+      }
+   }
+
+   /**
+    * Counts the weights across every layer.
+    *
+    * @return returns the total number of weights.
+    */
+   public long size()
+   {
+      long size = 0;
+
+      for (double[] layer : values)
+      {
+         size += layer.length;
+      }
+
+      return size;
+   }  // public long size()
+}     // public class Weights
@@ -1,68 +1,80 @@
+package neuralnet;
+
 import java.util.*;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
- * Reads or writes stored weight values in a text file.
+ * Reads or writes stored weight values in a text file or a binary file.
+ * A binary weights file is a little-endian header of the magic number, the format version, the bytes per weight (8 for
+ * float64 or 4 for float32), the number of layers and the number of nodes in each layer, followed by the raw
+ * little-endian weights of each layer in the order they are stored in Weights. Version 1 files have no bytes per weight
+ * and always hold doubles. Binary files are written to and read from paths ending in .bin.
  *
  * @author Brandon Park
- * @version 10/15/21
+ * @version 10/18/26
  */
 public class WeightsHandler
 {
+   static final int BINARY_MAGIC = 0x54574E4E;     // "NNWT" in little-endian order
+   static final int BINARY_VERSION = 2;
+   static final int BUFFER_BYTES = 1 << 20;
+   static final long MAX_MAP_BYTES = 1L << 30;
    /**
-    * Initializes the weights to random values within a certain range.
+    * Initializes the weights to random values within a certain range, drawn from the calling thread's generator.
     *
-    * @param inputNodes  the number of input nodes in the network.
-    * @param hiddenNodes the number of hidden nodes in the network.
-    * @param outputNodes the number of output nodes in the network.
-    * @param min         the lower bound of the random generation (inclusive).
-    * @param max         the upper bound of the random generation (exclusive).
+    * @param nodes the number of nodes in each layer of the network.
+    * @param min   the lower bound of the random generation (inclusive).
+    * @param max   the upper bound of the random generation (exclusive).
     * @return returns the randomly initialized weights.
     */
-   public static double[][][] randomizeWeights(int inputNodes, int hiddenNodes, int outputNodes, double min, double max)
+   public static Weights randomizeWeights(int[] nodes, double min, double max)
    {
-      double[][][] W = initWeightsArray(inputNodes, hiddenNodes, outputNodes);
-
-      for (int n = 0; n < W.length; n++)
-      {
-         for (int a = 0; a < W[n].length; a++)
-         {
-            for (int b = 0; b < W[n][a].length; b++)
-            {
-               W[n][a][b] = RandomGenerator.random(min, max);
-            }
-         }
-      }
-
-      return W;
-   }  // public static double[][][] randomizeWeights(int inputNodes, int hiddenNodes, int outputNodes, double min, double max)
+      return randomizeWeights(nodes, min, max, RandomGenerator.current());
+   }
 
    /**
-    * Initializes the dimensions of the weights array.
+    * Initializes the weights to random values within a certain range, drawn from a given generator so that a seeded
+    * generator always gives the same weights.
     *
-    * @param inputNodes  the number of input nodes in the network.
-    * @param hiddenNodes the number of hidden nodes in the network.
-    * @param outputNodes the number of output nodes in the network.
-    * @return returns an empty weights array with the correct dimensions.
+    * @param nodes  the number of nodes in each layer of the network.
+    * @param min    the lower bound of the random generation (inclusive).
+    * @param max    the upper bound of the random generation (exclusive).
+    * @param random the generator the weights are drawn from.
+    * @return returns the randomly initialized weights.
     */
-   public static double[][][] initWeightsArray(int inputNodes, int hiddenNodes, int outputNodes)
+   public static Weights randomizeWeights(int[] nodes, double min, double max, RandomGenerator random)
    {
-      double[][][] W = new double[2][][];
-      W[0] = new double[inputNodes][hiddenNodes];
-      W[1] = new double[hiddenNodes][outputNodes];
+      Weights W = new Weights(nodes);
+
+      for (double[] layer : W.values)
+      {
+         for (int w = 0; w < layer.length; w++)
+         {
+            layer[w] = random.nextDouble(min, max);
+         }
+      }
 
       return W;
-   }
+   }  // public static Weights randomizeWeights(int[] nodes, double min, double max, RandomGenerator random)
 
    /**
     * Reads in weights from the console inputted by the user.
     *
-    * @param inputNodes  the number of input nodes in the network.
-    * @param hiddenNodes the number of hidden nodes in the network.
-    * @param outputNodes the number of output nodes in the network.
+    * @param nodes the number of nodes in each layer of the network.
     * @return returns the inputted weights.
     */
-   public static double[][][] inputWeights(int inputNodes, int hiddenNodes, int outputNodes)
+   public static Weights inputWeights(int[] nodes)
    {
       System.out.println("Inputting weights manually has not been implemented yet -- ending process.");
       System.exit(1);
@@ -71,32 +83,37 @@ public class WeightsHandler
 
    /**
     * Reads in weights from a weights file.
+    * The first line of the file lists the number of nodes in each layer, so files written for a single hidden layer
+    * begin with three numbers.
     *
-    * @param inputNodes      the number of input nodes in the network.
-    * @param hiddenNodes     the number of hidden nodes in the network.
-    * @param outputNodes     the number of output nodes in the network.
+    * @param nodes           the number of nodes in each layer of the network.
     * @param weightsFilePath the file path of the weights file.
     * @return returns the read weights.
     */
-   public static double[][][] readWeights(int inputNodes, int hiddenNodes, int outputNodes, String weightsFilePath)
+   public static Weights readWeights(int[] nodes, String weightsFilePath)
    {
-      double[][][] W;
+      if (isBinary(weightsFilePath)) return readBinaryWeights(nodes, weightsFilePath);
+
+      Weights W;
 
       try
       {
          FileReader fileReader = new FileReader(weightsFilePath);
          Scanner scanner = new Scanner(fileReader);
 
-         W = initWeightsArray(inputNodes, hiddenNodes, outputNodes);
+         W = new Weights(nodes);
 
-         int input = scanner.nextInt();
-         int hidden = scanner.nextInt();
-         int output = scanner.nextInt();
+         String[] header = scanner.nextLine().trim().split("\\s+");
+         int[] fileNodes = new int[header.length];
+         for (int n = 0; n < header.length; n++)
+         {
+            fileNodes[n] = Integer.parseInt(header[n]);
+         }
 
-         if (input != inputNodes || hidden != hiddenNodes || output != outputNodes)
+         if (!W.matches(fileNodes))
          {
             System.out.println("Weights file does not match network structure -- getting weights manually.");
-            W = inputWeights(inputNodes, hiddenNodes, outputNodes);
+            W = inputWeights(nodes);
          }
 
          else
@@ -106,7 +123,7 @@ public class WeightsHandler
                int n = scanner.nextInt();
                int a = scanner.nextInt();
                int b = scanner.nextInt();
-               W[n][a][b] = scanner.nextDouble();
+               W.set(n, a, b, scanner.nextDouble());
             } // (scanner.hasNext())
          }
 
@@ -114,45 +131,388 @@ public class WeightsHandler
       }  // try
       catch (FileNotFoundException e)
       {
+         ConsoleHandler.requireInteractive("Weights file " + weightsFilePath + " not found");
          System.out.println("Weights file not found -- getting weights manually.");
-         W = inputWeights(inputNodes, hiddenNodes, outputNodes);
+         W = inputWeights(nodes);
+      }
+      return W;
+   }  // public static Weights readWeights(int[] nodes, String weightsFilePath)
+
+   /**
+    * Determines whether a weights file is in the binary format by checking for the magic number at its start.
+    *
+    * @param weightsFilePath the file path of the weights file.
+    * @return returns whether the file begins with the binary magic number.
+    */
+   public static boolean isBinary(String weightsFilePath)
+   {
+      boolean binary = false;
+
+      try (FileChannel channel = FileChannel.open(Path.of(weightsFilePath), StandardOpenOption.READ))
+      {
+         ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+         fill(channel, magic);
+         binary = magic.getInt(0) == BINARY_MAGIC;
+      }
+      catch (IOException e)
+      {
+         binary = false;
+      }
+
+      return binary;
+   }  // public static boolean isBinary(String weightsFilePath)
+
+   /**
+    * Reads in weights from a binary weights file by memory-mapping it and copying each layer straight into the weights
+    * arrays, widening float32 weights to doubles.
+    *
+    * @param nodes           the number of nodes in each layer of the network.
+    * @param weightsFilePath the file path of the binary weights file.
+    * @return returns the read weights.
+    */
+   public static Weights readBinaryWeights(int[] nodes, String weightsFilePath)
+   {
+      Weights W;
+
+      try (FileChannel channel = FileChannel.open(Path.of(weightsFilePath), StandardOpenOption.READ))
+      {
+         ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+         fill(channel, header);
+         header.flip();
+
+         int magic = header.getInt();
+         int version = header.getInt();
+         int headerInts = version == 1 ? 3 : 4;
+
+         header = ByteBuffer.allocate((headerInts - 2) * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+         fill(channel, header);
+         header.flip();
+
+         int elementBytes = version == 1 ? Double.BYTES : header.getInt();
+         int layers = header.getInt();
+
+         // Check the layer count before allocating for it, so a corrupt header cannot ask for a huge buffer
+         long position = ((long) headerInts + layers) * Integer.BYTES;
+         if (layers != nodes.length || position > channel.size())
+            throw new IOException("header lists " + layers + " layers for a network of " + nodes.length);
+
+         ByteBuffer sizes = ByteBuffer.allocate(layers * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+         fill(channel, sizes);
+         sizes.flip();
+
+         int[] fileNodes = new int[layers];
+         for (int n = 0; n < layers; n++)
+         {
+            fileNodes[n] = sizes.getInt();
+         }
+
+         if (magic != BINARY_MAGIC || version < 1 || version > BINARY_VERSION
+               || (elementBytes != Double.BYTES && elementBytes != Float.BYTES))
+         {
+            System.out.println("Unsupported binary weights file -- getting weights manually.");
+            W = inputWeights(nodes);
+         }
+
+         else if (!Arrays.equals(fileNodes, nodes))
+         {
+            System.out.println("Weights file does not match network structure -- getting weights manually.");
+            W = inputWeights(nodes);
+         }
+
+         else
+         {
+            W = new Weights(nodes);
+
+            long weights = 0;
+            for (double[] layer : W.values)
+            {
+               weights += layer.length;
+            }
+            if (position + weights * elementBytes > channel.size()) throw new EOFException("weights are truncated");
+
+            for (double[] layer : W.values)
+            {
+               int done = 0;
+
+               while (done < layer.length)
+               {
+                  int count = (int) Math.min(layer.length - done, MAX_MAP_BYTES / elementBytes);
+                  MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) count * elementBytes);
+                  map.order(ByteOrder.LITTLE_ENDIAN);
+
+                  if (elementBytes == Double.BYTES)
+                  {
+                     map.asDoubleBuffer().get(layer, done, count);
+                  }
+                  else
+                  {
+                     FloatBuffer floats = map.asFloatBuffer();
+                     for (int i = 0; i < count; i++)
+                     {
+                        layer[done + i] = floats.get(i);
+                     }
+                  }
+
+                  done += count;
+                  position += (long) count * elementBytes;
+               }  // while (done < layer.length)
+            }     // for (double[] layer : W.values)
+         }
+      }  // try
+      catch (IOException e)
+      {
+         System.out.println("Weights file could not be read (" + e.getMessage() + ") -- getting weights manually.");
+         W = inputWeights(nodes);
       }
+
       return W;
-   }  // public static double[][][] readWeights(int inputNodes, int hiddenNodes, int outputNodes, String weightsFilePath)
+   }  // public static Weights readBinaryWeights(int[] nodes, String weightsFilePath)
+
+   /**
+    * Writes weights to a file, in the binary format when the path ends in .bin and in the text format otherwise.
+    *
+    * @param W               the weights.
+    * @param weightsFilePath the file path of the weight file to be written to.
+    */
+   public static void writeWeights(Weights W, String weightsFilePath)
+   {
+      writeWeights(W, weightsFilePath, Double.BYTES);
+   }
 
    /**
-    * Writes weights from an array to the file.
+    * Writes weights to a file, in the binary format with the given bytes per weight when the path ends in .bin and in
+    * the text format otherwise.
     *
-    * @param W               the weights array.
+    * @param W               the weights.
     * @param weightsFilePath the file path of the weight file to be written to.
+    * @param elementBytes    the bytes per weight of a binary file, 8 for float64 or 4 for float32.
+    */
+   public static void writeWeights(Weights W, String weightsFilePath, int elementBytes)
+   {
+      if (weightsFilePath.endsWith(".bin")) writeBinaryWeights(W, weightsFilePath, elementBytes);
+      else writeTextWeights(W, weightsFilePath);
+   }
+
+   /**
+    * Writes weights to a temporary file beside the target and then renames it over the target, so the target always
+    * holds one complete set of weights even if the process ends partway through writing.
+    *
+    * @param W               the weights.
+    * @param weightsFilePath the file path of the weight file to be replaced, which selects the format.
+    */
+   public static void writeWeightsAtomically(Weights W, String weightsFilePath)
+   {
+      writeWeightsAtomically(W, weightsFilePath, Double.BYTES);
+   }
+
+   /**
+    * Writes weights to a temporary file beside the target and then renames it over the target, so the target always
+    * holds one complete set of weights even if the process ends partway through writing.
+    *
+    * @param W               the weights.
+    * @param weightsFilePath the file path of the weight file to be replaced, which selects the format.
+    * @param elementBytes    the bytes per weight of a binary file, 8 for float64 or 4 for float32.
     */
-   public static void writeWeights(double[][][] W, String weightsFilePath)
+   public static void writeWeightsAtomically(Weights W, String weightsFilePath, int elementBytes)
    {
+      Path target = Path.of(weightsFilePath);
+      boolean binary = weightsFilePath.endsWith(".bin");
+      Path temp = Path.of(binary ? weightsFilePath.substring(0, weightsFilePath.length() - 4) + ".tmp.bin"
+            : weightsFilePath + ".tmp");
+
+      // Write the temporary file in the format of the target, not the format its own name would select
+      if (binary) writeBinaryWeights(W, temp.toString(), elementBytes);
+      else writeTextWeights(W, temp.toString());
+
       try
       {
-         FileWriter writer = new FileWriter(weightsFilePath);
+         forceToDisk(temp);
+         moveAtomically(temp, target);
+      }
+      catch (IOException e)
+      {
+         System.out.println("Weights file could not be replaced (" + e.getMessage() + ") -- ending process.");
+         System.exit(1);
+      }
+   }  // public static void writeWeightsAtomically(Weights W, String weightsFilePath, int elementBytes)
+
+   /**
+    * Flushes a fully written file to the storage device, so a rename that follows it can never expose a file whose
+    * contents were lost in a crash.
+    *
+    * @param path the file to be flushed.
+    * @throws IOException if the file cannot be opened or flushed.
+    */
+   static void forceToDisk(Path path) throws IOException
+   {
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))
+      {
+         channel.force(true);
+      }
+   }
+
+   /**
+    * Renames a fully written temporary file over its target in one step where the file system allows it.
+    *
+    * @param temp   the temporary file.
+    * @param target the file to be replaced.
+    * @throws IOException if the file cannot be moved.
+    */
+   static void moveAtomically(Path temp, Path target) throws IOException
+   {
+      try
+      {
+         Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+      }
+      catch (AtomicMoveNotSupportedException e)
+      {
+         Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+   }
+
+   /**
+    * Writes weights to a binary file of doubles through a buffered channel.
+    *
+    * @param W               the weights.
+    * @param weightsFilePath the file path of the weight file to be written to.
+    */
+   public static void writeBinaryWeights(Weights W, String weightsFilePath)
+   {
+      writeBinaryWeights(W, weightsFilePath, Double.BYTES);
+   }
+
+   /**
+    * Writes weights to a binary file through a buffered channel, rounding each weight to the nearest float when the
+    * file holds float32 weights.
+    *
+    * @param W               the weights.
+    * @param weightsFilePath the file path of the weight file to be written to.
+    * @param elementBytes    the bytes per weight, 8 for float64 or 4 for float32.
+    */
+   public static void writeBinaryWeights(Weights W, String weightsFilePath, int elementBytes)
+   {
+      try (FileChannel channel = FileChannel.open(Path.of(weightsFilePath), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+      {
+         ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
 
-         String result = "";
-         result += W[0].length + " " + W[1].length + " " + W[1][0].length + "\n\n";
+         buffer.putInt(BINARY_MAGIC);
+         buffer.putInt(BINARY_VERSION);
+         buffer.putInt(elementBytes);
+         buffer.putInt(W.nodes.length);
+         for (int n : W.nodes)
+         {
+            if (buffer.remaining() < Integer.BYTES) drain(channel, buffer);
+            buffer.putInt(n);
+         }
 
-         for (int n = 0; n < W.length; n++)
+         for (double[] layer : W.values)
          {
-            for (int a = 0; a < W[n].length; a++)
+            int done = 0;
+
+            while (done < layer.length)
             {
-               for (int b = 0; b < W[n][a].length; b++)
+               if (buffer.remaining() < elementBytes) drain(channel, buffer);
+
+               int count;
+               if (elementBytes == Double.BYTES)
                {
-                  result += n + " " + a + " " + b + " ";
-                  result += W[n][a][b] + "\n";
+                  DoubleBuffer doubles = buffer.asDoubleBuffer();
+                  count = Math.min(doubles.remaining(), layer.length - done);
+                  doubles.put(layer, done, count);
                }
-            }
-         }
+               else
+               {
+                  FloatBuffer floats = buffer.asFloatBuffer();
+                  count = Math.min(floats.remaining(), layer.length - done);
+                  for (int i = 0; i < count; i++)
+                  {
+                     floats.put((float) layer[done + i]);
+                  }
+               }
+               buffer.position(buffer.position() + count * elementBytes);
+
+               done += count;
+            }  // while (done < layer.length)
+         }  // for (double[] layer : W.values)
 
-         writer.write(result);
-         writer.close();
+         drain(channel, buffer);
       }  // try
       catch (IOException e)
       {
+         System.out.println("Weights file could not be written -- ending process.");
+         System.exit(1);
+      }
+   }  // public static void writeBinaryWeights(Weights W, String weightsFilePath, int elementBytes)
+
+   /**
+    * Reads from a channel until a buffer is full.
+    *
+    * @param channel the channel to be read from.
+    * @param buffer  the buffer to be filled.
+    * @throws IOException if the channel cannot be read or ends before the buffer is full.
+    */
+   private static void fill(FileChannel channel, ByteBuffer buffer) throws IOException
+   {
+      while (buffer.hasRemaining())
+      {
+         if (channel.read(buffer) < 0) throw new EOFException("file is truncated");
+      }
+   }
+
+   /**
+    * Writes everything in a buffer to a channel and empties the buffer.
+    *
+    * @param channel the channel to be written to.
+    * @param buffer  the buffer to be written, ready for putting.
+    * @throws IOException if the channel cannot be written.
+    */
+   private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException
+   {
+      buffer.flip();
+      while (buffer.hasRemaining())
+      {
+         channel.write(buffer);
+      }
+      buffer.clear();
+   }
+
+   /**
+    * Writes weights to a text file, one "n a b value" line per weight.
+    *
+    * @param W               the weights.
+    * @param weightsFilePath the file path of the weight file to be written to.
+    */
+   public static void writeTextWeights(Weights W, String weightsFilePath)
+   {
+      try (BufferedWriter writer = new BufferedWriter(new FileWriter(weightsFilePath), BUFFER_BYTES))
+      {
+         StringBuilder line = new StringBuilder();
+
+         for (int n = 0; n < W.nodes.length; n++)
+         {
+            if (n > 0) line.append(' ');
+            line.append(W.nodes[n]);
+         }
+         writer.append(line).append("\n\n");
+
+         for (int n = 0; n < W.values.length; n++)
+         {
+            for (int a = 0; a < W.nodes[n]; a++)
+            {
+               for (int b = 0; b < W.nodes[n + 1]; b++)
+               {
+                  line.setLength(0);
+                  line.append(n).append(' ').append(a).append(' ').append(b).append(' ').append(W.get(n, a, b));
+                  writer.append(line).append('\n');
+               }
+            }
+         }  // for (int n = 0; n < W.values.length; n++)
+      }     // try
+      catch (IOException e)
+      {
+         System.out.println("Weights file could not be written -- ending process.");
          System.exit(1);
       }
-   }  // public static void writeWeights(double[][][] W, String weightsFilePath)
+   }  // public static void writeTextWeights(Weights W, String weightsFilePath)
 }  // public class WeightsHandler
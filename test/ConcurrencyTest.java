@@ -0,0 +1,91 @@
+package neuralnet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Scores sets against a single shared Network from many threads at once and checks every output bit for bit against
+ * a single-threaded reference, so any state shared between threads by mistake shows up as a mismatch.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class ConcurrencyTest
+{
+   static final int[] NODES = {64, 256, 16};
+   static final int SETS = 1024;
+   static final int THREADS = 16;
+   static final int PASSES_PER_THREAD = 4;
+
+   /**
+    * Runs the sets through Network.run with a state per thread and through Network.predict, alternating between them.
+    *
+    * @throws Exception if a worker thread fails.
+    */
+   @Test
+   public void sharedNetworkMatchesSingleThreadedReference() throws Exception
+   {
+      RandomGenerator random = new RandomGenerator(1);
+      Network network = new Network(WeightsHandler.randomizeWeights(NODES, -0.5, 0.5, random));
+
+      double[][] inputSets = new double[SETS][NODES[0]];
+      for (double[] inputSet : inputSets)
+      {
+         for (int k = 0; k < inputSet.length; k++)
+         {
+            inputSet[k] = random.nextDouble(0.0, 1.0);
+         }
+      }
+
+      double[][] expected = new double[SETS][];
+      LayerState reference = network.newState();
+      for (int t = 0; t < SETS; t++)
+      {
+         expected[t] = network.run(reference, inputSets[t]).clone();
+      }
+
+      ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+      AtomicLong mismatches = new AtomicLong();
+      Future<?>[] futures = new Future<?>[THREADS];
+
+      for (int w = 0; w < THREADS; w++)
+      {
+         int offset = w;
+         futures[w] = pool.submit(() ->
+         {
+            LayerState state = network.newState();
+
+            for (int pass = 0; pass < PASSES_PER_THREAD; pass++)
+            {
+               for (int i = 0; i < SETS; i++)
+               {
+                  int t = (i + offset * 7919) % SETS;
+                  double[] F = (i % 2 == 0) ? network.run(state, inputSets[t]) : network.predict(inputSets[t]);
+                  if (!Arrays.equals(F, expected[t])) mismatches.incrementAndGet();
+               }
+            }
+         });
+      }  // for (int w = 0; w < THREADS; w++)
+
+      try
+      {
+         for (Future<?> future : futures)
+         {
+            future.get();
+         }
+      }
+      finally
+      {
+         pool.shutdown();
+      }
+
+      assertEquals(0, mismatches.get(), "outputs differing from the single-threaded reference");
+   }  // public void sharedNetworkMatchesSingleThreadedReference()
+}     // public class ConcurrencyTest
@@ -0,0 +1,182 @@
+package neuralnet;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Checks the layer-at-a-time passes of Perceptron.run and Perceptron.runDetailed against the nested evaluation they
+ * replaced, which recomputed the hidden layer for every output node. With the default scalar kernels every sum runs in
+ * the same order as before, so the outputs, the error and the deltas must match bit for bit.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class ForwardTest
+{
+   static final int INPUT_NODES = 64;
+   static final int HIDDEN_NODES = 256;
+   static final int[] OUTPUT_NODES = {1, 4, 16, 64};
+   static final int SETS = 32;
+
+   /**
+    * Evaluates a network with one hidden layer by nesting the hidden layer inside the output loop, as Perceptron.run
+    * used to.
+    *
+    * @param p     the perceptron whose weights are used.
+    * @param input the input activations.
+    * @return returns the output activations.
+    */
+   private static double[] nestedRun(Perceptron p, double[] input)
+   {
+      double[] W0 = p.W.values[0];
+      double[] W1 = p.W.values[1];
+      int hiddenNodes = p.nodes[1];
+      double[] F = new double[p.outputNodes];
+
+      for (int i = 0; i < p.outputNodes; i++)
+      {
+         double theta2 = 0.0;
+
+         for (int j = 0; j < hiddenNodes; j++)
+         {
+            double theta1 = 0.0;
+
+            for (int k = 0; k < p.inputNodes; k++)
+            {
+               theta1 += W0[j * p.inputNodes + k] * input[k];
+            }
+
+            theta2 += W1[i * hiddenNodes + j] * (1.0 / (1.0 + Math.exp(-theta1)));
+         }
+
+         F[i] = 1.0 / (1.0 + Math.exp(-theta2));
+      }  // for (int i = 0; i < p.outputNodes; i++)
+
+      return F;
+   }     // private static double[] nestedRun(Perceptron p, double[] input)
+
+   /**
+    * Evaluates a network with one hidden layer and propagates the error back as Perceptron.runDetailed used to, with
+    * the hidden deltas computed as the training loop did.
+    *
+    * @param p      the perceptron whose weights are used.
+    * @param input  the input activations.
+    * @param output the expected output values.
+    * @return returns the output activations, the output deltas, the hidden deltas and, alone in the last row, the error.
+    */
+   private static double[][] nestedRunDetailed(Perceptron p, double[] input, double[] output)
+   {
+      double[] W0 = p.W.values[0];
+      double[] W1 = p.W.values[1];
+      int hiddenNodes = p.nodes[1];
+      double[] theta1 = new double[hiddenNodes];
+      double[] h = new double[hiddenNodes];
+      double[] F = new double[p.outputNodes];
+      double[] psi = new double[p.outputNodes];
+      double[] Psi = new double[hiddenNodes];
+      double totalError = 0.0;
+
+      for (int i = 0; i < p.outputNodes; i++)
+      {
+         double theta2 = 0.0;
+
+         for (int j = 0; j < hiddenNodes; j++)
+         {
+            theta1[j] = 0.0;
+
+            for (int k = 0; k < p.inputNodes; k++)
+            {
+               theta1[j] += W0[j * p.inputNodes + k] * input[k];
+            }
+
+            h[j] = 1.0 / (1.0 + Math.exp(-theta1[j]));
+            theta2 += W1[i * hiddenNodes + j] * h[j];
+         }
+
+         F[i] = 1.0 / (1.0 + Math.exp(-theta2));
+         totalError += 0.5 * (output[i] - F[i]) * (output[i] - F[i]);
+         psi[i] = (output[i] - F[i]) * (F[i] * (1.0 - F[i]));
+      }  // for (int i = 0; i < p.outputNodes; i++)
+
+      for (int j = 0; j < hiddenNodes; j++)
+      {
+         double omega = 0.0;
+
+         for (int i = 0; i < p.outputNodes; i++)
+         {
+            omega += psi[i] * W1[i * hiddenNodes + j];
+         }
+
+         Psi[j] = omega * (h[j] * (1.0 - h[j]));
+      }
+
+      return new double[][]{F, psi, Psi, {totalError}};
+   }  // private static double[][] nestedRunDetailed(Perceptron p, double[] input, double[] output)
+
+   /**
+    * Runs random sets through random networks of growing output size both ways.
+    */
+   @Test
+   public void layeredRunMatchesNestedRun()
+   {
+      RandomGenerator random = new RandomGenerator(1);
+
+      for (int outputNodes : OUTPUT_NODES)
+      {
+         Perceptron p = new Perceptron(INPUT_NODES, HIDDEN_NODES, outputNodes);
+         p.W = WeightsHandler.randomizeWeights(p.nodes, -1.0, 1.0, random);
+
+         for (int t = 0; t < SETS; t++)
+         {
+            double[] input = new double[INPUT_NODES];
+            for (int k = 0; k < input.length; k++)
+            {
+               input[k] = random.nextDouble(0.0, 1.0);
+            }
+
+            assertArrayEquals(nestedRun(p, input), p.run(input), outputNodes + " outputs, set " + t);
+         }
+      }  // for (int outputNodes : OUTPUT_NODES)
+   }     // public void layeredRunMatchesNestedRun()
+
+   /**
+    * Runs random sets with random targets through random networks of growing output size both ways, comparing the
+    * outputs, the error and the deltas of both layers.
+    */
+   @Test
+   public void layeredRunDetailedMatchesNestedRunDetailed()
+   {
+      RandomGenerator random = new RandomGenerator(2);
+
+      for (int outputNodes : OUTPUT_NODES)
+      {
+         Perceptron p = new Perceptron(INPUT_NODES, HIDDEN_NODES, outputNodes);
+         p.W = WeightsHandler.randomizeWeights(p.nodes, -1.0, 1.0, random);
+
+         for (int t = 0; t < SETS; t++)
+         {
+            double[] input = new double[INPUT_NODES];
+            for (int k = 0; k < input.length; k++)
+            {
+               input[k] = random.nextDouble(0.0, 1.0);
+            }
+            double[] output = new double[outputNodes];
+            for (int i = 0; i < output.length; i++)
+            {
+               output[i] = random.nextDouble(0.0, 1.0);
+            }
+
+            double[][] expected = nestedRunDetailed(p, input, output);
+            p.state.totalError = 0.0;
+            p.runDetailed(input, output);
+
+            String set = outputNodes + " outputs, set " + t;
+            assertArrayEquals(expected[0], p.state.h[2], set + ": outputs");
+            assertArrayEquals(expected[1], p.state.Psi[2], set + ": output deltas");
+            assertArrayEquals(expected[2], p.state.Psi[1], set + ": hidden deltas");
+            assertArrayEquals(expected[3], new double[]{p.state.totalError}, set + ": error");
+         }  // for (int t = 0; t < SETS; t++)
+      }     // for (int outputNodes : OUTPUT_NODES)
+   }        // public void layeredRunDetailedMatchesNestedRunDetailed()
+}           // public class ForwardTest
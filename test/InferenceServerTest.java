@@ -0,0 +1,180 @@
+package neuralnet;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Drives an InferenceServer on localhost with many concurrent clients, with and without micro-batching, and checks
+ * every answer against Network.predict. Each client sends one set per request and waits for the answer before sending
+ * the next, so the server forms batches only from requests that really are concurrent.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class InferenceServerTest
+{
+   static final int[] NODES = {256, 1024, 16};
+   static final int TEST_SETS = 64;
+   static final int CLIENTS = 16;
+   static final int REQUESTS_PER_CLIENT = 50;
+   static final double TOLERANCE = 1e-12;
+
+   /**
+    * Starts a server and has every client send its requests to it.
+    *
+    * @param maxBatchSize  the most sets the server runs together.
+    * @param maxWaitMicros the longest the server waits for a batch to fill.
+    * @return returns the number of requests that failed or returned wrong outputs.
+    * @throws Exception if the server cannot be started or a client is interrupted.
+    */
+   private static long failures(int maxBatchSize, long maxWaitMicros) throws Exception
+   {
+      RandomGenerator random = new RandomGenerator(1);
+      Network network = new Network(WeightsHandler.randomizeWeights(NODES, -0.1, 0.1, random));
+
+      String[] bodies = new String[TEST_SETS];
+      double[][] expected = new double[TEST_SETS][];
+      for (int t = 0; t < TEST_SETS; t++)
+      {
+         double[] input = new double[NODES[0]];
+         StringBuilder body = new StringBuilder();
+         for (int k = 0; k < input.length; k++)
+         {
+            input[k] = random.nextDouble(-1.0, 1.0);
+            body.append(input[k]).append(' ');
+         }
+         bodies[t] = body.toString();
+         expected[t] = network.predict(input);
+      }
+
+      InferenceServer server = new InferenceServer(network, 0, CLIENTS, maxBatchSize, maxWaitMicros);
+      server.start();
+
+      URI predict = URI.create("http://localhost:" + server.port() + "/predict");
+      HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+      AtomicLong failures = new AtomicLong();
+
+      Thread[] threads = new Thread[CLIENTS];
+      for (int c = 0; c < CLIENTS; c++)
+      {
+         int client = c;
+         threads[c] = new Thread(() ->
+         {
+            for (int r = 0; r < REQUESTS_PER_CLIENT; r++)
+            {
+               int t = (client + r) % TEST_SETS;
+               try
+               {
+                  HttpResponse<String> response = http.send(HttpRequest.newBuilder(predict)
+                        .POST(HttpRequest.BodyPublishers.ofString(bodies[t])).build(), HttpResponse.BodyHandlers.ofString());
+
+                  String[] values = response.body().trim().split(" ");
+                  boolean correct = response.statusCode() == 200 && values.length == expected[t].length;
+                  for (int i = 0; correct && i < values.length; i++)
+                  {
+                     correct = Math.abs(Double.parseDouble(values[i]) - expected[t][i]) <= TOLERANCE;
+                  }
+                  if (!correct) failures.incrementAndGet();
+               }
+               catch (Exception e)
+               {
+                  failures.incrementAndGet();
+               }
+            }  // for (int r = 0; r < REQUESTS_PER_CLIENT; r++)
+         });
+         threads[c].start();
+      }  // for (int c = 0; c < CLIENTS; c++)
+
+      try
+      {
+         for (Thread thread : threads)
+         {
+            thread.join();
+         }
+      }
+      finally
+      {
+         server.stop();
+      }
+
+      return failures.get();
+   }  // private static long failures(int maxBatchSize, long maxWaitMicros)
+
+   /**
+    * Serves concurrent clients with micro-batching.
+    *
+    * @throws Exception if the server cannot be started.
+    */
+   @Test
+   public void batchedAnswersMatchNetwork() throws Exception
+   {
+      assertEquals(0, failures(64, 500), "requests failed or answered wrongly with batching");
+   }
+
+   /**
+    * Serves concurrent clients with batches of a single set.
+    *
+    * @throws Exception if the server cannot be started.
+    */
+   @Test
+   public void unbatchedAnswersMatchNetwork() throws Exception
+   {
+      assertEquals(0, failures(1, 0), "requests failed or answered wrongly without batching");
+   }
+
+   /**
+    * Answers a set with the wrong number of values with 400.
+    *
+    * @throws Exception if the server cannot be started.
+    */
+   @Test
+   public void malformedSetIsRejected() throws Exception
+   {
+      InferenceServer server = new InferenceServer(new Network(new Weights(2, 5, 1)), 0, 1, 8, 0);
+      server.start();
+
+      try
+      {
+         HttpResponse<String> response = HttpClient.newHttpClient().send(
+               HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + "/predict"))
+                     .POST(HttpRequest.BodyPublishers.ofString("1 2 3\n")).build(), HttpResponse.BodyHandlers.ofString());
+         assertEquals(400, response.statusCode(), "status of a malformed set");
+      }
+      finally
+      {
+         server.stop();
+      }
+   }  // public void malformedSetIsRejected()
+
+   /**
+    * Rejects a prediction made after the batcher is closed instead of leaving it waiting.
+    */
+   @Test
+   public void closedBatcherRejectsRequests()
+   {
+      MicroBatcher batcher = new MicroBatcher(new Network(new Weights(2, 5, 1)), 8, 0, new LatencyStats());
+      batcher.close();
+
+      assertThrows(RejectedExecutionException.class, () -> batcher.predict(new double[][]{{0.0, 1.0}}));
+   }
+
+   /**
+    * Refuses a batcher that could never hold a request, rather than starting a batching thread that would die on the
+    * first one.
+    */
+   @Test
+   public void emptyBatchSizeIsRejected()
+   {
+      assertThrows(IllegalArgumentException.class,
+            () -> new MicroBatcher(new Network(new Weights(2, 5, 1)), 0, 0, new LatencyStats()));
+   }
+}  // public class InferenceServerTest
@@ -0,0 +1,108 @@
+package neuralnet;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the accuracy drift of the float32 engine against the double engine. Every bundled weights file is run in
+ * both precisions, with both activations, on its testing sets and on random inputs, and no two matching outputs may
+ * differ by more than MAX_DRIFT.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class PrecisionTest
+{
+   static final String[] SET_NAMES = {"and", "or", "xor", "bool", "binary"};
+   static final int RANDOM_SETS = 10_000;
+   static final double MAX_DRIFT = 1e-5;
+
+   /**
+    * Reads the layer sizes from the first line of a text weights file.
+    *
+    * @param filePath the file path of the weights file.
+    * @return returns the number of nodes in each layer.
+    * @throws IOException if the file cannot be read.
+    */
+   private static int[] readNodes(String filePath) throws IOException
+   {
+      try (BufferedReader reader = new BufferedReader(new FileReader(filePath)))
+      {
+         return Validator.parseIntArray("[" + reader.readLine().trim().replaceAll("\\s+", ",") + "]");
+      }
+   }
+
+   /**
+    * Finds the largest difference between the double and float32 outputs of a network over a group of sets.
+    *
+    * @param doubles the perceptron running in double.
+    * @param floats  the perceptron running in float32, with the same weights.
+    * @param sets    the input values of each set.
+    * @return returns the largest absolute difference between matching outputs.
+    */
+   private static double drift(Perceptron doubles, Perceptron floats, double[][] sets)
+   {
+      double max = 0.0;
+
+      for (double[] set : sets)
+      {
+         double[] expected = doubles.run(set);
+         double[] actual = floats.run(set);
+
+         for (int i = 0; i < expected.length; i++)
+         {
+            max = Math.max(max, Math.abs(expected[i] - actual[i]));
+         }
+      }
+
+      return max;
+   }  // private static double drift(Perceptron doubles, Perceptron floats, double[][] sets)
+
+   /**
+    * Runs every bundled weights file in both precisions.
+    *
+    * @throws IOException if a bundled weights file cannot be read.
+    */
+   @Test
+   public void floatDriftWithinBound() throws IOException
+   {
+      RandomGenerator random = new RandomGenerator(1);
+
+      for (String name : SET_NAMES)
+      {
+         String weightsPath = "src/weights/" + name + ".txt";
+         int[] nodes = readNodes(weightsPath);
+         Weights W = WeightsHandler.readWeights(nodes, weightsPath);
+         double[][] testingSets = SetsHandler.readTestingSets(nodes[0], "src/testingSets/" + name + ".txt");
+
+         double[][] randomSets = new double[RANDOM_SETS][nodes[0]];
+         for (double[] set : randomSets)
+         {
+            for (int k = 0; k < set.length; k++)
+            {
+               set[k] = random.nextDouble(-1.0, 2.0);
+            }
+         }
+
+         for (String activationName : new String[]{"exact", "table"})
+         {
+            Perceptron doubles = new Perceptron(Activation.forName(activationName), nodes);
+            Perceptron floats = new Perceptron(Activation.forName(activationName), nodes);
+            doubles.W = W;
+            floats.W = W;
+            floats.float32 = true;
+
+            double testingDrift = drift(doubles, floats, testingSets);
+            double randomDrift = drift(doubles, floats, randomSets);
+
+            assertTrue(testingDrift <= MAX_DRIFT, name + " " + activationName + ": testing drift " + testingDrift);
+            assertTrue(randomDrift <= MAX_DRIFT, name + " " + activationName + ": random drift " + randomDrift);
+         }
+      }  // for (String name : SET_NAMES)
+   }     // public void floatDriftWithinBound()
+}        // public class PrecisionTest
@@ -0,0 +1,96 @@
+package neuralnet;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the table sigmoid against the exact sigmoid: its largest difference must stay within the documented
+ * TableSigmoid.MAX_ERROR, and training with it must still converge on the bundled sets.
+ *
+ * @author Brandon Park
+ * @version 10/18/26
+ */
+public class TableSigmoidTest
+{
+   static final double LAMBDA = 0.3;
+   static final int HIDDEN_NODES = 5;
+   static final int CONVERGENCE_EPOCHS = 10_000;
+   static final double ERROR_THRESHOLD = 0.001;
+
+   static final String[] SET_NAMES = {"xor", "and", "or", "bool", "binary"};
+   static final int[][] SET_SIZES = {{2, 1}, {2, 1}, {2, 1}, {2, 3}, {4, 1}};
+
+   /**
+    * Trains a copy of the weights for a number of epochs, updating the weights after every set.
+    *
+    * @param state       the buffers of the network, holding the activation to be used.
+    * @param W           the weights to be trained.
+    * @param trainInput  the input values of the training sets.
+    * @param trainOutput the output values of the training sets.
+    * @param epochs      the number of passes over the training sets.
+    * @return returns the total error of the last epoch.
+    */
+   private static double train(LayerState state, Weights W, double[][] trainInput, double[][] trainOutput, int epochs)
+   {
+      for (int e = 0; e < epochs; e++)
+      {
+         state.totalError = 0.0;
+         for (int t = 0; t < trainInput.length; t++)
+         {
+            state.forward(W, trainInput[t]);
+            state.backward(W, trainOutput[t]);
+            state.update(W, LAMBDA);
+         }
+      }
+
+      return state.totalError;
+   }  // private static double train(LayerState state, Weights W, double[][] trainInput, double[][] trainOutput, int epochs)
+
+   /**
+    * Sweeps [-20, 20] densely, past both ends of the table, comparing the two activations.
+    */
+   @Test
+   public void errorWithinDocumentedBound()
+   {
+      Activation exact = new Sigmoid();
+      Activation table = new TableSigmoid();
+      double max = 0.0;
+
+      for (int i = -20_000_000; i <= 20_000_000; i++)
+      {
+         double x = i * 1e-6;
+         max = Math.max(max, Math.abs(exact.f(x) - table.f(x)));
+      }
+
+      assertTrue(max <= TableSigmoid.MAX_ERROR, "max error " + max + " exceeds " + TableSigmoid.MAX_ERROR);
+   }  // public void errorWithinDocumentedBound()
+
+   /**
+    * Trains every bundled set from the same weights with both activations. A set converges with the table when it
+    * reaches the threshold, or the same error as the exact sigmoid when its targets cannot be reached by a sigmoid
+    * output at all, as with the 0 to 15 targets of binary.
+    */
+   @Test
+   public void trainingConvergesOnBundledSets()
+   {
+      RandomGenerator random = new RandomGenerator(1);
+
+      for (int s = 0; s < SET_NAMES.length; s++)
+      {
+         int[] nodes = {SET_SIZES[s][0], HIDDEN_NODES, SET_SIZES[s][1]};
+         Object[] sets = SetsHandler.readTrainingSets(nodes[0], nodes[2], "src/trainingSets/" + SET_NAMES[s] + ".txt");
+         double[][] trainInput = (double[][]) sets[0];
+         double[][] trainOutput = (double[][]) sets[1];
+         Weights start = WeightsHandler.randomizeWeights(nodes, -1.0, 1.5, random);
+
+         double exactError = train(new LayerState(new Sigmoid(), nodes), start.copy(), trainInput, trainOutput,
+               CONVERGENCE_EPOCHS);
+         double tableError = train(new LayerState(new TableSigmoid(), nodes), start.copy(), trainInput, trainOutput,
+               CONVERGENCE_EPOCHS);
+
+         assertTrue(tableError < ERROR_THRESHOLD || tableError <= exactError * 1.01,
+               SET_NAMES[s] + ": table error " + tableError + " against exact error " + exactError);
+      }  // for (int s = 0; s < SET_NAMES.length; s++)
+   }     // public void trainingConvergesOnBundledSets()
+}        // public class TableSigmoidTest